@@ -0,0 +1,42 @@
+package com.zeta.digital_insurance_management_system.controller;
+
+import com.zeta.digital_insurance_management_system.dto.auth.UserImportJobDTO;
+import com.zeta.digital_insurance_management_system.service.user.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/admin/users")
+public class AdminUserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminUserController.class);
+
+    @Autowired
+    private UserImportService userImportService;
+
+    // The body is read as a raw stream so large files are never held in memory.
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/ndjson"})
+    public ResponseEntity<UserImportJobDTO> importUsers(HttpServletRequest request) throws IOException {
+        logger.info("Received user import request with content type: {}", request.getContentType());
+        UserImportJobDTO job = userImportService.submit(request.getInputStream(), request.getContentType());
+        logger.info("Created user import job with id: {}", job.getJobId());
+        return ResponseEntity.accepted().location(URI.create("/admin/users/import/" + job.getJobId())).body(job);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<UserImportJobDTO> getImportJob(@PathVariable String jobId) {
+        logger.info("Received request for user import job: {}", jobId);
+        return ResponseEntity.ok(userImportService.getJob(jobId));
+    }
+}
@@ -1,16 +1,29 @@
 package com.zeta.digital_insurance_management_system.controller;
 
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyBulkResultDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicySearchRequest;
+import com.zeta.digital_insurance_management_system.dto.policy.RecommendedPolicyDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.TrendingPolicyDTO;
 import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyBulkService;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalogResponseCache;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyRecommendationEngine;
 import com.zeta.digital_insurance_management_system.service.policy.PolicyService;
 import com.zeta.digital_insurance_management_system.service.user.UserService;
 import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,21 +34,85 @@ public class PolicyController {
 
     private static final Logger logger = LoggerFactory.getLogger(PolicyController.class);
 
+    private static final int DEFAULT_RECOMMENDATIONS = 10;
+    private static final int MAX_RECOMMENDATIONS = 50;
+
     @Autowired
     private PolicyService policyService;
 
+    @Autowired
+    private PolicyCatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private PolicyBulkService policyBulkService;
+
+    @Autowired
+    private PolicyPopularityTracker popularityTracker;
+
+    @Autowired
+    private PolicyRecommendationEngine recommendationEngine;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    // Without query parameters this writes the pre-rendered catalog, and Spring answers 304 Not Modified
+    // without a body when the request's If-None-Match matches the ETag set here. Any filter, sort or
+    // paging parameter switches to a keyset-paged search.
     @GetMapping
-    public ResponseEntity<List<Policy>> getAllPolicies() {
+    public ResponseEntity<?> getAllPolicies(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                            @ModelAttribute PolicySearchRequest search) {
+        if (!search.isEmpty()) {
+            logger.info("Received request to search policies: {}", search);
+            return ResponseEntity.ok(policyService.searchPolicies(search));
+        }
         logger.info("Received request to fetch all policies");
-        List<Policy> policies = policyService.getAllPolicies();
-        logger.info("Fetched {} policies", policies.size());
+        PolicyCatalogResponseCache.Rendered catalog = catalogResponseCache.get();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        logger.info("Serving policy catalog version {}", catalog.version());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.eTag(catalog.gzipEtag()).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalog.gzip());
+        }
+        return response.eTag(catalog.etag()).body(catalog.json());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Policy>> searchPolicies(@RequestParam("q") String query,
+                                                       @RequestParam(value = "limit", required = false) Integer limit) {
+        logger.info("Received request to search policies for '{}'", query);
+        List<Policy> policies = policyService.searchByText(query, limit);
+        logger.info("Found {} policies matching '{}'", policies.size(), query);
         return ResponseEntity.ok(policies);
     }
 
+    // Served from the ranking published by the last popularity flush; no database query.
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingPolicyDTO>> getTrendingPolicies(@RequestParam(value = "limit", required = false) Integer limit) {
+        int size = limit == null || limit <= 0 ? popularityTracker.topK() : Math.min(limit, popularityTracker.topK());
+        logger.info("Received request to fetch {} trending policies", size);
+        return ResponseEntity.ok(popularityTracker.trending(size));
+    }
+
+    // Policies often bought together with the caller's policies, answered from memory.
+    @GetMapping("/recommended")
+    public ResponseEntity<List<RecommendedPolicyDTO>> getRecommendedPolicies(@RequestParam(value = "limit", required = false) Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_RECOMMENDATIONS : Math.min(limit, MAX_RECOMMENDATIONS);
+        Long userId = userService.getCurrentUserId();
+        logger.info("Received request to recommend {} policies for user ID {}", size, userId);
+        List<RecommendedPolicyDTO> recommendations = recommendationEngine.recommend(userId, size);
+        logger.info("Recommended {} policies for user ID {}", recommendations.size(), userId);
+        return ResponseEntity.ok(recommendations);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Policy> getPolicyById(@PathVariable Long id) {
         logger.info("Received request to fetch policy with id: {}", id);
         Policy policy = policyService.getPolicyById(id);
+        if (policy != null) {
+            popularityTracker.recordView(id);
+        }
         logger.info("Fetched policy with id: {}", id);
         return ResponseEntity.ok(policy);
     }
@@ -49,6 +126,16 @@ public class PolicyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPolicy);
     }
 
+    // Accepts a JSON array or an NDJSON stream; items with an id update that policy, the rest are created.
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<PolicyBulkResultDTO> bulkUpsertPolicies(HttpServletRequest request) throws IOException {
+        logger.info("Received bulk policy request with content type: {}", request.getContentType());
+        PolicyBulkResultDTO result = policyBulkService.apply(request.getInputStream());
+        logger.info("Bulk policy request created {} and updated {} policies", result.getCreated(), result.getUpdated());
+        return ResponseEntity.ok(result);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/update/{id}")
     public ResponseEntity<Policy> updatePolicy(@PathVariable Long id, @RequestBody Policy policy) {
@@ -66,4 +153,35 @@ public class PolicyController {
         logger.info("Deleted policy with id: {}", id);
         return ResponseEntity.ok("Policy deleted successfully");
     }
+
+    // Reads Accept-Encoding with its q-values: gzip (or x-gzip) is used when listed with q above zero,
+    // or when it is not listed and the * wildcard is. "gzip;q=0" refuses it.
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return quality > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality > 0;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
 }
@@ -1,13 +1,20 @@
 package com.zeta.digital_insurance_management_system.controller;
 
+import com.zeta.digital_insurance_management_system.dto.renew.AutoRenewalRunDTO;
+import com.zeta.digital_insurance_management_system.dto.renew.ExpiringPoliciesDTO;
 import com.zeta.digital_insurance_management_system.dto.renew.RenewablePolicy;
 import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.AutoRenewalEngine;
 import com.zeta.digital_insurance_management_system.service.PolicyRenewal.IPolicyRenewalService;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
 import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -24,6 +31,12 @@ public class PolicyRenewalController {
     @Autowired
     private UserServiceImpl userService;
 
+    @Autowired
+    private PolicyExpiryIndex expiryIndex;
+
+    @Autowired
+    private AutoRenewalEngine autoRenewalEngine;
+
     @PostMapping("/policy/{policyId}/renew")
     public ResponseEntity<UserPolicy> renewPolicy(@PathVariable Long policyId) {
         logger.info("Received request to renew policy with id: {}", policyId);
@@ -32,6 +45,14 @@ public class PolicyRenewalController {
         return ResponseEntity.ok(renewedPolicy);
     }
 
+    @PutMapping("/policy/{policyId}/auto-renew")
+    public ResponseEntity<Void> setAutoRenew(@PathVariable Long policyId, @RequestParam boolean enabled) {
+        Long userId = userService.getCurrentUserId();
+        logger.info("Received request to set auto-renewal to {} for policy id: {}", enabled, policyId);
+        renewalService.setAutoRenew(policyId, userId, enabled);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/user/policies/renewable")
     public ResponseEntity<List<RenewablePolicy>> getRenewablePolicies() {
         Long userId = userService.getCurrentUserId();
@@ -40,4 +61,38 @@ public class PolicyRenewalController {
         logger.info("Returning {} renewable policies for userId: {}", policies.size(), userId);
         return ResponseEntity.ok(policies);
     }
-}
\ No newline at end of file
+
+    // Active policies whose cover ends between today and today + days, counted per day.
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/policies/expiring")
+    public ResponseEntity<ExpiringPoliciesDTO> getExpiringPolicies(@RequestParam(defaultValue = "30") int days) {
+        logger.info("Received request for policies expiring within {} days", days);
+        ExpiringPoliciesDTO expiring = expiryIndex.summary(LocalDate.now(), days);
+        logger.info("Returning {} policies expiring within {} days", expiring.getTotal(), days);
+        return ResponseEntity.ok(expiring);
+    }
+
+    // Starts a bulk auto-renewal run in the background; poll the returned location for progress.
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/policies/auto-renewal")
+    public ResponseEntity<AutoRenewalRunDTO> startAutoRenewal() {
+        AutoRenewalRunDTO run = autoRenewalEngine.start();
+        logger.info("Started auto-renewal run {}", run.getRunId());
+        return ResponseEntity.accepted().location(URI.create("/admin/policies/auto-renewal/" + run.getRunId())).body(run);
+    }
+
+    // Continues a failed or interrupted run from its checkpoint.
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/policies/auto-renewal/{runId}/resume")
+    public ResponseEntity<AutoRenewalRunDTO> resumeAutoRenewal(@PathVariable Long runId) {
+        AutoRenewalRunDTO run = autoRenewalEngine.resume(runId);
+        logger.info("Resumed auto-renewal run {} after user policy ID {}", runId, run.getCheckpointId());
+        return ResponseEntity.accepted().location(URI.create("/admin/policies/auto-renewal/" + runId)).body(run);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/policies/auto-renewal/{runId}")
+    public ResponseEntity<AutoRenewalRunDTO> getAutoRenewalRun(@PathVariable Long runId) {
+        return ResponseEntity.ok(autoRenewalEngine.getRun(runId));
+    }
+}
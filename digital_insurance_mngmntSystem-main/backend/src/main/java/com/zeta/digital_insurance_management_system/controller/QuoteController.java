@@ -0,0 +1,40 @@
+package com.zeta.digital_insurance_management_system.controller;
+
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteBatchResponseDTO;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteRequestDTO;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteResultDTO;
+import com.zeta.digital_insurance_management_system.service.quote.QuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/quotes")
+public class QuoteController {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteController.class);
+
+    @Autowired
+    private QuoteService quoteService;
+
+    @PostMapping
+    public ResponseEntity<QuoteResultDTO> quote(@RequestBody QuoteRequestDTO request) {
+        logger.info("Received quote request for policy id: {}", request.getPolicyId());
+        QuoteResultDTO quote = quoteService.quote(request);
+        logger.info("Quoted premium {} for policy id: {}", quote.getPremium(), request.getPolicyId());
+        return ResponseEntity.ok(quote);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<QuoteBatchResponseDTO> quoteBatch(@RequestBody List<QuoteRequestDTO> requests) {
+        logger.info("Received batch quote request with {} items", requests.size());
+        QuoteBatchResponseDTO response = quoteService.quoteBatch(requests);
+        logger.info("Batch quote priced {} items, {} failed", response.getQuoted(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,10 +1,14 @@
 package com.zeta.digital_insurance_management_system.controller;
 
 import com.zeta.digital_insurance_management_system.dto.auth.AuthResponseDTO;
+import com.zeta.digital_insurance_management_system.dto.auth.RefreshTokenRequestDTO;
 import com.zeta.digital_insurance_management_system.dto.auth.UserDTO;
 import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.security.service.AuthRateLimiter;
 import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,9 +24,13 @@ public class UserController {
     @Autowired
     private UserServiceImpl userService;
 
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
     @PostMapping("/register")
-    public ResponseEntity<UserDTO> register(@RequestBody User user) {
+    public ResponseEntity<UserDTO> register(@RequestBody User user, HttpServletRequest request) {
         logger.info("Received registration request for email: {}", user.getEmail());
+        authRateLimiter.checkRegister(request.getRemoteAddr());
         User createdUser = userService.register(user);
         UserDTO userDTO = userService.convertToDTO(createdUser);
         logger.info("User registered successfully with id: {}", createdUser.getId());
@@ -30,12 +38,26 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@RequestBody User user) {
+    public ResponseEntity<AuthResponseDTO> login(@RequestBody User user, HttpServletRequest request) {
         logger.info("Received login request for email: {}", user.getEmail());
-        String token = userService.login(user);
-        User userDetails = userService.getUserByEmail(user.getEmail());
-        UserDTO userDTO = userService.convertToDTO(userDetails);
-        logger.info("User logged in successfully with id: {}", userDetails.getId());
-        return ResponseEntity.ok(new AuthResponseDTO(token, userDTO));
+        authRateLimiter.checkLogin(request.getRemoteAddr(), user.getEmail());
+        AuthResponseDTO response = userService.login(user);
+        logger.info("User logged in successfully with id: {}", response.getUser().getId());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@RequestBody RefreshTokenRequestDTO request) {
+        logger.info("Received token refresh request");
+        return ResponseEntity.ok(userService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                       @RequestBody(required = false) RefreshTokenRequestDTO request) {
+        logger.info("Received logout request");
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        userService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,7 +1,11 @@
 package com.zeta.digital_insurance_management_system.controller;
 
+import com.zeta.digital_insurance_management_system.dto.purchase.CheckoutRequestDTO;
+import com.zeta.digital_insurance_management_system.dto.purchase.CheckoutResultDTO;
+import com.zeta.digital_insurance_management_system.dto.purchase.UserPolicySummaryDTO;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
 import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.PolicyCheckoutService;
 import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.UserPolicyPurchaseImpl;
 import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,24 +23,43 @@ public class UserPolicyPurchaseController {
 
     @Autowired UserPolicyPurchaseImpl userPolicyPurchase;
     @Autowired UserServiceImpl userService;
+    @Autowired PolicyCheckoutService checkoutService;
 
     @PostMapping("/{policyId}/purchase")
-    public ResponseEntity<UserPolicy> purchasePolicy(@PathVariable Long policyId, @RequestHeader("Authorization") String token) {
+    public ResponseEntity<UserPolicy> purchasePolicy(@PathVariable Long policyId, @RequestHeader("Authorization") String token,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         Long userId = userService.getCurrentUserId();
         logger.info("User ID {} is attempting to purchase policy ID {}", userId, policyId);
 
-        UserPolicy userPolicy = userPolicyPurchase.purchaseAPolicy(policyId, userId);
+        UserPolicy userPolicy = userPolicyPurchase.purchaseAPolicy(policyId, userId, idempotencyKey);
         logger.info("Policy ID {} successfully purchased by user ID {}", policyId, userId);
 
         return new ResponseEntity<UserPolicy>(userPolicy, HttpStatus.CREATED);
     }
 
+    // Buys several policies in one transaction; skipped items are reported alongside the purchases.
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutResultDTO> checkout(@RequestBody CheckoutRequestDTO request, @RequestHeader("Authorization") String token) {
+        Long userId = userService.getCurrentUserId();
+        logger.info("User ID {} is checking out policies {}", userId, request.getPolicyIds());
+
+        CheckoutResultDTO result = checkoutService.checkout(userId, request.getPolicyIds());
+        logger.info("User ID {} bought {} policies at checkout, {} skipped", userId, result.getPurchased(), result.getSkipped());
+
+        HttpStatus status = result.getPurchased() > 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return new ResponseEntity<>(result, status);
+    }
+
+    // Optional status filter and paging; all purchases are returned when page and size are omitted.
     @GetMapping
-    public ResponseEntity<List<UserPolicy>> getUserPolicies(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<UserPolicySummaryDTO>> getUserPolicies(@RequestHeader("Authorization") String token,
+                                                                      @RequestParam(required = false) PolicyStatus status,
+                                                                      @RequestParam(required = false) Integer page,
+                                                                      @RequestParam(required = false) Integer size) {
         Long userId = userService.getCurrentUserId();
         logger.info("Fetching purchased policies for user ID {}", userId);
 
-        List<UserPolicy> policies = userPolicyPurchase.getPurchasedPolicies(userId);
+        List<UserPolicySummaryDTO> policies = userPolicyPurchase.getPurchasedPolicies(userId, status, page, size);
         logger.info("Found {} policies for user ID {}", policies.size(), userId);
 
         return ResponseEntity.ok(policies);
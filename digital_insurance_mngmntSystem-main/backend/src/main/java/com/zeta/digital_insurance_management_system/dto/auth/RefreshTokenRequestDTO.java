@@ -0,0 +1,12 @@
+package com.zeta.digital_insurance_management_system.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequestDTO {
+    private String refreshToken;
+}
@@ -0,0 +1,13 @@
+package com.zeta.digital_insurance_management_system.dto.auth;
+
+import com.zeta.digital_insurance_management_system.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TokenState {
+    private Long userId;
+    private Role role;
+    private int tokenVersion;
+}
@@ -0,0 +1,12 @@
+package com.zeta.digital_insurance_management_system.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserImportErrorDTO {
+    private long line;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.zeta.digital_insurance_management_system.dto.auth;
+
+import com.zeta.digital_insurance_management_system.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UserImportJobDTO {
+    private String jobId;
+    private ImportJobStatus status;
+    private long processed;
+    private long imported;
+    private long failed;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+    private List<UserImportErrorDTO> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,16 @@
+package com.zeta.digital_insurance_management_system.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRow {
+    private String name;
+    private String email;
+    private String password;
+    private String phone;
+    private String address;
+}
@@ -0,0 +1,14 @@
+package com.zeta.digital_insurance_management_system.dto.policy;
+
+import com.zeta.digital_insurance_management_system.enums.BulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PolicyBulkItemResultDTO {
+    private int index;
+    private BulkItemStatus status;
+    private Long id;
+    private String message;
+}
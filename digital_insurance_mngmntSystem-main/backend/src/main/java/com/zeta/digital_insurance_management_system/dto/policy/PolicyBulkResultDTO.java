@@ -0,0 +1,15 @@
+package com.zeta.digital_insurance_management_system.dto.policy;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PolicyBulkResultDTO {
+    private int created;
+    private int updated;
+    private int failed;
+    private List<PolicyBulkItemResultDTO> results;
+}
@@ -0,0 +1,15 @@
+package com.zeta.digital_insurance_management_system.dto.policy;
+
+import com.zeta.digital_insurance_management_system.model.Policy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PolicyPageDTO {
+    private List<Policy> items;
+    private int size;
+    private String nextCursor;
+}
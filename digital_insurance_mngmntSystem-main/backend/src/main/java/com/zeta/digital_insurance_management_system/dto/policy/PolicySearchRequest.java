@@ -0,0 +1,29 @@
+package com.zeta.digital_insurance_management_system.dto.policy;
+
+import com.zeta.digital_insurance_management_system.enums.Category;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// Query parameters of GET /policies. When none are given the full catalog is returned unpaged.
+@Data
+public class PolicySearchRequest {
+    private Category category;
+    private BigDecimal minPremium;
+    private BigDecimal maxPremium;
+    private BigDecimal minCoverage;
+    private BigDecimal maxCoverage;
+    private Integer minDuration;
+    private Integer maxDuration;
+    private String sort;
+    private String direction;
+    private String cursor;
+    private Integer size;
+
+    public boolean isEmpty() {
+        return category == null && minPremium == null && maxPremium == null
+                && minCoverage == null && maxCoverage == null
+                && minDuration == null && maxDuration == null
+                && sort == null && direction == null && cursor == null && size == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.zeta.digital_insurance_management_system.dto.policy;
+
+import com.zeta.digital_insurance_management_system.model.Policy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// score counts how often the policy was bought together with the caller's policies; 0 marks a
+// trending policy offered because the caller has no co-purchase matches yet.
+@Data
+@AllArgsConstructor
+public class RecommendedPolicyDTO {
+    private Policy policy;
+    private long score;
+}
@@ -0,0 +1,12 @@
+package com.zeta.digital_insurance_management_system.dto.policy;
+
+import com.zeta.digital_insurance_management_system.model.Policy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TrendingPolicyDTO {
+    private Policy policy;
+    private long score;
+}
@@ -0,0 +1,18 @@
+package com.zeta.digital_insurance_management_system.dto.purchase;
+
+import com.zeta.digital_insurance_management_system.enums.CheckoutItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class CheckoutItemResultDTO {
+    private int index;
+    private Long policyId;
+    private CheckoutItemStatus status;
+    private Long userPolicyId;
+    private BigDecimal premiumPaid;
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.zeta.digital_insurance_management_system.dto.purchase;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutRequestDTO {
+    private List<Long> policyIds;
+}
@@ -0,0 +1,16 @@
+package com.zeta.digital_insurance_management_system.dto.purchase;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CheckoutResultDTO {
+    private int purchased;
+    private int skipped;
+    private BigDecimal totalPremium;
+    private List<CheckoutItemResultDTO> items;
+}
@@ -0,0 +1,41 @@
+package com.zeta.digital_insurance_management_system.dto.purchase;
+
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Read model for a user's purchased policies, built directly by a JPQL constructor expression so no
+// User or Policy entity is loaded. The flat constructor matches the query's select list.
+@Data
+@AllArgsConstructor
+public class UserPolicySummaryDTO {
+    private Long id;
+    private PolicySummary policy;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private PolicyStatus status;
+    private BigDecimal premiumPaid;
+
+    public UserPolicySummaryDTO(Long id, LocalDate startDate, LocalDate endDate, PolicyStatus status, BigDecimal premiumPaid,
+                                Long policyId, String policyName, Category category, BigDecimal premiumAmount,
+                                BigDecimal coverageAmount, Integer durationMonths, BigDecimal renewalPremiumRate) {
+        this(id, new PolicySummary(policyId, policyName, category, premiumAmount, coverageAmount, durationMonths, renewalPremiumRate),
+                startDate, endDate, status, premiumPaid);
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class PolicySummary {
+        private Long id;
+        private String name;
+        private Category category;
+        private BigDecimal premiumAmount;
+        private BigDecimal coverageAmount;
+        private Integer durationMonths;
+        private BigDecimal renewalPremiumRate;
+    }
+}
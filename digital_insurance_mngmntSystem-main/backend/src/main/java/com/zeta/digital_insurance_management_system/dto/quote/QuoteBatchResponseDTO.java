@@ -0,0 +1,14 @@
+package com.zeta.digital_insurance_management_system.dto.quote;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class QuoteBatchResponseDTO {
+    private int quoted;
+    private int failed;
+    private List<QuoteResultDTO> results;
+}
@@ -0,0 +1,17 @@
+package com.zeta.digital_insurance_management_system.dto.quote;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuoteRequestDTO {
+    private Long policyId;
+    private Integer age;
+    private String region;
+    private BigDecimal sumInsured;
+}
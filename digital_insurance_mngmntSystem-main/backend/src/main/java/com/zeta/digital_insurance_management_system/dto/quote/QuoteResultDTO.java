@@ -0,0 +1,16 @@
+package com.zeta.digital_insurance_management_system.dto.quote;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class QuoteResultDTO {
+    private int index;
+    private Long policyId;
+    private BigDecimal sumInsured;
+    private BigDecimal premium;
+    private String error;
+}
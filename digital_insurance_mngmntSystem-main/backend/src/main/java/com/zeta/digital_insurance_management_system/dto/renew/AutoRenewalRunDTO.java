@@ -0,0 +1,23 @@
+package com.zeta.digital_insurance_management_system.dto.renew;
+
+import com.zeta.digital_insurance_management_system.enums.AutoRenewalRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class AutoRenewalRunDTO {
+    private Long runId;
+    private LocalDate runDate;
+    private AutoRenewalRunStatus status;
+    private long renewed;
+    private long skipped;
+    private long checkpointId;
+    private double rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+}
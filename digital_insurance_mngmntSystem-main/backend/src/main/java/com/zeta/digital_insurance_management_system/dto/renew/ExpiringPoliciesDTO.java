@@ -0,0 +1,17 @@
+package com.zeta.digital_insurance_management_system.dto.renew;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ExpiringPoliciesDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private long total;
+    // Active policies ending on each day; days on which nothing ends are left out.
+    private Map<LocalDate, Integer> byDay;
+}
@@ -0,0 +1,7 @@
+package com.zeta.digital_insurance_management_system.enums;
+
+public enum AutoRenewalRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.zeta.digital_insurance_management_system.enums;
+
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    INVALID,
+    NOT_FOUND,
+    FAILED
+}
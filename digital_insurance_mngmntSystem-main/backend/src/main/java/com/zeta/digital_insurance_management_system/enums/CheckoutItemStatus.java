@@ -0,0 +1,8 @@
+package com.zeta.digital_insurance_management_system.enums;
+
+public enum CheckoutItemStatus {
+    PURCHASED,
+    ALREADY_PURCHASED,
+    DUPLICATE,
+    NOT_FOUND
+}
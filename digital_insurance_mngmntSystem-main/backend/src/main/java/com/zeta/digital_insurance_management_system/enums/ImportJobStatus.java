@@ -0,0 +1,8 @@
+package com.zeta.digital_insurance_management_system.enums;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
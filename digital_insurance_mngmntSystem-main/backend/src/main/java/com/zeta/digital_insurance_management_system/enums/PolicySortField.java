@@ -0,0 +1,43 @@
+package com.zeta.digital_insurance_management_system.enums;
+
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+
+import java.util.Locale;
+
+// Sort keys accepted by the paged policy search, mapped to the entity attribute they order by.
+public enum PolicySortField {
+    ID("id"),
+    PREMIUM("premiumAmount"),
+    COVERAGE("coverageAmount"),
+    CREATED_AT("createdAt");
+
+    private final String attribute;
+
+    PolicySortField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public static PolicySortField from(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "id":
+                return ID;
+            case "premium":
+            case "premiumamount":
+                return PREMIUM;
+            case "coverage":
+            case "coverageamount":
+                return COVERAGE;
+            case "createdat":
+                return CREATED_AT;
+            default:
+                throw new IllegalArgumentFoundException("Unsupported sort field: " + value);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.zeta.digital_insurance_management_system.enums;
 
 public enum PolicyStatus{
-    ACTIVE, EXPIRED, RENEWED, CANCELLED
+    ACTIVE, EXPIRED, RENEWED, CANCELLED;
+
+    // RENEWED is set on a live policy whose term was extended in place, so it is in force like ACTIVE.
+    public boolean isInForce() {
+        return this == ACTIVE || this == RENEWED;
+    }
 }
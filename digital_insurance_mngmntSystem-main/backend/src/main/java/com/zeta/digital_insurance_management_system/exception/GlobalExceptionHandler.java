@@ -2,9 +2,12 @@ package com.zeta.digital_insurance_management_system.exception;
 
 import com.zeta.digital_insurance_management_system.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -27,6 +30,13 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
   }
 
+  @ExceptionHandler(BindException.class)
+  public ResponseEntity<String> handleBindException(BindException ex) {
+    FieldError fieldError = ex.getFieldError();
+    String message = fieldError == null ? "Invalid request parameters" : "Invalid value for " + fieldError.getField();
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(message);
+  }
+
   @ExceptionHandler(AccessDeniedException.class)
   @ResponseStatus(HttpStatus.FORBIDDEN)
   public String handleAccessDeniedException(AccessDeniedException ex) {
@@ -38,6 +48,20 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
   }
 
+  @ExceptionHandler(LoginThrottledException.class)
+  public ResponseEntity<String> handleLoginThrottled(LoginThrottledException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ex.getMessage());
+  }
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<String> handleRateLimitExceeded(RateLimitExceededException ex) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(ex.getMessage());
+  }
+
   @ExceptionHandler(UserAlreadyExistException.class)
   public ResponseEntity<String> handleUserAlreadyExists(UserAlreadyExistException ex) {
     return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
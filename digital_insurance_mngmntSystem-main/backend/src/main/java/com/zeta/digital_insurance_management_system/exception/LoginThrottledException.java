@@ -0,0 +1,7 @@
+package com.zeta.digital_insurance_management_system.exception;
+
+public class LoginThrottledException extends RuntimeException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.zeta.digital_insurance_management_system.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A user policy whose owner opted in to automatic renewal by AutoRenewalEngine.
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutoRenewal {
+    @Id
+    private Long userPolicyId;
+
+    private LocalDateTime enabledAt;
+}
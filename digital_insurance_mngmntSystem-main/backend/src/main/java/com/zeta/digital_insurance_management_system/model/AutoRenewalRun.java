@@ -0,0 +1,50 @@
+package com.zeta.digital_insurance_management_system.model;
+
+import com.zeta.digital_insurance_management_system.enums.AutoRenewalRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One auto-renewal batch run. Every auto_renewal row up to checkpointId has been handled, and renewed
+// and skipped count exactly those rows, so an interrupted run continues after it. The instance running
+// it holds a lease: owner identifies the execution and heartbeat is refreshed while it makes progress.
+// lockKey is set only while the run is RUNNING, and its unique constraint allows one such run at a time.
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_auto_renewal_run_status", columnList = "status"))
+public class AutoRenewalRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate runDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AutoRenewalRunStatus status;
+
+    private long checkpointId;
+    private long renewed;
+    private long skipped;
+    private double rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(length = 36)
+    private String owner;
+
+    private LocalDateTime heartbeat;
+
+    @Column(length = 16, unique = true)
+    private String lockKey;
+}
@@ -9,7 +9,18 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+// Composite indexes back the filters and sort keys of the paged catalog search; id is the keyset
+// tiebreaker so it closes every sort index.
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_policy_category_premium", columnList = "category, premiumAmount, id"),
+        @Index(name = "idx_policy_category_coverage", columnList = "category, coverageAmount, id"),
+        @Index(name = "idx_policy_category_created", columnList = "category, createdAt, id"),
+        @Index(name = "idx_policy_category_duration", columnList = "category, durationMonths"),
+        @Index(name = "idx_policy_premium", columnList = "premiumAmount, id"),
+        @Index(name = "idx_policy_coverage", columnList = "coverageAmount, id"),
+        @Index(name = "idx_policy_created", columnList = "createdAt, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
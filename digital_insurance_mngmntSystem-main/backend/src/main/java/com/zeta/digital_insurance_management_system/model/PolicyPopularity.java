@@ -0,0 +1,23 @@
+package com.zeta.digital_insurance_management_system.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Running view and purchase totals per policy, written in batches by PolicyPopularityTracker.
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PolicyPopularity {
+    @Id
+    private Long policyId;
+
+    private long views;
+    private long purchases;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.zeta.digital_insurance_management_system.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -1,5 +1,7 @@
 package com.zeta.digital_insurance_management_system.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.zeta.digital_insurance_management_system.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
@@ -7,6 +9,7 @@ import lombok.*;
 @Data
 @Entity
 @Table(name = "app_user")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
@@ -30,4 +33,8 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    @JsonIgnore
+    @Column(nullable = false)
+    private int tokenVersion;
+
 }
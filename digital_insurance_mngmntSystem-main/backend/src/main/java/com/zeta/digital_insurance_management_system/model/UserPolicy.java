@@ -13,6 +13,9 @@ import java.time.LocalDate;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_policy_user_policy", columnNames = {"user_id", "policy_id"}),
+        indexes = {@Index(name = "idx_user_policy_user_status_end_date", columnList = "user_id, status, end_date"),
+                @Index(name = "idx_user_policy_status_end_date", columnList = "status, end_date")})
 public class UserPolicy {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
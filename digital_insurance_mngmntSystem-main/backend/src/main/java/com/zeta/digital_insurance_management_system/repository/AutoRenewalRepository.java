@@ -0,0 +1,7 @@
+package com.zeta.digital_insurance_management_system.repository;
+
+import com.zeta.digital_insurance_management_system.model.AutoRenewal;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AutoRenewalRepository extends JpaRepository<AutoRenewal, Long> {
+}
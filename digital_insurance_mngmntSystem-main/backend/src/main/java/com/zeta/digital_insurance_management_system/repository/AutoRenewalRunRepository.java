@@ -0,0 +1,13 @@
+package com.zeta.digital_insurance_management_system.repository;
+
+import com.zeta.digital_insurance_management_system.enums.AutoRenewalRunStatus;
+import com.zeta.digital_insurance_management_system.model.AutoRenewalRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface AutoRenewalRunRepository extends JpaRepository<AutoRenewalRun, Long> {
+    Optional<AutoRenewalRun> findFirstByStatusOrderByIdDesc(AutoRenewalRunStatus status);
+    boolean existsByRunDateAndStatus(LocalDate runDate, AutoRenewalRunStatus status);
+}
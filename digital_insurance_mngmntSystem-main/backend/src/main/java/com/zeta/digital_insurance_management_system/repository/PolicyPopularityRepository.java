@@ -0,0 +1,6 @@
+package com.zeta.digital_insurance_management_system.repository;
+
+import com.zeta.digital_insurance_management_system.model.PolicyPopularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PolicyPopularityRepository extends JpaRepository<PolicyPopularity, Long> {}
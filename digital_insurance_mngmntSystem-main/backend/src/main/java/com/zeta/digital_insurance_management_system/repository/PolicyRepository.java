@@ -2,5 +2,6 @@ package com.zeta.digital_insurance_management_system.repository;
 
 import com.zeta.digital_insurance_management_system.model.Policy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-public interface PolicyRepository extends JpaRepository<Policy, Long> {}
+public interface PolicyRepository extends JpaRepository<Policy, Long>, JpaSpecificationExecutor<Policy> {}
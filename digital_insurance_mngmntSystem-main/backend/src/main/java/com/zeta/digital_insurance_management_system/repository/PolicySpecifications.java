@@ -0,0 +1,74 @@
+package com.zeta.digital_insurance_management_system.repository;
+
+import com.zeta.digital_insurance_management_system.dto.policy.PolicySearchRequest;
+import com.zeta.digital_insurance_management_system.enums.PolicySortField;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Criteria for the paged policy search. The filter columns line up with the composite indexes
+// declared on Policy so the database can range scan instead of reading the whole table.
+public final class PolicySpecifications {
+
+    private PolicySpecifications() {
+    }
+
+    public static Specification<Policy> matching(PolicySearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (request.getCategory() != null) {
+                predicates.add(cb.equal(root.get("category"), request.getCategory()));
+            }
+            addRange(predicates, cb, root.get("premiumAmount"), request.getMinPremium(), request.getMaxPremium());
+            addRange(predicates, cb, root.get("coverageAmount"), request.getMinCoverage(), request.getMaxCoverage());
+            addRange(predicates, cb, root.get("durationMonths"), request.getMinDuration(), request.getMaxDuration());
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Rows that come after (value, id) in the given order. Both MySQL and H2 sort NULL as the lowest
+    // value, so nulls come first when ascending and last when descending.
+    public static Specification<Policy> after(PolicySortField field, boolean descending, Object value, long id) {
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            Predicate idAfter = descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            switch (field) {
+                case PREMIUM:
+                case COVERAGE:
+                    return keyset(cb, root.get(field.getAttribute()), (BigDecimal) value, idAfter, descending);
+                case CREATED_AT:
+                    return keyset(cb, root.get(field.getAttribute()), (LocalDateTime) value, idAfter, descending);
+                default:
+                    return idAfter;
+            }
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> void addRange(List<Predicate> predicates, CriteriaBuilder cb,
+                                                                  Path<Y> path, Y min, Y max) {
+        if (min != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, min));
+        }
+        if (max != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, max));
+        }
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate keyset(CriteriaBuilder cb, Path<Y> path, Y value,
+                                                                     Predicate idAfter, boolean descending) {
+        if (value == null) {
+            Predicate sameNull = cb.and(cb.isNull(path), idAfter);
+            return descending ? sameNull : cb.or(sameNull, cb.isNotNull(path));
+        }
+        Predicate beyond = descending ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+        Predicate tie = cb.and(cb.equal(path, value), idAfter);
+        return descending ? cb.or(beyond, tie, cb.isNull(path)) : cb.or(beyond, tie);
+    }
+}
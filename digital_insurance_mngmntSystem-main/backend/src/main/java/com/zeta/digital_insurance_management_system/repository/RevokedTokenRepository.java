@@ -0,0 +1,32 @@
+package com.zeta.digital_insurance_management_system.repository;
+
+import com.zeta.digital_insurance_management_system.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime since);
+
+    // A plain insert rather than save(), which would merge onto an existing row: a jti that is already
+    // stored fails with a primary key violation.
+    @Transactional
+    @Modifying
+    @Query(value = "insert into revoked_token (jti, user_id, expires_at, revoked_at) values (:jti, :userId, :expiresAt, :revokedAt)",
+            nativeQuery = true)
+    int insert(@Param("jti") String jti, @Param("userId") Long userId, @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,9 +1,17 @@
 package com.zeta.digital_insurance_management_system.repository;
 
+import com.zeta.digital_insurance_management_system.dto.purchase.UserPolicySummaryDTO;
+import com.zeta.digital_insurance_management_system.dto.renew.RenewablePolicy;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
 import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +20,28 @@ public interface UserPolicyRepository extends JpaRepository<UserPolicy, Long> {
     List<UserPolicy> findByUserId(Long userId);
     Optional<UserPolicy> findByUserIdAndPolicyId(Long userId, Long policyId);
     boolean existsByUserIdAndPolicyId(Long userId, Long policyId);
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("select up.policy.id from UserPolicy up where up.user.id = :userId and up.policy.id in :policyIds")
+    List<Long> findOwnedPolicyIds(@Param("userId") Long userId, @Param("policyIds") Collection<Long> policyIds);
+
+    // One query joining policy once; a Slice skips the count query that a Page would add.
+    @Query("select new com.zeta.digital_insurance_management_system.dto.purchase.UserPolicySummaryDTO("
+            + "up.id, up.startDate, up.endDate, up.status, up.premiumPaid, p.id, p.name, p.category, p.premiumAmount, "
+            + "p.coverageAmount, p.durationMonths, p.renewalPremiumRate) "
+            + "from UserPolicy up join up.policy p "
+            + "where up.user.id = :userId and (:status is null or up.status = :status) order by up.id")
+    Slice<UserPolicySummaryDTO> findSummariesByUserId(@Param("userId") Long userId, @Param("status") PolicyStatus status,
+                                                     Pageable pageable);
+
+    // Both branches are ranges on the (user_id, status, end_date) index, so the cost depends on the
+    // renewable rows only, not on the user's whole history.
+    @Query("select new com.zeta.digital_insurance_management_system.dto.renew.RenewablePolicy("
+            + "up.id, p.name, up.endDate, up.premiumPaid, p.renewalPremiumRate) "
+            + "from UserPolicy up join up.policy p "
+            + "where up.user.id = :userId and ((up.status in (com.zeta.digital_insurance_management_system.enums.PolicyStatus.ACTIVE, "
+            + "com.zeta.digital_insurance_management_system.enums.PolicyStatus.RENEWED) and up.endDate <= :windowEnd) "
+            + "or up.status = com.zeta.digital_insurance_management_system.enums.PolicyStatus.EXPIRED) "
+            + "order by up.endDate, up.id")
+    List<RenewablePolicy> findRenewableByUserId(@Param("userId") Long userId, @Param("windowEnd") LocalDate windowEnd);
 }
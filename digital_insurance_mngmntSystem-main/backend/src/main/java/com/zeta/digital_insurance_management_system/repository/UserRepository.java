@@ -1,9 +1,38 @@
 package com.zeta.digital_insurance_management_system.repository;
 
+import com.zeta.digital_insurance_management_system.dto.auth.TokenState;
 import com.zeta.digital_insurance_management_system.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
     User findByEmail(String email);
+
+    @Query("select u.email from User u order by u.id")
+    Slice<String> findAllEmails(Pageable pageable);
+
+    @Query("select new com.zeta.digital_insurance_management_system.dto.auth.TokenState(u.id, u.role, u.tokenVersion) from User u where u.id = :id")
+    Optional<TokenState> findTokenStateById(@Param("id") Long id);
+
+    @Query("select new com.zeta.digital_insurance_management_system.dto.auth.TokenState(u.id, u.role, u.tokenVersion) from User u where u.id in :ids")
+    List<TokenState> findTokenStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newHash where u.email = :email and u.password = :oldHash")
+    int updatePasswordHash(@Param("email") String email, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
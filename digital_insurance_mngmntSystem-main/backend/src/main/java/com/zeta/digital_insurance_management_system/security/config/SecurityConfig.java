@@ -1,7 +1,13 @@
 package com.zeta.digital_insurance_management_system.security.config;
 
 import com.zeta.digital_insurance_management_system.security.filter.JwtFilter;
+import com.zeta.digital_insurance_management_system.security.service.AdaptiveBCryptPasswordEncoder;
+import com.zeta.digital_insurance_management_system.security.service.BasicCredentialCache;
+import com.zeta.digital_insurance_management_system.security.service.CachingDaoAuthenticationProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,8 +19,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
@@ -31,6 +37,8 @@ import java.util.List;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Autowired
     private JwtFilter jwtFilter;
 
@@ -40,9 +48,20 @@ public class SecurityConfig {
     @Autowired
     private AccessDeniedHandler accessDeniedHandler; 
 
+    @Autowired
+    private BasicCredentialCache basicCredentialCache;
+
+    @Value("${security.password.bcrypt-strength:12}")
+    private int bcryptStrength;
+
+    @Value("${security.password.hash-budget-ms:250}")
+    private long hashBudgetMillis;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        int strength = bcryptStrength > 0 ? bcryptStrength : AdaptiveBCryptPasswordEncoder.calibrate(hashBudgetMillis);
+        logger.info("Using BCrypt strength {} for password hashes", strength);
+        return new AdaptiveBCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -51,7 +70,7 @@ public class SecurityConfig {
         return http.csrf(customizer -> customizer.disable())
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(request -> request
-                        .requestMatchers("/auth/login", "/auth/register").permitAll()
+                        .requestMatchers("/auth/login", "/auth/register", "/auth/refresh").permitAll()
                         .anyRequest().authenticated())
                 .httpBasic(Customizer.withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -74,9 +93,12 @@ public class SecurityConfig {
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider provider = new CachingDaoAuthenticationProvider(basicCredentialCache);
         provider.setPasswordEncoder(passwordEncoder()); // Use the bean here
         provider.setUserDetailsService(userDetailsService);
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            provider.setUserDetailsPasswordService(passwordService);
+        }
 
         return provider;
     }
@@ -2,11 +2,13 @@ package com.zeta.digital_insurance_management_system.security.filter;
 
 import com.zeta.digital_insurance_management_system.security.jwt.JwtService;
 import com.zeta.digital_insurance_management_system.security.service.MyUserDetailsService;
+import com.zeta.digital_insurance_management_system.security.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,6 +28,9 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     ApplicationContext context;
 
+    @Value("${security.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
@@ -37,9 +42,12 @@ public class JwtFilter extends OncePerRequestFilter {
             username = jwtService.extractUserName(token);
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = context.getBean(MyUserDetailsService.class).loadUserByUsername(username);
-            if (jwtService.validateToken(token, userDetails)) {
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && !context.getBean(TokenRevocationService.class).isRevoked(jwtService.extractAllClaims(token).getId())) {
+            UserDetails userDetails = statelessPrincipal
+                    ? context.getBean(MyUserDetailsService.class).loadUserFromClaims(jwtService.extractAllClaims(token))
+                    : context.getBean(MyUserDetailsService.class).loadUserByUsername(username);
+            if (userDetails != null && jwtService.validateToken(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, token, userDetails.getAuthorities());
 
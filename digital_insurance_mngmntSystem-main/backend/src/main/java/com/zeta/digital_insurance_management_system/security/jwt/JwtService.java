@@ -2,52 +2,83 @@ package com.zeta.digital_insurance_management_system.security.jwt;
 
 import com.zeta.digital_insurance_management_system.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
-import java.security.NoSuchAlgorithmException;
+import java.security.Key;
 import java.util.*;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    private String secretkey = "";
 
-    public JwtService() {
+    public static final String TOKEN_TYPE_CLAIM = "tokenType";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
 
-        try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey sk = keyGen.generateKey();
-            secretkey = Base64.getEncoder().encodeToString(sk.getEncoded());
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
+    private final VerifiedTokenCache tokenCache;
+    private final SigningKeyRing keyRing;
+    private final JwtParser parser;
+    private final long accessTtlMillis;
+    private final long refreshTtlMillis;
+
+    public JwtService(VerifiedTokenCache tokenCache,
+                      SigningKeyRing keyRing,
+                      @Value("${security.jwt.access-ttl-seconds:108000}") long accessTtlSeconds,
+                      @Value("${security.jwt.refresh-ttl-seconds:1209600}") long refreshTtlSeconds) {
+        this.tokenCache = tokenCache;
+        this.keyRing = keyRing;
+        this.accessTtlMillis = accessTtlSeconds * 1000;
+        this.refreshTtlMillis = refreshTtlSeconds * 1000;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyRing.verificationKey(header);
+                    }
+                })
+                .build();
     }
 
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());
         claims.put("role", user.getRole());
-        return Jwts.builder()
+        claims.put("tokenVersion", user.getTokenVersion());
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN);
+        return buildToken(user, claims, accessTtlMillis);
+    }
+
+    // Refresh tokens only carry what is needed to issue a new access token; the role is re-read
+    // from the database when they are used.
+    public String generateRefreshToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", user.getId());
+        claims.put("tokenVersion", user.getTokenVersion());
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN);
+        return buildToken(user, claims, refreshTtlMillis);
+    }
+
+    private String buildToken(User user, Map<String, Object> claims, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return keyRing.sign(Jwts.builder()
                 .claims()
                 .add(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(user.getEmail())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + 600 * 600 * 300))
-                .and()
-                .signWith(getKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMillis))
+                .and())
                 .compact();
-
     }
 
-    private SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretkey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM));
     }
 
     public String extractUserName(String token) {
@@ -68,28 +99,24 @@ public class JwtService {
         return claimResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims extractAllClaims(String token) {
+        Claims cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        tokenCache.put(token, claims);
+        return claims;
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String userName = extractUserName(token);
-            return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            final Claims claims = extractAllClaims(token);
+            return (claims.getSubject().equals(userDetails.getUsername())
+                    && !claims.getExpiration().before(new Date())
+                    && !isRefreshToken(claims));
         } catch (Exception e) {
             return false;
         }
     }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
 }
@@ -0,0 +1,147 @@
+package com.zeta.digital_insurance_management_system.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+// HMAC signing keys shared by every backend node, loaded from a PKCS12 keystore where each secret key
+// alias is used as the token "kid". Every key in the keystore is accepted for verification, so a new key
+// can be rolled out to all nodes first and made the signing key afterwards, and an old key stays valid
+// until it is removed from the file. The keystore is re-read when the file changes.
+//
+// Create or extend the keystore with:
+//   keytool -genseckey -alias <kid> -keyalg HmacSHA256 -keysize 256 -storetype PKCS12 -keystore jwt-keys.p12
+@Component
+public class SigningKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyRing.class);
+
+    private final String keystorePath;
+    private final char[] keystorePassword;
+    private final String signingKid;
+
+    private volatile KeySet keySet;
+    private volatile long lastModified;
+
+    public SigningKeyRing(@Value("${security.jwt.keystore.path:}") String keystorePath,
+                          @Value("${security.jwt.keystore.password:}") String keystorePassword,
+                          @Value("${security.jwt.keystore.signing-kid:}") String signingKid) {
+        this.keystorePath = keystorePath;
+        this.keystorePassword = keystorePassword.toCharArray();
+        this.signingKid = signingKid;
+        if (keystorePath.isBlank()) {
+            logger.warn("No JWT keystore configured, using an ephemeral signing key. Tokens will not survive a restart.");
+            this.keySet = ephemeralKeySet();
+        } else {
+            this.keySet = load();
+        }
+    }
+
+    public static SigningKeyRing ephemeral() {
+        return new SigningKeyRing("", "", "");
+    }
+
+    public String signingKid() {
+        return keySet.signingKid();
+    }
+
+    public JwtBuilder sign(JwtBuilder builder) {
+        KeySet current = keySet;
+        return builder.header().keyId(current.signingKid()).and()
+                .signWith(current.keys().get(current.signingKid()));
+    }
+
+    public SecretKey verificationKey(JwsHeader header) {
+        KeySet current = keySet;
+        String kid = header.getKeyId();
+        SecretKey key = current.keys().get(kid != null ? kid : current.signingKid());
+        if (key == null) {
+            throw new SignatureException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.keystore.reload-ms:60000}")
+    public void reloadIfChanged() {
+        if (keystorePath.isBlank()) {
+            return;
+        }
+        try {
+            if (Files.getLastModifiedTime(Path.of(keystorePath)).toMillis() != lastModified) {
+                keySet = load();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to reload JWT keystore {}, keeping the current keys", keystorePath, e);
+        }
+    }
+
+    private KeySet load() {
+        Path path = Path.of(keystorePath);
+        try (InputStream in = Files.newInputStream(path)) {
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, keystorePassword);
+
+            Map<String, SecretKey> keys = new HashMap<>();
+            String newestKid = null;
+            Date newestDate = null;
+            for (String alias : Collections.list(keyStore.aliases())) {
+                Key key = keyStore.getKey(alias, keystorePassword);
+                if (!(key instanceof SecretKey secretKey)) {
+                    continue;
+                }
+                keys.put(alias, Keys.hmacShaKeyFor(secretKey.getEncoded()));
+                Date created = keyStore.getCreationDate(alias);
+                if (newestDate == null || (created != null && created.after(newestDate))) {
+                    newestKid = alias;
+                    newestDate = created;
+                }
+            }
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("JWT keystore " + keystorePath + " contains no secret keys");
+            }
+
+            String kid = signingKid.isBlank() ? newestKid : signingKid;
+            if (!keys.containsKey(kid)) {
+                throw new IllegalStateException("JWT signing key " + kid + " not found in " + keystorePath);
+            }
+            lastModified = modified;
+            logger.info("Loaded {} JWT keys from {}, signing with kid {}", keys.size(), keystorePath, kid);
+            return new KeySet(kid, Map.copyOf(keys));
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to load JWT keystore " + keystorePath, e);
+        }
+    }
+
+    private static KeySet ephemeralKeySet() {
+        try {
+            SecretKey key = KeyGenerator.getInstance("HmacSHA256").generateKey();
+            return new KeySet("ephemeral", Map.of("ephemeral", key));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record KeySet(String signingKid, Map<String, SecretKey> keys) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.zeta.digital_insurance_management_system.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Holds claims of tokens whose signature has already been verified, keyed by a SHA-256 digest of the token.
+// Entries never outlive the token's own expiry, and the cache never grows beyond maxEntries.
+@Component
+public class VerifiedTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long maxTtlMillis;
+
+    public VerifiedTokenCache(@Value("${security.jwt.cache.max-entries:10000}") int maxEntries,
+                              @Value("${security.jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        this.maxEntries = maxEntries;
+        this.maxTtlMillis = maxTtlSeconds * 1000;
+    }
+
+    public Claims get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    public void put(String token, Claims claims) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxTtlMillis;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(digest(token), new Entry(claims, expiresAt));
+    }
+
+    public void invalidate(String token) {
+        entries.remove(digest(token));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        logger.debug("Evicted verified tokens, {} entries remaining", entries.size());
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
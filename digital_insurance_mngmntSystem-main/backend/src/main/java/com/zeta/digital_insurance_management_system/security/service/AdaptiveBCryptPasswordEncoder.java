@@ -0,0 +1,60 @@
+package com.zeta.digital_insurance_management_system.security.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCrypt encoder that reports hashes below the target strength as needing an upgrade, so they are
+// raised to the configured work factor on the next successful login. Stronger hashes are left alone:
+// nodes with different targets would otherwise keep rehashing the same password back and forth.
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    // The fixed cost used before strengths were configurable; calibration never goes below it.
+    private static final int MIN_STRENGTH = 12;
+    private static final int MAX_STRENGTH = 16;
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    // Picks the highest strength whose hash time stays within the budget. Each step doubles the cost,
+    // so the search stops at the first strength that goes over.
+    public static int calibrate(long budgetMillis) {
+        int chosen = MIN_STRENGTH;
+        new BCryptPasswordEncoder(MIN_STRENGTH).encode("calibration");
+        for (int candidate = MIN_STRENGTH; candidate <= MAX_STRENGTH; candidate++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(candidate);
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            logger.info("BCrypt strength {} takes {} ms", candidate, elapsedMillis);
+            if (elapsedMillis > budgetMillis) {
+                break;
+            }
+            chosen = candidate;
+        }
+        return chosen;
+    }
+}
@@ -0,0 +1,100 @@
+package com.zeta.digital_insurance_management_system.security.service;
+
+import com.zeta.digital_insurance_management_system.exception.RateLimitExceededException;
+import com.zeta.digital_insurance_management_system.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+// Per-IP and per-email limits for the public auth endpoints. Checked in the controller before
+// any password is hashed, so a flood of logins or signups is turned away cheaply.
+@Service
+public class AuthRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimiter.class);
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter loginByIp;
+    private final TokenBucketRateLimiter loginByEmail;
+    private final TokenBucketRateLimiter registerByIp;
+    private final Counter loginIpRejected;
+    private final Counter loginEmailRejected;
+    private final Counter registerIpRejected;
+
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${security.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${security.ratelimit.max-keys:100000}") int maxKeys,
+                           @Value("${security.ratelimit.login.ip.capacity:20}") int loginIpCapacity,
+                           @Value("${security.ratelimit.login.ip.refill-per-minute:20}") int loginIpRefill,
+                           @Value("${security.ratelimit.login.email.capacity:5}") int loginEmailCapacity,
+                           @Value("${security.ratelimit.login.email.refill-per-minute:5}") int loginEmailRefill,
+                           @Value("${security.ratelimit.register.ip.capacity:5}") int registerIpCapacity,
+                           @Value("${security.ratelimit.register.ip.refill-per-minute:5}") int registerIpRefill) {
+        this.enabled = enabled;
+        this.loginByIp = new TokenBucketRateLimiter(loginIpCapacity, loginIpRefill, maxKeys);
+        this.loginByEmail = new TokenBucketRateLimiter(loginEmailCapacity, loginEmailRefill, maxKeys);
+        this.registerByIp = new TokenBucketRateLimiter(registerIpCapacity, registerIpRefill, maxKeys);
+        this.loginIpRejected = rejectedCounter(meterRegistry, "login.ip");
+        this.loginEmailRejected = rejectedCounter(meterRegistry, "login.email");
+        this.registerIpRejected = rejectedCounter(meterRegistry, "register.ip");
+        Gauge.builder("auth.ratelimit.keys", loginByIp, TokenBucketRateLimiter::size).tag("limit", "login.ip").register(meterRegistry);
+        Gauge.builder("auth.ratelimit.keys", loginByEmail, TokenBucketRateLimiter::size).tag("limit", "login.email").register(meterRegistry);
+        Gauge.builder("auth.ratelimit.keys", registerByIp, TokenBucketRateLimiter::size).tag("limit", "register.ip").register(meterRegistry);
+    }
+
+    // The per-IP limit is checked first, so an attempt it rejects does not count against the account.
+    // An attempt the per-email limit rejects gives its IP token back: retries against one locked
+    // account do not use up the allowance of everyone else behind the same address.
+    public void checkLogin(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        check(loginByIp, clientIp, loginIpRejected, "login.ip");
+        if (email != null) {
+            try {
+                check(loginByEmail, email.trim().toLowerCase(Locale.ROOT), loginEmailRejected, "login.email");
+            } catch (RateLimitExceededException e) {
+                loginByIp.refund(key(clientIp));
+                throw e;
+            }
+        }
+    }
+
+    public void checkRegister(String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        check(registerByIp, clientIp, registerIpRejected, "register.ip");
+    }
+
+    @Scheduled(fixedDelayString = "${security.ratelimit.evict-ms:60000}")
+    public void evictIdle() {
+        loginByIp.evictIdle();
+        loginByEmail.evictIdle();
+        registerByIp.evictIdle();
+    }
+
+    private void check(TokenBucketRateLimiter limiter, String key, Counter rejected, String limit) {
+        long retryAfter = limiter.tryAcquire(key(key));
+        if (retryAfter > 0) {
+            rejected.increment();
+            logger.warn("Rate limit {} exceeded for {}", limit, key);
+            throw new RateLimitExceededException("Too many requests, please try again later", retryAfter);
+        }
+    }
+
+    private static String key(String key) {
+        return key == null ? "" : key;
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String limit) {
+        return Counter.builder("auth.ratelimit.rejected").tag("limit", limit).register(meterRegistry);
+    }
+}
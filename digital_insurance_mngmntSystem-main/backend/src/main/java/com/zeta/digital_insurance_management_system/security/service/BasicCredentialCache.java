@@ -0,0 +1,133 @@
+package com.zeta.digital_insurance_management_system.security.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers recent successful HTTP Basic verifications so repeat calls skip the BCrypt check.
+// Entries are keyed by an HMAC of the username, the presented password, the stored hash and the
+// granted roles, using a key that only lives in this process. A password or role change therefore
+// never matches an old entry, and the plain password is never stored.
+@Service
+public class BasicCredentialCache {
+
+    private final ConcurrentHashMap<String, Deque<Entry>> entriesByUser = new ConcurrentHashMap<>();
+    private final SecretKey macKey;
+    private final long ttlMillis;
+    private final int maxUsers;
+    private final int maxEntriesPerUser;
+    private final Counter hits;
+    private final Counter misses;
+
+    public BasicCredentialCache(MeterRegistry meterRegistry,
+                                @Value("${security.basic.cache.ttl-seconds:60}") long ttlSeconds,
+                                @Value("${security.basic.cache.max-users:10000}") int maxUsers,
+                                @Value("${security.basic.cache.max-entries-per-user:2}") int maxEntriesPerUser) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxUsers = maxUsers;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        try {
+            this.macKey = KeyGenerator.getInstance("HmacSHA256").generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        this.hits = Counter.builder("auth.basic.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.basic.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("auth.basic.cache.users", entriesByUser, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    public boolean isVerified(UserDetails userDetails, String presentedPassword) {
+        if (ttlMillis <= 0) {
+            return false;
+        }
+        Deque<Entry> entries = entriesByUser.get(userDetails.getUsername());
+        if (entries != null) {
+            byte[] digest = digest(userDetails, presentedPassword);
+            long now = System.currentTimeMillis();
+            synchronized (entries) {
+                Iterator<Entry> iterator = entries.iterator();
+                while (iterator.hasNext()) {
+                    Entry entry = iterator.next();
+                    if (entry.expiresAt() <= now) {
+                        iterator.remove();
+                    } else if (MessageDigest.isEqual(entry.digest(), digest)) {
+                        hits.increment();
+                        return true;
+                    }
+                }
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    public void put(UserDetails userDetails, String presentedPassword) {
+        if (ttlMillis <= 0 || maxEntriesPerUser <= 0) {
+            return;
+        }
+        if (entriesByUser.size() >= maxUsers && !entriesByUser.containsKey(userDetails.getUsername())) {
+            long now = System.currentTimeMillis();
+            entriesByUser.values().removeIf(entries -> {
+                synchronized (entries) {
+                    return entries.isEmpty() || entries.peekLast().expiresAt() <= now;
+                }
+            });
+            if (entriesByUser.size() >= maxUsers) {
+                return;
+            }
+        }
+        Entry entry = new Entry(digest(userDetails, presentedPassword), System.currentTimeMillis() + ttlMillis);
+        Deque<Entry> entries = entriesByUser.computeIfAbsent(userDetails.getUsername(), username -> new ArrayDeque<>());
+        synchronized (entries) {
+            while (entries.size() >= maxEntriesPerUser) {
+                entries.pollFirst();
+            }
+            entries.addLast(entry);
+        }
+    }
+
+    public void invalidate(String username) {
+        entriesByUser.remove(username);
+    }
+
+    private byte[] digest(UserDetails userDetails, String presentedPassword) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(macKey);
+            update(mac, userDetails.getUsername());
+            update(mac, presentedPassword);
+            update(mac, userDetails.getPassword());
+            for (GrantedAuthority authority : userDetails.getAuthorities()) {
+                update(mac, authority.getAuthority());
+            }
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(Mac mac, String value) {
+        if (value != null) {
+            mac.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        mac.update((byte) 0);
+    }
+
+    private record Entry(byte[] digest, long expiresAt) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.zeta.digital_insurance_management_system.security.service;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+// DaoAuthenticationProvider that consults BasicCredentialCache before running the password encoder.
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final BasicCredentialCache credentialCache;
+
+    public CachingDaoAuthenticationProvider(BasicCredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication) throws AuthenticationException {
+        Object credentials = authentication.getCredentials();
+        if (credentials != null && credentialCache.isVerified(userDetails, credentials.toString())) {
+            return;
+        }
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        credentialCache.put(userDetails, credentials.toString());
+    }
+}
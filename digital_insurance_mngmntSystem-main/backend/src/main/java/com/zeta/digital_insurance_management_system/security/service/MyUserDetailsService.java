@@ -1,20 +1,31 @@
 package com.zeta.digital_insurance_management_system.security.service;
 
+import com.zeta.digital_insurance_management_system.dto.auth.TokenState;
+import com.zeta.digital_insurance_management_system.enums.Role;
 import com.zeta.digital_insurance_management_system.model.User;
 import com.zeta.digital_insurance_management_system.security.Model.UserPrincipal;
 import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MyUserDetailsService.class);
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TokenStateService tokenStateService;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email);
@@ -24,4 +35,44 @@ public class MyUserDetailsService implements UserDetailsService {
 
         return new UserPrincipal(user);
     }
+
+    // Called after a successful login when the stored hash uses a lower work factor than the configured
+    // one; stronger hashes are left alone. Only replaces the hash if nobody changed the password in the
+    // meantime.
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        int updated = userRepository.updatePasswordHash(userDetails.getUsername(), userDetails.getPassword(), newPassword);
+        if (updated == 0) {
+            logger.warn("Skipped password rehash for {}, stored hash has changed", userDetails.getUsername());
+            return userDetails;
+        }
+        logger.info("Rehashed password for {} with the current work factor", userDetails.getUsername());
+        return loadUserByUsername(userDetails.getUsername());
+    }
+
+    // Builds the principal from already verified token claims. Returns null when the token's
+    // role or version no longer matches the user's current state.
+    public UserDetails loadUserFromClaims(Claims claims) {
+        Object userId = claims.get("userId");
+        Object role = claims.get("role");
+        if (!(userId instanceof Number) || role == null) {
+            logger.warn("Token for {} is missing userId or role claims", claims.getSubject());
+            return null;
+        }
+
+        TokenState state = tokenStateService.getTokenState(((Number) userId).longValue());
+        Object tokenVersion = claims.get("tokenVersion");
+        int version = tokenVersion instanceof Number ? ((Number) tokenVersion).intValue() : 0;
+        if (state == null || state.getTokenVersion() != version || !state.getRole().name().equals(role.toString())) {
+            logger.warn("Rejected stale token for {}", claims.getSubject());
+            return null;
+        }
+
+        User user = new User();
+        user.setId(state.getUserId());
+        user.setEmail(claims.getSubject());
+        user.setRole(Role.valueOf(role.toString()));
+        user.setTokenVersion(version);
+        return new UserPrincipal(user);
+    }
 }
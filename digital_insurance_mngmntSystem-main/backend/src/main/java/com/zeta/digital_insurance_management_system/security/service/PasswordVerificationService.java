@@ -0,0 +1,121 @@
+package com.zeta.digital_insurance_management_system.security.service;
+
+import com.zeta.digital_insurance_management_system.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Runs password hash checks on a small dedicated pool so that a burst of logins queues up behind a
+// fixed number of hashing threads instead of occupying every request thread. When the queue is full
+// the login is rejected straight away rather than waiting.
+@Service
+public class PasswordVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerificationService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordVerificationService(PasswordEncoder passwordEncoder,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${security.login.hash-threads:0}") int threads,
+                                       @Value("${security.login.queue-capacity:64}") int queueCapacity,
+                                       @Value("${security.login.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("auth.login.hash").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.login.hash.queue.wait").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.login.rejected").register(meterRegistry);
+        Gauge.builder("auth.login.hash.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.login.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            logger.warn("Password verification queue is full, rejecting login");
+            throw new LoginThrottledException("Too many login attempts, please try again shortly");
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejectedCounter.increment();
+            logger.warn("Password verification timed out after {} ms", timeoutMillis);
+            throw new LoginThrottledException("Too many login attempts, please try again shortly");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginThrottledException("Login was interrupted, please try again");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    // Re-encodes a just verified password with the current work factor in the background. The upgrade
+    // is skipped when the pool is busy; it will be retried on the next login.
+    public void rehashAsync(String rawPassword, Consumer<String> onRehashed) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onRehashed.accept(passwordEncoder.encode(rawPassword));
+                } catch (RuntimeException e) {
+                    logger.error("Password rehash failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Password hash pool busy, postponing rehash");
+        }
+    }
+
+    public void recordLogin(String outcome, long startNanos) {
+        meterRegistry.timer("auth.login", "outcome", outcome)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
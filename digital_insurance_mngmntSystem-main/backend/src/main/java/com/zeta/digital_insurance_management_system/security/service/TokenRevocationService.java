@@ -0,0 +1,147 @@
+package com.zeta.digital_insurance_management_system.security.service;
+
+import com.zeta.digital_insurance_management_system.model.RevokedToken;
+import com.zeta.digital_insurance_management_system.repository.RevokedTokenRepository;
+import com.zeta.digital_insurance_management_system.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Deny list of revoked token ids (jti). Revocations are stored in the database so they survive a
+// restart and reach the other instances, but request checks only look at memory: a Bloom filter
+// answers "not revoked" for almost every token, and only possible hits are confirmed against the
+// set of ids. Entries are dropped once the token would have expired anyway.
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final int initialCapacity;
+    private volatile BloomFilter filter;
+    private volatile int filterCapacity;
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${security.jwt.revocation.expected-entries:10000}") int initialCapacity) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.initialCapacity = Math.max(1, initialCapacity);
+        this.filterCapacity = this.initialCapacity;
+        this.filter = new BloomFilter(filterCapacity, FALSE_POSITIVE_RATE);
+    }
+
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            remember(token.getJti(), toMillis(token.getExpiresAt()));
+        }
+        lastSync = now;
+        logger.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    // Returns false when the token was already revoked, which lets one-time tokens be consumed safely.
+    // The in-memory set only catches repeats on this instance; the database insert is what decides
+    // across instances, since a second insert of the same jti violates the primary key. When the insert
+    // fails for any other reason the id is taken out of the set again, so the caller can retry; the Bloom
+    // filter keeps it, which only costs a set lookup.
+    public boolean revoke(String jti, Long userId, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return false;
+        }
+        if (revoked.putIfAbsent(jti, expiresAt.getTime()) != null) {
+            return false;
+        }
+        addToFilter(jti);
+        try {
+            revokedTokenRepository.insert(jti, userId, LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()),
+                    LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Token {} was already revoked on another instance", jti);
+            return false;
+        } catch (RuntimeException e) {
+            revoked.remove(jti, expiresAt.getTime());
+            throw e;
+        }
+        logger.info("Revoked token {} for userId: {}", jti, userId);
+        return true;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Picks up revocations made on other instances.
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.sync-ms:10000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync == null ? now : lastSync.minusSeconds(SYNC_OVERLAP_SECONDS);
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtAfter(since)) {
+            remember(token.getJti(), toMillis(token.getExpiresAt()));
+        }
+        lastSync = now;
+    }
+
+    // Bloom filters cannot forget, so expired ids are removed by rebuilding the filter from the set.
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.purge-ms:3600000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        rebuild(Math.max(initialCapacity, revoked.size() * 2));
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        logger.debug("Purged {} expired revocations from memory and {} from the database", before - revoked.size(), deleted);
+    }
+
+    private void remember(String jti, long expiresAt) {
+        if (expiresAt > System.currentTimeMillis() && revoked.putIfAbsent(jti, expiresAt) == null) {
+            addToFilter(jti);
+        }
+    }
+
+    // The id is already in the set when this runs. If a rebuild swaps the filter meanwhile, either the
+    // re-check below or the rebuild's second pass adds it to the new filter.
+    private void addToFilter(String jti) {
+        if (revoked.size() > filterCapacity) {
+            rebuild(filterCapacity * 2);
+            return;
+        }
+        BloomFilter current = filter;
+        current.put(jti);
+        if (current != filter) {
+            filter.put(jti);
+        }
+    }
+
+    private synchronized void rebuild(int capacity) {
+        BloomFilter replacement = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(replacement::put);
+        filterCapacity = capacity;
+        filter = replacement;
+        revoked.keySet().forEach(replacement::put);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
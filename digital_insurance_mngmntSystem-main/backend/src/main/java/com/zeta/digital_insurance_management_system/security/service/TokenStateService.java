@@ -0,0 +1,83 @@
+package com.zeta.digital_insurance_management_system.security.service;
+
+import com.zeta.digital_insurance_management_system.dto.auth.TokenState;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory view of each user's current role and token version. Tokens carry both values, so a
+// token whose role or version no longer matches has been revoked. The database is only read on
+// a cache miss and by the background refresh.
+@Service
+public class TokenStateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenStateService.class);
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<Long, TokenState> states = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public TokenStateService(UserRepository userRepository,
+                             @Value("${security.jwt.stateless.max-entries:50000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    public TokenState getTokenState(Long userId) {
+        TokenState state = states.get(userId);
+        if (state != null) {
+            return state;
+        }
+        state = userRepository.findTokenStateById(userId).orElse(null);
+        if (state == null) {
+            logger.warn("No token state found for userId: {}", userId);
+            return null;
+        }
+        if (states.size() >= maxEntries) {
+            states.clear();
+        }
+        states.put(userId, state);
+        return state;
+    }
+
+    @Transactional
+    public void revokeTokens(Long userId) {
+        logger.info("Revoking all tokens for userId: {}", userId);
+        userRepository.incrementTokenVersion(userId);
+        states.remove(userId);
+    }
+
+    public void evict(Long userId) {
+        states.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.stateless.refresh-ms:30000}")
+    public void refresh() {
+        if (states.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(states.keySet());
+        for (int from = 0; from < userIds.size(); from += REFRESH_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + REFRESH_BATCH_SIZE, userIds.size()));
+            Set<Long> missing = new HashSet<>(batch);
+            for (TokenState state : userRepository.findTokenStatesByIdIn(batch)) {
+                states.put(state.getUserId(), state);
+                missing.remove(state.getUserId());
+            }
+            missing.forEach(states::remove);
+        }
+        logger.debug("Refreshed token state for {} users", userIds.size());
+    }
+}
@@ -0,0 +1,183 @@
+package com.zeta.digital_insurance_management_system.service.PolicyPurchaseService;
+
+import com.zeta.digital_insurance_management_system.dto.purchase.CheckoutItemResultDTO;
+import com.zeta.digital_insurance_management_system.dto.purchase.CheckoutResultDTO;
+import com.zeta.digital_insurance_management_system.enums.CheckoutItemStatus;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyRecommendationEngine;
+import com.zeta.digital_insurance_management_system.util.JdbcKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+
+// Buys several policies for one user in a single request. The policies are loaded with one
+// findAllById and the user's existing purchases among them with one query; the remaining items are
+// inserted with one JDBC batch in one transaction, so either all of them are bought or none.
+// Unknown, repeated and already owned policies are reported per item and skipped.
+@Service
+public class PolicyCheckoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyCheckoutService.class);
+
+    private static final String INSERT_SQL = "insert into user_policy (user_id, policy_id, start_date, end_date, status, "
+            + "premium_paid) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PolicyRepository policyRepository;
+    private final UserPolicyRepository userPolicyRepository;
+    private final PolicyPopularityTracker popularityTracker;
+    private final PolicyRecommendationEngine recommendationEngine;
+    private final PolicyExpiryIndex expiryIndex;
+    private final int maxItems;
+
+    public PolicyCheckoutService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 PolicyRepository policyRepository,
+                                 UserPolicyRepository userPolicyRepository,
+                                 PolicyPopularityTracker popularityTracker,
+                                 PolicyRecommendationEngine recommendationEngine,
+                                 PolicyExpiryIndex expiryIndex,
+                                 @Value("${user.policy.checkout.max-items:20}") int maxItems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.policyRepository = policyRepository;
+        this.userPolicyRepository = userPolicyRepository;
+        this.popularityTracker = popularityTracker;
+        this.recommendationEngine = recommendationEngine;
+        this.expiryIndex = expiryIndex;
+        this.maxItems = maxItems;
+    }
+
+    public CheckoutResultDTO checkout(Long userId, List<Long> policyIds) {
+        if (policyIds == null || policyIds.isEmpty()) {
+            throw new IllegalArgumentFoundException("No policies to check out");
+        }
+        if (policyIds.size() > maxItems) {
+            throw new IllegalArgumentFoundException("A checkout may contain at most " + maxItems + " policies");
+        }
+        logger.info("Checking out {} policies for user ID {}", policyIds.size(), userId);
+
+        Set<Long> distinct = new HashSet<>(policyIds);
+        distinct.remove(null);
+        Map<Long, Policy> policies = new HashMap<>();
+        for (Policy policy : policyRepository.findAllById(distinct)) {
+            policies.put(policy.getId(), policy);
+        }
+        Set<Long> owned = policies.isEmpty() ? Set.of() : new HashSet<>(userPolicyRepository.findOwnedPolicyIds(userId, policies.keySet()));
+
+        CheckoutItemResultDTO[] items = new CheckoutItemResultDTO[policyIds.size()];
+        List<Integer> toBuy = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < policyIds.size(); i++) {
+            Long policyId = policyIds.get(i);
+            if (policyId == null || !policies.containsKey(policyId)) {
+                items[i] = skipped(i, policyId, CheckoutItemStatus.NOT_FOUND, "Policy not found");
+            } else if (!seen.add(policyId)) {
+                items[i] = skipped(i, policyId, CheckoutItemStatus.DUPLICATE, "Policy is already in this checkout");
+            } else if (owned.contains(policyId)) {
+                items[i] = skipped(i, policyId, CheckoutItemStatus.ALREADY_PURCHASED, "User has already purchased this policy.");
+            } else {
+                toBuy.add(i);
+            }
+        }
+
+        // A concurrent purchase of one of the items makes the unique constraint reject the batch; the
+        // transaction rolls back, those items are marked as owned, and the rest are tried again.
+        while (!toBuy.isEmpty()) {
+            try {
+                insert(userId, policyIds, policies, toBuy, items);
+                break;
+            } catch (DataIntegrityViolationException e) {
+                List<Long> pending = toBuy.stream().map(policyIds::get).toList();
+                Set<Long> nowOwned = new HashSet<>(userPolicyRepository.findOwnedPolicyIds(userId, pending));
+                if (nowOwned.isEmpty()) {
+                    logger.error("User with ID {} not found", userId);
+                    throw new ResourceNotFoundException("User with ID " + userId + " not found");
+                }
+                logger.warn("Policies {} were bought concurrently by user ID {}, retrying the rest", nowOwned, userId);
+                toBuy = new ArrayList<>(toBuy);
+                toBuy.removeIf(index -> {
+                    if (nowOwned.contains(policyIds.get(index))) {
+                        items[index] = skipped(index, policyIds.get(index), CheckoutItemStatus.ALREADY_PURCHASED,
+                                "User has already purchased this policy.");
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+
+        BigDecimal totalPremium = BigDecimal.ZERO;
+        for (int index : toBuy) {
+            Long policyId = policyIds.get(index);
+            totalPremium = totalPremium.add(Objects.requireNonNullElse(items[index].getPremiumPaid(), BigDecimal.ZERO));
+            popularityTracker.recordPurchase(policyId);
+            recommendationEngine.recordPurchase(userId, policyId);
+        }
+        logger.info("Checkout for user ID {} bought {} of {} policies", userId, toBuy.size(), policyIds.size());
+        return new CheckoutResultDTO(toBuy.size(), policyIds.size() - toBuy.size(), totalPremium, Arrays.asList(items));
+    }
+
+    private void insert(Long userId, List<Long> policyIds, Map<Long, Policy> policies, List<Integer> toBuy,
+                        CheckoutItemResultDTO[] items) {
+        LocalDate startDate = LocalDate.now();
+        List<Policy> bought = toBuy.stream().map(index -> policies.get(policyIds.get(index))).toList();
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Policy policy = bought.get(i);
+                        statement.setLong(1, userId);
+                        statement.setLong(2, policy.getId());
+                        statement.setDate(3, Date.valueOf(startDate));
+                        statement.setDate(4, Date.valueOf(startDate.plusMonths(policy.getDurationMonths())));
+                        statement.setString(5, PolicyStatus.ACTIVE.name());
+                        statement.setBigDecimal(6, policy.getPremiumAmount());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bought.size();
+                    }
+                }, keyHolder));
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int j = 0; j < toBuy.size(); j++) {
+            int index = toBuy.get(j);
+            Long id = j < keys.size() ? JdbcKeys.generatedId(keys.get(j)) : null;
+            if (id != null) {
+                expiryIndex.add(id, startDate.plusMonths(bought.get(j).getDurationMonths()));
+            }
+            items[index] = new CheckoutItemResultDTO(index, policyIds.get(index), CheckoutItemStatus.PURCHASED, id,
+                    bought.get(j).getPremiumAmount(), null);
+        }
+    }
+
+    private static CheckoutItemResultDTO skipped(int index, Long policyId, CheckoutItemStatus status, String message) {
+        return new CheckoutItemResultDTO(index, policyId, status, null, null, message);
+    }
+}
@@ -0,0 +1,113 @@
+package com.zeta.digital_insurance_management_system.service.PolicyPurchaseService;
+
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Remembers which purchase an Idempotency-Key produced so a retried request gets the same purchase
+// back instead of a duplicate or an "already purchased" error. Keys are scoped to the user. A request
+// that arrives while the first one with its key is still running waits for it. Only the purchase id
+// is kept; replays read the row again. Failed purchases are not remembered, so they can be retried.
+@Service
+public class PurchaseIdempotencyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PurchaseIdempotencyCache.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final UserPolicyRepository userPolicyRepository;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public PurchaseIdempotencyCache(UserPolicyRepository userPolicyRepository,
+                                    @Value("${user.policy.purchase.idempotency-ttl-seconds:86400}") long ttlSeconds,
+                                    @Value("${user.policy.purchase.idempotency-max-keys:100000}") int maxEntries) {
+        this.userPolicyRepository = userPolicyRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public UserPolicy execute(Long userId, String idempotencyKey, Long policyId, Supplier<UserPolicy> purchase) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentFoundException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = userId + ":" + idempotencyKey;
+        Entry entry = new Entry(policyId, new CompletableFuture<>(), System.currentTimeMillis() + ttlMillis);
+        Entry existing = claim(key, entry);
+        if (existing != null) {
+            return replay(existing, policyId, idempotencyKey);
+        }
+
+        UserPolicy result;
+        try {
+            result = purchase.get();
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.userPolicyId().completeExceptionally(e);
+            throw e;
+        }
+        entry.userPolicyId().complete(result.getId());
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${user.policy.purchase.idempotency-purge-ms:60000}", initialDelayString = "${user.policy.purchase.idempotency-purge-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now && entry.userPolicyId().isDone());
+    }
+
+    // Returns the live entry already holding the key, or null once the key is ours. A full cache
+    // still runs the purchase, just without replay protection.
+    private Entry claim(String key, Entry entry) {
+        if (entries.size() >= maxEntries) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                logger.warn("Idempotency cache is full ({} keys), purchase runs without replay protection", maxEntries);
+                return null;
+            }
+        }
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                return null;
+            }
+            if (existing.expiresAt() > System.currentTimeMillis() || !existing.userPolicyId().isDone()) {
+                return existing;
+            }
+            entries.remove(key, existing);
+        }
+    }
+
+    private UserPolicy replay(Entry existing, Long policyId, String idempotencyKey) {
+        if (!existing.policyId().equals(policyId)) {
+            throw new IllegalArgumentFoundException("Idempotency-Key was already used for a different policy");
+        }
+        Long userPolicyId;
+        try {
+            userPolicyId = existing.userPolicyId().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        logger.info("Replaying purchase {} for Idempotency-Key {}", userPolicyId, idempotencyKey);
+        return userPolicyRepository.findById(userPolicyId)
+                .orElseThrow(() -> new ResourceNotFoundException("User policy with ID " + userPolicyId + " not found"));
+    }
+
+    private record Entry(Long policyId, CompletableFuture<Long> userPolicyId, long expiresAt) {
+    }
+}
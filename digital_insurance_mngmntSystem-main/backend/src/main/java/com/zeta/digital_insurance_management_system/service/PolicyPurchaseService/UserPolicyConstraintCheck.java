@@ -0,0 +1,67 @@
+package com.zeta.digital_insurance_management_system.service.PolicyPurchaseService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Purchase and checkout insert without looking for an existing purchase first and rely on
+// uk_user_policy_user_policy to reject a second purchase of the same policy. ddl-auto=update only logs
+// and skips adding that constraint when existing rows already hold duplicates, so startup fails here
+// rather than letting every repeat purchase through.
+@Component
+public class UserPolicyConstraintCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPolicyConstraintCheck.class);
+
+    private static final String TABLE = "user_policy";
+    private static final Set<String> COLUMNS = Set.of("user_id", "policy_id");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserPolicyConstraintCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        Boolean present = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> hasUniqueIndex(connection, TABLE, COLUMNS));
+        if (!Boolean.TRUE.equals(present)) {
+            logger.error("No unique index on user_policy (user_id, policy_id); remove duplicate purchases so it can be created");
+            throw new IllegalStateException("user_policy is missing the unique constraint uk_user_policy_user_policy "
+                    + "on (user_id, policy_id)");
+        }
+    }
+
+    // Whether a unique index covers exactly the given columns. Unique constraints are reported as unique
+    // indexes, under a driver-specific name, so the columns are compared rather than the name.
+    public static boolean hasUniqueIndex(Connection connection, String table, Set<String> columns) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Unquoted identifiers are stored upper case by some databases (H2) and as written by others (MySQL).
+        for (String name : new LinkedHashSet<>(List.of(table, table.toUpperCase(Locale.ROOT)))) {
+            Map<String, Set<String>> columnsByIndex = new HashMap<>();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), name, true, false)) {
+                while (indexes.next()) {
+                    String index = indexes.getString("INDEX_NAME");
+                    String column = indexes.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        columnsByIndex.computeIfAbsent(index, key -> new HashSet<>()).add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (columnsByIndex.containsValue(columns)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.zeta.digital_insurance_management_system.service.PolicyPurchaseService;
 
+import com.zeta.digital_insurance_management_system.dto.purchase.UserPolicySummaryDTO;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
 import com.zeta.digital_insurance_management_system.model.UserPolicy;
 
@@ -7,6 +8,7 @@ import java.util.List;
 
 public interface UserPolicyPurchase {
     UserPolicy purchaseAPolicy(Long policyId, Long userId);
-    List<UserPolicy> getPurchasedPolicies(Long userId);
+    UserPolicy purchaseAPolicy(Long policyId, Long userId, String idempotencyKey);
+    List<UserPolicySummaryDTO> getPurchasedPolicies(Long userId, PolicyStatus status, Integer page, Integer size);
     UserPolicy updatePolicy(Long policyId, Long userId, PolicyStatus status);
 }
@@ -1,6 +1,8 @@
 package com.zeta.digital_insurance_management_system.service.PolicyPurchaseService;
 
+import com.zeta.digital_insurance_management_system.dto.purchase.UserPolicySummaryDTO;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
 import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
 import com.zeta.digital_insurance_management_system.model.Policy;
 import com.zeta.digital_insurance_management_system.model.User;
@@ -8,12 +10,17 @@ import com.zeta.digital_insurance_management_system.model.UserPolicy;
 import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
 import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
 import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyRecommendationEngine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,20 +29,40 @@ import org.slf4j.LoggerFactory;
 public class UserPolicyPurchaseImpl implements UserPolicyPurchase{
     private static final Logger logger = LoggerFactory.getLogger(UserPolicyPurchaseImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired PolicyRepository policyRepository;
     @Autowired UserPolicyRepository userPolicyRepository;
     @Autowired
     UserRepository userRepository;
+    @Autowired
+    PolicyPopularityTracker popularityTracker;
+    @Autowired
+    PolicyRecommendationEngine recommendationEngine;
+    @Autowired
+    PurchaseIdempotencyCache idempotencyCache;
+    @Autowired
+    PolicyExpiryIndex expiryIndex;
 
     @Override
     public UserPolicy purchaseAPolicy(Long policyId, Long  userId) {
-        logger.info("Attempting to purchase policy with ID {} for user ID {}", policyId, userId);
+        return purchaseAPolicy(policyId, userId, null);
+    }
 
-        Optional<UserPolicy> existingPolicyOpt = userPolicyRepository.findByUserIdAndPolicyId(userId, policyId);
-        if (existingPolicyOpt.isPresent()) {
-            logger.warn("User ID {} already has policy ID {}", userId, policyId);
-            throw new ResourceNotFoundException("User has already purchased this policy.");
+    // With an idempotency key, a retry of a completed purchase returns that purchase again.
+    @Override
+    public UserPolicy purchaseAPolicy(Long policyId, Long userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return purchase(policyId, userId);
         }
+        return idempotencyCache.execute(userId, idempotencyKey, policyId, () -> purchase(policyId, userId));
+    }
+
+    // The unique (user_id, policy_id) constraint rejects duplicates, so there is no check before the
+    // insert for concurrent requests to race past; UserPolicyConstraintCheck stops startup without it. The user is only referenced, never loaded; the
+    // cause of a rejected insert is looked up on that failure path only.
+    private UserPolicy purchase(Long policyId, Long userId) {
+        logger.info("Attempting to purchase policy with ID {} for user ID {}", policyId, userId);
 
         Policy policy = policyRepository.findById(policyId)
                 .orElseThrow(() -> {
@@ -43,35 +70,52 @@ public class UserPolicyPurchaseImpl implements UserPolicyPurchase{
                     return new ResourceNotFoundException("Policy with ID " + policyId + " not found");
                 });
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.error("User with ID {} not found", userId);
-                    return new ResourceNotFoundException("User with ID " + userId + " not found");
-                });
-
         UserPolicy userPolicy = new UserPolicy();
         userPolicy.setPolicy(policy);
-        userPolicy.setUser(user);
+        userPolicy.setUser(userRepository.getReferenceById(userId));
         LocalDate startDate = LocalDate.now();
         userPolicy.setStartDate(startDate);
         userPolicy.setEndDate(userPolicy.getStartDate().plusMonths(policy.getDurationMonths()));
         userPolicy.setStatus(PolicyStatus.ACTIVE);
         userPolicy.setPremiumPaid(policy.getPremiumAmount());
 
+        UserPolicy saved;
+        try {
+            saved = userPolicyRepository.saveAndFlush(userPolicy);
+        } catch (DataIntegrityViolationException e) {
+            if (userPolicyRepository.existsByUserIdAndPolicyId(userId, policyId)) {
+                logger.warn("User ID {} already has policy ID {}", userId, policyId);
+                throw new ResourceNotFoundException("User has already purchased this policy.");
+            }
+            logger.error("User with ID {} not found", userId);
+            throw new ResourceNotFoundException("User with ID " + userId + " not found");
+        }
+        popularityTracker.recordPurchase(policyId);
+        recommendationEngine.recordPurchase(userId, policyId);
+        expiryIndex.add(saved.getId(), saved.getEndDate());
         logger.info("Successfully created UserPolicy for user ID {} with policy ID {}", userId, policyId);
-        return userPolicyRepository.save(userPolicy);
+        return saved;
     }
 
     @Override
-    public List<UserPolicy> getPurchasedPolicies(Long userId) {
-        logger.info("Fetching purchased policies for user ID {}", userId);
+    // The caller is the authenticated user, so the user row is not looked up again; a single projection
+    // query returns the purchases. Without page and size every purchase is returned, as before.
+    public List<UserPolicySummaryDTO> getPurchasedPolicies(Long userId, PolicyStatus status, Integer page, Integer size) {
+        logger.info("Fetching purchased policies for user ID {} (status {}, page {}, size {})", userId, status, page, size);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.error("User with ID {} not found", userId);
-                    return new ResourceNotFoundException("User with ID " + userId + " not found");
-                });
-        return userPolicyRepository.findByUserId(userId);
+        return userPolicyRepository.findSummariesByUserId(userId, status, pageable(page, size)).getContent();
+    }
+
+    private static Pageable pageable(Integer page, Integer size) {
+        if (page == null && size == null) {
+            return Pageable.unpaged();
+        }
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? MAX_PAGE_SIZE : size;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentFoundException("page must be at least 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(pageNumber, pageSize);
     }
 
     @Override
@@ -84,6 +128,7 @@ public class UserPolicyPurchaseImpl implements UserPolicyPurchase{
                     return new ResourceNotFoundException("User policy with ID " + policyId + " not found");
                 });
 
+        LocalDate indexedEndDate = PolicyExpiryIndex.indexedEndDate(userPolicy);
         userPolicy.setStatus(status);
 
         if (status == PolicyStatus.CANCELLED) {
@@ -95,6 +140,8 @@ public class UserPolicyPurchaseImpl implements UserPolicyPurchase{
             userPolicy.setEndDate(newEndDate);
             logger.info("Policy ID {} for user ID {} renewed until {}", policyId, userId, newEndDate);
         }
-        return userPolicyRepository.save(userPolicy);
+        UserPolicy saved = userPolicyRepository.save(userPolicy);
+        expiryIndex.move(saved.getId(), indexedEndDate, PolicyExpiryIndex.indexedEndDate(saved));
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,434 @@
+package com.zeta.digital_insurance_management_system.service.PolicyRenewal;
+
+import com.zeta.digital_insurance_management_system.dto.renew.AutoRenewalRunDTO;
+import com.zeta.digital_insurance_management_system.enums.AutoRenewalRunStatus;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
+import com.zeta.digital_insurance_management_system.model.AutoRenewalRun;
+import com.zeta.digital_insurance_management_system.repository.AutoRenewalRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Renews the user policies whose owners opted in to auto-renewal: in-force policies whose cover ends on
+// or before the run date and EXPIRED policies get the policy's renewal premium and a new term starting
+// on the run date. Unlike a manual renewal it does not renew early within the renewal window, which
+// would shorten the paid term and could renew short policies again the next night. The coordinator reads opted-in rows in
+// keyset-paged chunks and hands each chunk to a worker pool, which renews it with one JDBC batch in
+// one transaction. The update repeats the status and end date that were read, so a policy renewed or
+// cancelled in the meantime is skipped. The run's checkpoint and counts only move past a chunk once
+// every earlier chunk has committed too, so an interrupted run resumes from it without renewing or
+// counting twice. Runs are claimed in the database rather than in memory: each execution holds a
+// lease on its auto_renewal_run row that it renews as it goes, only one run can be RUNNING at a time,
+// and another instance only takes a run over once its lease has expired.
+@Service
+public class AutoRenewalEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutoRenewalEngine.class);
+
+    private static final String SELECT_CHUNK_SQL = "select ar.user_policy_id, up.status, up.end_date, p.renewal_premium_rate, "
+            + "p.duration_months from auto_renewal ar join user_policy up on up.id = ar.user_policy_id "
+            + "join policy p on p.id = up.policy_id "
+            + "where ar.user_policy_id > ? and ((up." + PolicyExpiryIndex.IN_FORCE_SQL + " and up.end_date <= ?) "
+            + "or up.status = 'EXPIRED') "
+            + "and p.renewal_premium_rate is not null and p.duration_months is not null "
+            + "order by ar.user_policy_id limit ?";
+    private static final String RENEW_SQL = "update user_policy set premium_paid = ?, start_date = ?, end_date = ?, "
+            + "status = 'ACTIVE' where id = ? and status = ? and end_date = ?";
+    private static final String CLAIM_SQL = "update auto_renewal_run set status = 'RUNNING', owner = ?, heartbeat = ?, "
+            + "lock_key = ?, finished_at = null, message = null where id = ? "
+            + "and (status = 'FAILED' or (status = 'RUNNING' and (heartbeat is null or heartbeat < ?)))";
+    private static final String HEARTBEAT_SQL = "update auto_renewal_run set heartbeat = ? where id = ? and owner = ?";
+    private static final String CHECKPOINT_SQL = "update auto_renewal_run set checkpoint_id = ?, renewed = ?, skipped = ?, "
+            + "rows_per_second = ?, heartbeat = ? where id = ? and owner = ?";
+    private static final String FINISH_SQL = "update auto_renewal_run set status = ?, rows_per_second = ?, finished_at = ?, "
+            + "message = ?, lock_key = null where id = ? and owner = ?";
+    private static final String LOCK_KEY = "auto-renewal";
+    private static final RowMapper<Row> ROW_MAPPER = (resultSet, rowNum) -> new Row(resultSet.getLong(1),
+            resultSet.getString(2), resultSet.getDate(3).toLocalDate(), resultSet.getBigDecimal(4), resultSet.getInt(5));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AutoRenewalRunRepository runRepository;
+    private final PolicyExpiryIndex expiryIndex;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final long leaseSeconds;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final Counter renewedCounter;
+    private final Timer chunkTimer;
+    private volatile double rowsPerSecond;
+
+    public AutoRenewalEngine(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             AutoRenewalRunRepository runRepository,
+                             PolicyExpiryIndex expiryIndex,
+                             MeterRegistry meterRegistry,
+                             @Value("${policy.auto-renewal.chunk-size:1000}") int chunkSize,
+                             @Value("${policy.auto-renewal.threads:0}") int threads,
+                             @Value("${policy.auto-renewal.lease-seconds:300}") long leaseSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.runRepository = runRepository;
+        this.expiryIndex = expiryIndex;
+        this.chunkSize = Math.max(1, chunkSize);
+        int workerThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Two chunks per worker keeps the pool busy while the coordinator reads the next chunk.
+        this.maxInFlight = workerThreads * 2;
+        this.leaseSeconds = leaseSeconds;
+        this.coordinator = Executors.newSingleThreadExecutor(daemonThreads("auto-renewal"));
+        this.workers = Executors.newFixedThreadPool(workerThreads, daemonThreads("auto-renewal-worker"));
+        this.renewedCounter = Counter.builder("policy.auto-renewal.renewed").register(meterRegistry);
+        this.chunkTimer = Timer.builder("policy.auto-renewal.chunk").register(meterRegistry);
+        Gauge.builder("policy.auto-renewal.rows-per-second", this, engine -> engine.rowsPerSecond).register(meterRegistry);
+    }
+
+    // Starts a run for today in the background.
+    public AutoRenewalRunDTO start() {
+        AutoRenewalRun run = begin(LocalDate.now());
+        coordinator.execute(() -> execute(run));
+        return toDTO(run);
+    }
+
+    // Continues an interrupted or failed run from its checkpoint in the background.
+    public AutoRenewalRunDTO resume(Long runId) {
+        AutoRenewalRun run = reopen(runId);
+        coordinator.execute(() -> execute(run));
+        return toDTO(run);
+    }
+
+    public AutoRenewalRunDTO runNow(LocalDate runDate) {
+        return execute(begin(runDate));
+    }
+
+    public AutoRenewalRunDTO resumeNow(Long runId) {
+        return execute(reopen(runId));
+    }
+
+    public AutoRenewalRunDTO getRun(Long runId) {
+        return toDTO(runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Auto-renewal run not found: " + runId)));
+    }
+
+    // Every instance fires the cron; the first one to claim the run lock starts today's run and the
+    // others skip, as do instances whose clock fires after that run has already completed.
+    @Scheduled(cron = "${policy.auto-renewal.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        LocalDate today = LocalDate.now();
+        if (runRepository.existsByRunDateAndStatus(today, AutoRenewalRunStatus.COMPLETED)) {
+            logger.info("Skipping scheduled auto-renewal run: the run for {} has already completed", today);
+            return;
+        }
+        try {
+            start();
+        } catch (IllegalArgumentFoundException e) {
+            logger.info("Skipping scheduled auto-renewal run: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        resumeExpired();
+    }
+
+    // A run still marked RUNNING whose lease has expired was cut off by a shutdown or a crash, so it is
+    // picked up again. A run whose owner is still renewing its lease is left alone.
+    @Scheduled(fixedDelayString = "${policy.auto-renewal.lease-seconds:300}",
+            initialDelayString = "${policy.auto-renewal.lease-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void resumeExpired() {
+        runRepository.findFirstByStatusOrderByIdDesc(AutoRenewalRunStatus.RUNNING).ifPresent(run -> {
+            try {
+                resume(run.getId());
+                logger.info("Resuming auto-renewal run {} after user policy ID {}", run.getId(), run.getCheckpointId());
+            } catch (IllegalArgumentFoundException e) {
+                logger.debug("Not resuming auto-renewal run {}: {}", run.getId(), e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // The unique lock key makes the insert fail while any other run is RUNNING, on any instance.
+    private AutoRenewalRun begin(LocalDate runDate) {
+        LocalDateTime now = LocalDateTime.now();
+        AutoRenewalRun run = new AutoRenewalRun();
+        run.setRunDate(runDate);
+        run.setStatus(AutoRenewalRunStatus.RUNNING);
+        run.setStartedAt(now);
+        run.setOwner(UUID.randomUUID().toString());
+        run.setHeartbeat(now);
+        run.setLockKey(LOCK_KEY);
+        try {
+            return runRepository.save(run);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentFoundException("An auto-renewal run is already in progress");
+        }
+    }
+
+    // Takes over a FAILED run, or a RUNNING one whose lease has expired, with a single conditional
+    // update, so two instances cannot both resume it.
+    private AutoRenewalRun reopen(Long runId) {
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        int claimed;
+        try {
+            claimed = jdbcTemplate.update(CLAIM_SQL, owner, Timestamp.valueOf(now), LOCK_KEY, runId,
+                    Timestamp.valueOf(now.minusSeconds(leaseSeconds)));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentFoundException("An auto-renewal run is already in progress");
+        }
+        AutoRenewalRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Auto-renewal run not found: " + runId));
+        if (claimed == 0) {
+            if (run.getStatus() == AutoRenewalRunStatus.COMPLETED) {
+                throw new IllegalArgumentFoundException("Auto-renewal run " + runId + " has already completed");
+            }
+            throw new IllegalArgumentFoundException("Auto-renewal run " + runId + " is still running");
+        }
+        return run;
+    }
+
+    private AutoRenewalRunDTO execute(AutoRenewalRun run) {
+        Progress progress = new Progress(run);
+        try {
+            read(run, progress);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.fail(e);
+        } catch (RuntimeException e) {
+            progress.fail(e);
+        } finally {
+            progress.inFlight.acquireUninterruptibly(maxInFlight);
+            progress.inFlight.release(maxInFlight);
+        }
+
+        synchronized (progress) {
+            rowsPerSecond = progress.rate();
+            run.setRowsPerSecond(rowsPerSecond);
+            run.setFinishedAt(LocalDateTime.now());
+            run.setLockKey(null);
+            if (progress.failure == null) {
+                run.setStatus(AutoRenewalRunStatus.COMPLETED);
+                logger.info("Auto-renewal run {} completed: {} renewed, {} skipped, {} rows/s",
+                        run.getId(), run.getRenewed(), run.getSkipped(), Math.round(rowsPerSecond));
+            } else {
+                run.setStatus(AutoRenewalRunStatus.FAILED);
+                String message = String.valueOf(progress.failure.getMessage());
+                run.setMessage(message.length() > 500 ? message.substring(0, 500) : message);
+                logger.error("Auto-renewal run {} failed after user policy ID {}", run.getId(), run.getCheckpointId(),
+                        progress.failure);
+            }
+            int updated = jdbcTemplate.update(FINISH_SQL, run.getStatus().name(), rowsPerSecond,
+                    Timestamp.valueOf(run.getFinishedAt()), run.getMessage(), run.getId(), run.getOwner());
+            if (updated == 0) {
+                logger.warn("Auto-renewal run {} was taken over by another instance, its result is not recorded", run.getId());
+            }
+            return toDTO(run);
+        }
+    }
+
+    // Keyset paging on the opted-in ids; renewed rows are no longer due, so the predicate alone would
+    // also terminate, but the cursor keeps each chunk an index range.
+    private void read(AutoRenewalRun run, Progress progress) throws InterruptedException {
+        Date due = Date.valueOf(run.getRunDate());
+        long cursor = run.getCheckpointId();
+        while (!progress.failed()) {
+            renewLease(run);
+            List<Row> rows = jdbcTemplate.query(SELECT_CHUNK_SQL, ROW_MAPPER, cursor, due, chunkSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            cursor = rows.get(rows.size() - 1).id();
+            Chunk chunk = progress.open(cursor);
+            progress.inFlight.acquire();
+            try {
+                workers.execute(() -> work(run.getRunDate(), progress, chunk, rows));
+            } catch (RejectedExecutionException e) {
+                progress.inFlight.release();
+                throw e;
+            }
+            if (rows.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    private void renewLease(AutoRenewalRun run) {
+        if (jdbcTemplate.update(HEARTBEAT_SQL, Timestamp.valueOf(LocalDateTime.now()), run.getId(), run.getOwner()) == 0) {
+            throw new IllegalStateException("Auto-renewal run " + run.getId() + " was taken over by another instance");
+        }
+    }
+
+    private void work(LocalDate runDate, Progress progress, Chunk chunk, List<Row> rows) {
+        try {
+            if (progress.failed()) {
+                return;
+            }
+            long start = System.nanoTime();
+            int renewed = renew(runDate, rows);
+            chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            renewedCounter.increment(renewed);
+            progress.complete(chunk, renewed, rows.size() - renewed);
+        } catch (RuntimeException e) {
+            progress.fail(e);
+        } finally {
+            progress.inFlight.release();
+        }
+    }
+
+    private int renew(LocalDate runDate, List<Row> rows) {
+        LocalDate[] endDates = new LocalDate[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            endDates[i] = runDate.plusMonths(rows.get(i).durationMonths());
+        }
+        int[] results = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(RENEW_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Row row = rows.get(i);
+                statement.setBigDecimal(1, row.renewalPremiumRate());
+                statement.setDate(2, Date.valueOf(runDate));
+                statement.setDate(3, Date.valueOf(endDates[i]));
+                statement.setLong(4, row.id());
+                statement.setString(5, row.status());
+                statement.setDate(6, Date.valueOf(row.endDate()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        }));
+
+        int renewed = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            // Drivers that rewrite batches report SUCCESS_NO_INFO, which is counted as renewed.
+            if (results[i] > 0 || results[i] == Statement.SUCCESS_NO_INFO) {
+                Row row = rows.get(i);
+                renewed++;
+                expiryIndex.move(row.id(), PolicyStatus.valueOf(row.status()).isInForce() ? row.endDate() : null, endDates[i]);
+            }
+        }
+        return renewed;
+    }
+
+    private static AutoRenewalRunDTO toDTO(AutoRenewalRun run) {
+        return new AutoRenewalRunDTO(run.getId(), run.getRunDate(), run.getStatus(), run.getRenewed(), run.getSkipped(),
+                run.getCheckpointId(), run.getRowsPerSecond(), run.getStartedAt(), run.getFinishedAt(), run.getMessage());
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Chunks complete out of order; finished ones wait in done until the chunks before them finish.
+    // Their counts join the run together with the checkpoint, so chunks past it are not counted until
+    // they are, and a resumed run that reads them again does not count them twice. Policies a failed
+    // execution renewed past its checkpoint have left the window and are not counted by the run at all;
+    // the policy.auto-renewal.renewed counter still includes them.
+    private final class Progress {
+        private final AutoRenewalRun run;
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final TreeMap<Long, Done> done = new TreeMap<>();
+        private final long startNanos = System.nanoTime();
+        private long processed;
+        private long nextSequence;
+        private long checkpointSequence;
+        private volatile Exception failure;
+
+        private Progress(AutoRenewalRun run) {
+            this.run = run;
+        }
+
+        private synchronized Chunk open(long lastId) {
+            return new Chunk(nextSequence++, lastId);
+        }
+
+        private synchronized void complete(Chunk chunk, int renewed, int skipped) {
+            processed += renewed + skipped;
+            done.put(chunk.sequence(), new Done(chunk.lastId(), renewed, skipped));
+            boolean advanced = false;
+            Done next;
+            while ((next = done.remove(checkpointSequence)) != null) {
+                run.setCheckpointId(next.lastId());
+                run.setRenewed(run.getRenewed() + next.renewed());
+                run.setSkipped(run.getSkipped() + next.skipped());
+                checkpointSequence++;
+                advanced = true;
+            }
+            if (advanced) {
+                rowsPerSecond = rate();
+                run.setRowsPerSecond(rowsPerSecond);
+                int updated = jdbcTemplate.update(CHECKPOINT_SQL, run.getCheckpointId(), run.getRenewed(), run.getSkipped(),
+                        rowsPerSecond, Timestamp.valueOf(LocalDateTime.now()), run.getId(), run.getOwner());
+                if (updated == 0) {
+                    fail(new IllegalStateException("Auto-renewal run " + run.getId() + " was taken over by another instance"));
+                }
+            }
+        }
+
+        private synchronized void fail(Exception e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        private boolean failed() {
+            return failure != null;
+        }
+
+        // Rows handled by this execution per second of its wall-clock time.
+        private double rate() {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            return seconds > 0 ? processed / seconds : 0;
+        }
+    }
+
+    private record Chunk(long sequence, long lastId) {
+    }
+
+    private record Done(long lastId, int renewed, int skipped) {
+    }
+
+    private record Row(long id, String status, LocalDate endDate, BigDecimal renewalPremiumRate, int durationMonths) {
+    }
+}
@@ -8,4 +8,5 @@ import java.util.List;
 public interface IPolicyRenewalService {
     List<RenewablePolicy> getRenewablePolicies(Long userId);
     UserPolicy renewPolicy(Long policyId);
+    void setAutoRenew(Long userPolicyId, Long userId, boolean enabled);
 }
@@ -0,0 +1,252 @@
+package com.zeta.digital_insurance_management_system.service.PolicyRenewal;
+
+import com.zeta.digital_insurance_management_system.dto.renew.ExpiringPoliciesDTO;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Ids of in-force user policies bucketed by the day their cover ends, so "what expires in the next N
+// days" reads N day buckets instead of scanning user_policy. Each bucket is a primitive long array.
+// The index is loaded with one streamed query at startup and on the rebuild interval, which also drops
+// days that have passed; purchases, renewals and status changes update it in between. Changes made
+// while a rebuild is loading are replayed onto the rebuilt index before it is swapped in.
+@Service
+public class PolicyExpiryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyExpiryIndex.class);
+
+    // Statuses a policy is in force with, see PolicyStatus.isInForce; shared with the sweeper and the auto-renewal engine.
+    static final String IN_FORCE_SQL = "status in ('ACTIVE', 'RENEWED')";
+    private static final String LOAD_SQL = "select id, end_date from user_policy where " + IN_FORCE_SQL + " and end_date >= ?";
+    private static final int MAX_DAYS = 366;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer rebuildTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Keyed by epoch day; guarded by lock.
+    private TreeMap<Long, Bucket> buckets = new TreeMap<>();
+    private int size;
+    // Non-null while a rebuild is loading; guarded by lock.
+    private List<Change> missed;
+
+    public PolicyExpiryIndex(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildTimer = Timer.builder("policy.expiry-index.rebuild").register(meterRegistry);
+        Gauge.builder("policy.expiry-index.size", this, PolicyExpiryIndex::size).register(meterRegistry);
+    }
+
+    // The day a user policy is indexed under, or null when it is not in force.
+    public static LocalDate indexedEndDate(UserPolicy userPolicy) {
+        PolicyStatus status = userPolicy.getStatus();
+        return status != null && status.isInForce() ? userPolicy.getEndDate() : null;
+    }
+
+    public void add(Long userPolicyId, LocalDate endDate) {
+        move(userPolicyId, null, endDate);
+    }
+
+    public void remove(Long userPolicyId, LocalDate endDate) {
+        move(userPolicyId, endDate, null);
+    }
+
+    // Moves a policy from one end date to another; null means it was not, or is no longer, active.
+    public void move(Long userPolicyId, LocalDate from, LocalDate to) {
+        if (userPolicyId == null || Objects.equals(from, to)) {
+            return;
+        }
+        Change change = new Change(userPolicyId, from == null ? null : from.toEpochDay(), to == null ? null : to.toEpochDay());
+        lock.writeLock().lock();
+        try {
+            size += apply(buckets, change);
+            if (missed != null) {
+                missed.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // In-force policies whose cover ends between from and from + days, both inclusive.
+    public long[] expiringIds(LocalDate from, int days) {
+        lock.readLock().lock();
+        try {
+            Collection<Bucket> range = range(from, days).values();
+            int total = 0;
+            for (Bucket bucket : range) {
+                total += bucket.size;
+            }
+            long[] ids = new long[total];
+            int offset = 0;
+            for (Bucket bucket : range) {
+                System.arraycopy(bucket.ids, 0, ids, offset, bucket.size);
+                offset += bucket.size;
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Counts per end date for the same range, skipping days on which nothing expires.
+    public ExpiringPoliciesDTO summary(LocalDate from, int days) {
+        Map<LocalDate, Integer> byDay = new LinkedHashMap<>();
+        long total = 0;
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Long, Bucket> entry : range(from, days).entrySet()) {
+                byDay.put(LocalDate.ofEpochDay(entry.getKey()), entry.getValue().size);
+                total += entry.getValue().size;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ExpiringPoliciesDTO(from, from.plusDays(days), total, byDay);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${policy.expiry-index.rebuild-ms:3600000}", initialDelayString = "${policy.expiry-index.rebuild-ms:3600000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            missed = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TreeMap<Long, Bucket> rebuilt = new TreeMap<>();
+        int[] loaded = {0};
+        try {
+            jdbcTemplate.query(LOAD_SQL, resultSet -> {
+                long day = resultSet.getDate(2).toLocalDate().toEpochDay();
+                rebuilt.computeIfAbsent(day, key -> new Bucket()).append(resultSet.getLong(1));
+                loaded[0]++;
+            }, Date.valueOf(LocalDate.now()));
+        } catch (DataAccessException e) {
+            logger.warn("Could not rebuild the policy expiry index, keeping the current one", e);
+            lock.writeLock().lock();
+            try {
+                missed = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            int rebuiltSize = loaded[0];
+            for (Change change : missed) {
+                rebuiltSize += apply(rebuilt, change);
+            }
+            replayed = missed.size();
+            missed = null;
+            buckets = rebuilt;
+            size = rebuiltSize;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        logger.info("Rebuilt policy expiry index with {} policies over {} days ({} changes replayed)",
+                loaded[0], rebuilt.size(), replayed);
+    }
+
+    private SortedMap<Long, Bucket> range(LocalDate from, int days) {
+        if (days < 0 || days > MAX_DAYS) {
+            throw new IllegalArgumentFoundException("days must be between 0 and " + MAX_DAYS);
+        }
+        long first = from.toEpochDay();
+        return buckets.subMap(first, true, first + days, true);
+    }
+
+    // Returns the change in the number of indexed policies. Adding is idempotent so a replayed change
+    // that the rebuild query already saw is not counted twice.
+    private static int apply(TreeMap<Long, Bucket> target, Change change) {
+        int delta = 0;
+        if (change.from() != null) {
+            Bucket bucket = target.get(change.from());
+            if (bucket != null && bucket.remove(change.userPolicyId())) {
+                delta--;
+                if (bucket.size == 0) {
+                    target.remove(change.from());
+                }
+            }
+        }
+        if (change.to() != null && target.computeIfAbsent(change.to(), key -> new Bucket()).add(change.userPolicyId())) {
+            delta++;
+        }
+        return delta;
+    }
+
+    private static final class Bucket {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void append(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        private boolean add(long id) {
+            if (indexOf(id) >= 0) {
+                return false;
+            }
+            append(id);
+            return true;
+        }
+
+        // Order within a day does not matter, so the last id fills the gap.
+        private boolean remove(long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            ids[index] = ids[--size];
+            return true;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private record Change(long userPolicyId, Long from, Long to) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.zeta.digital_insurance_management_system.service.PolicyRenewal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Moves in-force user policies (ACTIVE, or RENEWED by an in-place update) whose end date has passed
+// to EXPIRED, so reads can trust the stored status. Each chunk picks the oldest overdue ids through the (status, end_date) index and flips them
+// with one UPDATE that repeats the status and date predicates, so a policy renewed in between is left
+// alone. Chunks commit on their own and are separated by a pause, and a run stops after a fixed number
+// of chunks so a large backlog is worked off over several runs instead of holding the scheduler.
+@Service
+public class PolicyExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyExpirySweeper.class);
+
+    private static final String SELECT_CHUNK_SQL = "select id from user_policy where " + PolicyExpiryIndex.IN_FORCE_SQL
+            + " and end_date < ? order by end_date limit ?";
+    private static final String EXPIRE_SQL = "update user_policy set status = 'EXPIRED' where " + PolicyExpiryIndex.IN_FORCE_SQL
+            + " and end_date < ? and id in (%s)";
+    private static final String OLDEST_SQL = "select min(end_date) from user_policy where " + PolicyExpiryIndex.IN_FORCE_SQL
+            + " and end_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final int maxChunksPerRun;
+    private final Counter expired;
+    private final Timer sweepTimer;
+    // Days the oldest policy still waiting to be expired is overdue, as of the last run.
+    private final AtomicLong lagDays = new AtomicLong();
+
+    public PolicyExpirySweeper(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${policy.expiry.chunk-size:500}") int chunkSize,
+                               @Value("${policy.expiry.chunk-pause-ms:100}") long chunkPauseMillis,
+                               @Value("${policy.expiry.max-chunks-per-run:20}") int maxChunksPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPauseMillis = chunkPauseMillis;
+        this.maxChunksPerRun = Math.max(1, maxChunksPerRun);
+        this.expired = Counter.builder("policy.expiry.expired").register(meterRegistry);
+        this.sweepTimer = Timer.builder("policy.expiry.sweep").register(meterRegistry);
+        Gauge.builder("policy.expiry.lag.days", lagDays, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${policy.expiry.sweep-ms:60000}", initialDelayString = "${policy.expiry.sweep-ms:60000}")
+    public void sweep() {
+        try {
+            expireBefore(LocalDate.now());
+        } catch (DataAccessException e) {
+            logger.warn("Policy expiry sweep failed, retrying on the next run", e);
+        }
+    }
+
+    // Expires policies that ended before the given day and returns how many were expired.
+    public int expireBefore(LocalDate today) {
+        long start = System.nanoTime();
+        Date cutoff = Date.valueOf(today);
+        int total = 0;
+        int chunks = 0;
+        boolean drained = false;
+        while (chunks < maxChunksPerRun) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_CHUNK_SQL, Long.class, cutoff, chunkSize);
+            if (ids.isEmpty()) {
+                drained = true;
+                break;
+            }
+            List<Object> args = new ArrayList<>(ids.size() + 1);
+            args.add(cutoff);
+            args.addAll(ids);
+            int updated = jdbcTemplate.update(String.format(EXPIRE_SQL, String.join(", ", Collections.nCopies(ids.size(), "?"))),
+                    args.toArray());
+            total += updated;
+            chunks++;
+            expired.increment(updated);
+            if (ids.size() < chunkSize) {
+                drained = true;
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        lagDays.set(drained ? 0 : lag(today, cutoff));
+        sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (total > 0) {
+            logger.info("Expired {} user policies in {} chunks, {} overdue days left", total, chunks, lagDays.get());
+        }
+        return total;
+    }
+
+    private long lag(LocalDate today, Date cutoff) {
+        Date oldest = jdbcTemplate.queryForObject(OLDEST_SQL, Date.class, cutoff);
+        return oldest == null ? 0 : ChronoUnit.DAYS.between(oldest.toLocalDate(), today);
+    }
+
+    private boolean pause() {
+        if (chunkPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
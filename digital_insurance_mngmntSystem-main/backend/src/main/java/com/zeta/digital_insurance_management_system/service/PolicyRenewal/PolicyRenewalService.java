@@ -4,17 +4,19 @@ import com.zeta.digital_insurance_management_system.dto.renew.RenewablePolicy;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
 import com.zeta.digital_insurance_management_system.exception.InvalidPolicyRenewalException;
 import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
+import com.zeta.digital_insurance_management_system.model.AutoRenewal;
 import com.zeta.digital_insurance_management_system.model.Policy;
 import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.AutoRenewalRepository;
 import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
 import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,52 +26,31 @@ public class PolicyRenewalService implements IPolicyRenewalService {
 
     private static final Logger logger = LoggerFactory.getLogger(PolicyRenewalService.class);
 
+    private static final int RENEWAL_WINDOW_DAYS = 30;
+
     private final UserPolicyRepository userPolicyRepo;
     private final PolicyRepository policyRepo;
+    private final PolicyExpiryIndex expiryIndex;
+    private final AutoRenewalRepository autoRenewalRepo;
 
     @Autowired
-    public PolicyRenewalService(UserPolicyRepository userPolicyRepo, PolicyRepository policyRepo) {
+    public PolicyRenewalService(UserPolicyRepository userPolicyRepo, PolicyRepository policyRepo, PolicyExpiryIndex expiryIndex,
+                                AutoRenewalRepository autoRenewalRepo) {
         this.userPolicyRepo = userPolicyRepo;
         this.policyRepo = policyRepo;
+        this.expiryIndex = expiryIndex;
+        this.autoRenewalRepo = autoRenewalRepo;
     }
 
+    // In-force (ACTIVE or RENEWED) policies ending within the renewal window and policies already expired, selected and
+    // projected by the database. The sweeper keeps the stored status current, so the dates are not
+    // recomputed here. A user with nothing to renew gets an empty list.
     @Override
     public List<RenewablePolicy> getRenewablePolicies(Long userId) {
         logger.info("Fetching renewable policies for userId: {}", userId);
 
-        List<UserPolicy> userPolicies = userPolicyRepo.findByUserId(userId);
-
-        if (userPolicies.isEmpty()) {
-            logger.warn("No active policies found for userId: {}", userId);
-            throw new ResourceNotFoundException("No active policies found for userId: " + userId);
-        }
-
-        LocalDate current = LocalDate.now();
-
-        //Get policies that are expired or expiring within 30 days and map to RenewablePolicy.
-        List<RenewablePolicy> renewablePolicies = userPolicies.stream()
-                .filter(up -> {
-                    long daysBetween = ChronoUnit.DAYS.between(current, up.getEndDate());
-                    boolean isActive = up.getStatus() == PolicyStatus.ACTIVE;
-
-                    boolean isExpiringSoon = daysBetween > 0 && daysBetween <= 30;
-                    boolean isExpired = daysBetween <= 0;
-
-                    return (isActive && isExpiringSoon) || isExpired;
-                })
-                .map(up -> new RenewablePolicy(
-                        up.getId(),
-                        up.getPolicy().getName(),
-                        up.getEndDate(),
-                        up.getPremiumPaid(),
-                        up.getPolicy().getRenewalPremiumRate()
-                ))
-                .collect(Collectors.toList());
-
-        if (renewablePolicies.isEmpty()) {
-            logger.info("No renewable policies found for userId: {}", userId);
-            return renewablePolicies;
-        }
+        List<RenewablePolicy> renewablePolicies =
+                userPolicyRepo.findRenewableByUserId(userId, LocalDate.now().plusDays(RENEWAL_WINDOW_DAYS));
 
         logger.info("Found {} renewable policies for userId: {}", renewablePolicies.size(), userId);
         return renewablePolicies;
@@ -88,7 +69,7 @@ public class PolicyRenewalService implements IPolicyRenewalService {
         LocalDate today = LocalDate.now();
         long daysUntilExpiry = ChronoUnit.DAYS.between(today, userPolicy.getEndDate());
 
-        if (daysUntilExpiry > 30) {
+        if (daysUntilExpiry > RENEWAL_WINDOW_DAYS) {
             logger.warn("Policy with id {} is not near expiry (more than 30 days left)", userPolicyId);
             throw new InvalidPolicyRenewalException("Policy is not eligible for renewal yet");
         }
@@ -99,13 +80,34 @@ public class PolicyRenewalService implements IPolicyRenewalService {
                     return new ResourceNotFoundException("Associated policy not found");
                 });
 
+        LocalDate indexedEndDate = PolicyExpiryIndex.indexedEndDate(userPolicy);
         userPolicy.setPremiumPaid(policy.getRenewalPremiumRate());
         userPolicy.setStartDate(today);
         userPolicy.setEndDate(today.plusMonths(policy.getDurationMonths()));
         userPolicy.setStatus(PolicyStatus.ACTIVE);
 
         UserPolicy savedPolicy = userPolicyRepo.save(userPolicy);
+        expiryIndex.move(userPolicyId, indexedEndDate, savedPolicy.getEndDate());
         logger.info("Successfully renewed policy with userPolicyId: {}", userPolicyId);
         return savedPolicy;
     }
-}
\ No newline at end of file
+
+    // Opts a user policy in to or out of the nightly AutoRenewalEngine run. Enabling twice keeps the
+    // original opt-in time; disabling a policy that was never enabled does nothing.
+    @Override
+    public void setAutoRenew(Long userPolicyId, Long userId, boolean enabled) {
+        if (!userPolicyRepo.existsByIdAndUserId(userPolicyId, userId)) {
+            logger.error("User policy with id {} not found for userId: {}", userPolicyId, userId);
+            throw new ResourceNotFoundException("User policy not found");
+        }
+
+        if (enabled) {
+            if (!autoRenewalRepo.existsById(userPolicyId)) {
+                autoRenewalRepo.save(new AutoRenewal(userPolicyId, LocalDateTime.now()));
+            }
+        } else {
+            autoRenewalRepo.deleteById(userPolicyId);
+        }
+        logger.info("Auto-renewal {} for userPolicyId: {}", enabled ? "enabled" : "disabled", userPolicyId);
+    }
+}
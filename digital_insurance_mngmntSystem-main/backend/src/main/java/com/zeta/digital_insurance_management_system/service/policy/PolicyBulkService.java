@@ -0,0 +1,270 @@
+package com.zeta.digital_insurance_management_system.service.policy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyBulkItemResultDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyBulkResultDTO;
+import com.zeta.digital_insurance_management_system.enums.BulkItemStatus;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.util.JdbcKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+// Creates and updates policies in bulk from a JSON array or an NDJSON stream. Items with an id are
+// updates, the rest are inserts. Every item is validated and every update id checked before anything
+// is written; the accepted items are then written with JDBC batch statements, one transaction per
+// batch, and the catalog and search index are refreshed once for the whole request.
+@Service
+public class PolicyBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyBulkService.class);
+
+    private static final String INSERT_SQL = "insert into policy (name, description, premium_amount, coverage_amount, "
+            + "duration_months, renewal_premium_rate, created_at, category) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "update policy set name = ?, description = ?, premium_amount = ?, "
+            + "coverage_amount = ?, duration_months = ?, renewal_premium_rate = ?, created_at = ?, category = ? where id = ?";
+    private static final String EXISTING_IDS_SQL = "select id from policy where id in (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PolicyCatalog policyCatalog;
+    private final PolicySearchIndex searchIndex;
+    private final int batchSize;
+    private final int maxItems;
+
+    public PolicyBulkService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             PolicyCatalog policyCatalog,
+                             PolicySearchIndex searchIndex,
+                             @Value("${policy.bulk.batch-size:500}") int batchSize,
+                             @Value("${policy.bulk.max-items:5000}") int maxItems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.policyCatalog = policyCatalog;
+        this.searchIndex = searchIndex;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxItems = maxItems;
+    }
+
+    public PolicyBulkResultDTO apply(InputStream body) throws IOException {
+        List<Policy> items = read(body);
+        PolicyBulkItemResultDTO[] results = new PolicyBulkItemResultDTO[items.size()];
+
+        Set<Long> updateIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            Policy item = items.get(i);
+            String error = validate(item);
+            if (error == null && item.getId() != null && !updateIds.add(item.getId())) {
+                error = "Duplicate policy id in request";
+            }
+            if (error != null) {
+                results[i] = new PolicyBulkItemResultDTO(i, BulkItemStatus.INVALID, item == null ? null : item.getId(), error);
+            }
+        }
+        Set<Long> existing = existingIds(updateIds);
+
+        List<Integer> inserts = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Long id = items.get(i).getId();
+            if (id == null) {
+                inserts.add(i);
+            } else if (existing.contains(id)) {
+                updates.add(i);
+            } else {
+                results[i] = new PolicyBulkItemResultDTO(i, BulkItemStatus.NOT_FOUND, id, "Policy not found");
+            }
+        }
+
+        for (int from = 0; from < inserts.size(); from += batchSize) {
+            insertBatch(items, inserts.subList(from, Math.min(from + batchSize, inserts.size())), results);
+        }
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            updateBatch(items, updates.subList(from, Math.min(from + batchSize, updates.size())), results);
+        }
+
+        int created = 0;
+        int updated = 0;
+        for (PolicyBulkItemResultDTO result : results) {
+            if (result.getStatus() == BulkItemStatus.CREATED) {
+                created++;
+            } else if (result.getStatus() == BulkItemStatus.UPDATED) {
+                updated++;
+            }
+        }
+        if (created + updated > 0) {
+            policyCatalog.reload();
+            searchIndex.rebuild();
+        }
+        int failed = items.size() - created - updated;
+        logger.info("Bulk policy request: {} created, {} updated, {} failed", created, updated, failed);
+        return new PolicyBulkResultDTO(created, updated, failed, Arrays.asList(results));
+    }
+
+    // A root-level JSON array is unwrapped by the iterator, so arrays and NDJSON share one reader.
+    private List<Policy> read(InputStream body) throws IOException {
+        List<Policy> items = new ArrayList<>();
+        try (MappingIterator<Policy> iterator = objectMapper.readerFor(Policy.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (items.size() == maxItems) {
+                    throw new IllegalArgumentFoundException("A bulk request may contain at most " + maxItems + " policies");
+                }
+                items.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentFoundException("Malformed policy at item " + items.size() + ": " + e.getOriginalMessage());
+        }
+        if (items.isEmpty()) {
+            throw new IllegalArgumentFoundException("No policies in request");
+        }
+        return items;
+    }
+
+    private Set<Long> existingIds(Set<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += batchSize) {
+            existing.addAll(namedJdbcTemplate.queryForList(EXISTING_IDS_SQL,
+                    Map.of("ids", all.subList(from, Math.min(from + batchSize, all.size()))), Long.class));
+        }
+        return existing;
+    }
+
+    private void insertBatch(List<Policy> items, List<Integer> batch, PolicyBulkItemResultDTO[] results) {
+        List<Object[]> params = batch.stream().map(i -> columns(items.get(i))).toList();
+        try {
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    setter(params), keyHolder));
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int j = 0; j < batch.size(); j++) {
+                Long id = j < keys.size() ? JdbcKeys.generatedId(keys.get(j)) : null;
+                results[batch.get(j)] = new PolicyBulkItemResultDTO(batch.get(j), BulkItemStatus.CREATED, id, null);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Batch insert of {} policies failed, retrying rows individually", batch.size(), e);
+            for (int j = 0; j < batch.size(); j++) {
+                int index = batch.get(j);
+                try {
+                    GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+                    Object[] row = params.get(j);
+                    jdbcTemplate.update(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+                        new ArgumentPreparedStatementSetter(row).setValues(statement);
+                        return statement;
+                    }, keyHolder);
+                    results[index] = new PolicyBulkItemResultDTO(index, BulkItemStatus.CREATED, JdbcKeys.generatedId(keyHolder.getKeys()), null);
+                } catch (DataAccessException rowError) {
+                    results[index] = new PolicyBulkItemResultDTO(index, BulkItemStatus.FAILED, null, "Could not create policy");
+                }
+            }
+        }
+    }
+
+    private void updateBatch(List<Policy> items, List<Integer> batch, PolicyBulkItemResultDTO[] results) {
+        List<Object[]> params = new ArrayList<>(batch.size());
+        for (int index : batch) {
+            Object[] columns = columns(items.get(index));
+            Object[] row = Arrays.copyOf(columns, columns.length + 1);
+            row[columns.length] = items.get(index).getId();
+            params.add(row);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, params));
+            for (int index : batch) {
+                results[index] = new PolicyBulkItemResultDTO(index, BulkItemStatus.UPDATED, items.get(index).getId(), null);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Batch update of {} policies failed, retrying rows individually", batch.size(), e);
+            for (int j = 0; j < batch.size(); j++) {
+                int index = batch.get(j);
+                Long id = items.get(index).getId();
+                try {
+                    boolean found = jdbcTemplate.update(UPDATE_SQL, params.get(j)) > 0;
+                    results[index] = found
+                            ? new PolicyBulkItemResultDTO(index, BulkItemStatus.UPDATED, id, null)
+                            : new PolicyBulkItemResultDTO(index, BulkItemStatus.NOT_FOUND, id, "Policy not found");
+                } catch (DataAccessException rowError) {
+                    results[index] = new PolicyBulkItemResultDTO(index, BulkItemStatus.FAILED, id, "Could not update policy");
+                }
+            }
+        }
+    }
+
+    private static BatchPreparedStatementSetter setter(List<Object[]> params) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                new ArgumentPreparedStatementSetter(params.get(i)).setValues(statement);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return params.size();
+            }
+        };
+    }
+
+    private static Object[] columns(Policy policy) {
+        return new Object[]{policy.getName(), policy.getDescription(), policy.getPremiumAmount(),
+                policy.getCoverageAmount(), policy.getDurationMonths(), policy.getRenewalPremiumRate(),
+                policy.getCreatedAt(), policy.getCategory().name()};
+    }
+
+    private static String validate(Policy policy) {
+        if (policy == null) {
+            return "Policy is required";
+        }
+        if (policy.getName() == null || policy.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (policy.getCategory() == null) {
+            return "Category is required";
+        }
+        if (!isPositive(policy.getPremiumAmount())) {
+            return "Premium amount must be positive";
+        }
+        if (!isPositive(policy.getCoverageAmount())) {
+            return "Coverage amount must be positive";
+        }
+        if (policy.getDurationMonths() == null || policy.getDurationMonths() <= 0) {
+            return "Duration must be a positive number of months";
+        }
+        if (policy.getRenewalPremiumRate() != null && policy.getRenewalPremiumRate().signum() < 0) {
+            return "Renewal premium rate must not be negative";
+        }
+        return null;
+    }
+
+    private static boolean isPositive(BigDecimal value) {
+        return value != null && value.signum() > 0;
+    }
+}
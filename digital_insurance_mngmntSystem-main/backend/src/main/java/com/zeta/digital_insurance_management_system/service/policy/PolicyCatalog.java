@@ -0,0 +1,104 @@
+package com.zeta.digital_insurance_management_system.service.policy;
+
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+// In-memory copy of the policy catalog. Readers take the current snapshot without locking; writers
+// build a new snapshot and swap it in. The version only changes when the content does, so it can be
+// used to tell clients whether the catalog changed. Snapshot entries are shared between requests and
+// must not be modified.
+@Service
+public class PolicyCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyCatalog.class);
+
+    private final PolicyRepository policyRepository;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public PolicyCatalog(PolicyRepository policyRepository, MeterRegistry meterRegistry) {
+        this.policyRepository = policyRepository;
+        this.hits = Counter.builder("policy.catalog.lookup").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("policy.catalog.lookup").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("policy.catalog.version", current, ref -> ref.get() == null ? 0 : ref.get().version()).register(meterRegistry);
+        Gauge.builder("policy.catalog.size", current, ref -> ref.get() == null ? 0 : ref.get().policies().size()).register(meterRegistry);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : reload();
+    }
+
+    public List<Policy> getAll() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot.policies();
+        }
+        misses.increment();
+        return reload().policies();
+    }
+
+    // Falls back to the database for ids the snapshot does not know, which also picks up policies
+    // inserted outside the application before the next scheduled refresh.
+    public Optional<Policy> getById(Long id) {
+        Policy policy = snapshot().byId().get(id);
+        if (policy != null) {
+            hits.increment();
+            return Optional.of(policy);
+        }
+        misses.increment();
+        Optional<Policy> stored = policyRepository.findById(id);
+        if (stored.isPresent()) {
+            logger.info("Policy {} missing from catalog version {}, reloading", id, snapshot().version());
+            reload();
+        }
+        return stored;
+    }
+
+    @Scheduled(fixedDelayString = "${policy.catalog.refresh-ms:60000}", initialDelayString = "${policy.catalog.refresh-ms:60000}")
+    public void refresh() {
+        reload();
+    }
+
+    public synchronized Snapshot reload() {
+        List<Policy> policies = new ArrayList<>();
+        for (Policy policy : policyRepository.findAll()) {
+            policies.add(copy(policy));
+        }
+        Snapshot previous = current.get();
+        if (previous != null && previous.policies().equals(policies)) {
+            return previous;
+        }
+        Map<Long, Policy> byId = new HashMap<>();
+        for (Policy policy : policies) {
+            byId.put(policy.getId(), policy);
+        }
+        Snapshot snapshot = new Snapshot(previous == null ? 1 : previous.version() + 1,
+                Collections.unmodifiableList(policies), Collections.unmodifiableMap(byId), Instant.now());
+        current.set(snapshot);
+        logger.info("Loaded policy catalog version {} with {} policies", snapshot.version(), policies.size());
+        return snapshot;
+    }
+
+    private static Policy copy(Policy policy) {
+        return new Policy(policy.getId(), policy.getName(), policy.getDescription(), policy.getPremiumAmount(),
+                policy.getCoverageAmount(), policy.getDurationMonths(), policy.getRenewalPremiumRate(),
+                policy.getCreatedAt(), policy.getCategory());
+    }
+
+    public record Snapshot(long version, List<Policy> policies, Map<Long, Policy> byId, Instant loadedAt) {
+    }
+}
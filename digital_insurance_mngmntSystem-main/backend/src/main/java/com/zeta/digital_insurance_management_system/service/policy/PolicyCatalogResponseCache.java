@@ -0,0 +1,67 @@
+package com.zeta.digital_insurance_management_system.service.policy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+// JSON and gzip bodies for GET /policies, rendered once per catalog version. The ETag is a hash of
+// the JSON rather than the version number, so it stays the same across restarts and instances.
+@Component
+public class PolicyCatalogResponseCache {
+
+    private final PolicyCatalog policyCatalog;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Rendered> current = new AtomicReference<>();
+
+    public PolicyCatalogResponseCache(PolicyCatalog policyCatalog, ObjectMapper objectMapper) {
+        this.policyCatalog = policyCatalog;
+        this.objectMapper = objectMapper;
+    }
+
+    public Rendered get() {
+        PolicyCatalog.Snapshot snapshot = policyCatalog.snapshot();
+        Rendered rendered = current.get();
+        if (rendered != null && rendered.version() == snapshot.version()) {
+            return rendered;
+        }
+        rendered = render(snapshot);
+        current.set(rendered);
+        return rendered;
+    }
+
+    private Rendered render(PolicyCatalog.Snapshot snapshot) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(snapshot.policies());
+            String hash = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MessageDigest.getInstance("SHA-256").digest(json)).substring(0, 22);
+            return new Rendered(snapshot.version(), "\"" + hash + "\"", "\"" + hash + "-gz\"", json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize policy catalog", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // The gzip body gets its own ETag since a strong ETag identifies the exact bytes sent.
+    public record Rendered(long version, String etag, String gzipEtag, byte[] json, byte[] gzip) {
+    }
+}
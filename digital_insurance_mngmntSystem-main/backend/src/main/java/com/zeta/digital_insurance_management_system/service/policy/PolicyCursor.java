@@ -0,0 +1,59 @@
+package com.zeta.digital_insurance_management_system.service.policy;
+
+import com.zeta.digital_insurance_management_system.enums.PolicySortField;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque keyset position: the sort key and id of the last row on a page. The sort and direction are
+// part of the cursor so it cannot be replayed against a different ordering.
+record PolicyCursor(PolicySortField sort, boolean descending, Object value, long id) {
+
+    static PolicyCursor after(PolicySortField sort, boolean descending, Policy last) {
+        Object value;
+        switch (sort) {
+            case PREMIUM:
+                value = last.getPremiumAmount();
+                break;
+            case COVERAGE:
+                value = last.getCoverageAmount();
+                break;
+            case CREATED_AT:
+                value = last.getCreatedAt();
+                break;
+            default:
+                value = null;
+        }
+        return new PolicyCursor(sort, descending, value, last.getId());
+    }
+
+    String encode() {
+        String raw = sort.name() + "|" + (descending ? "d" : "a") + "|" + (value == null ? "" : value.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PolicyCursor decode(String cursor, PolicySortField sort, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentFoundException("Invalid cursor");
+        }
+        if (parts.length != 4 || !parts[0].equals(sort.name()) || !parts[1].equals(descending ? "d" : "a")) {
+            throw new IllegalArgumentFoundException("Cursor does not match the requested sort");
+        }
+        try {
+            Object value = null;
+            if (!parts[2].isEmpty()) {
+                value = sort == PolicySortField.CREATED_AT ? LocalDateTime.parse(parts[2]) : new BigDecimal(parts[2]);
+            }
+            return new PolicyCursor(sort, descending, value, Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentFoundException("Invalid cursor");
+        }
+    }
+}
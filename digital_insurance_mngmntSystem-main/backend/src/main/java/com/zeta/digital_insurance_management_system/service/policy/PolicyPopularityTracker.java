@@ -0,0 +1,244 @@
+package com.zeta.digital_insurance_management_system.service.policy;
+
+import com.zeta.digital_insurance_management_system.dto.policy.TrendingPolicyDTO;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.model.PolicyPopularity;
+import com.zeta.digital_insurance_management_system.repository.PolicyPopularityRepository;
+import com.zeta.digital_insurance_management_system.util.CountMinSketch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts policy views and purchases on the request path with striped LongAdders, so recording one is
+// a map lookup and an uncontended add. A scheduled flush drains the counters, adds them to the
+// policy_popularity totals with one JDBC batch, and feeds them into a count-min sketch that tracks
+// recent popularity, purchases weighing more than views. The flush keeps a small set of heavy-hitter
+// candidates and publishes the top of it as an immutable list, so GET /policies/trending reads a
+// field and never queries the database. Sketch counts are halved on the decay interval so the
+// ranking follows recent activity.
+@Service
+public class PolicyPopularityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyPopularityTracker.class);
+
+    private static final String UPDATE_SQL = "update policy_popularity set views = views + ?, purchases = purchases + ?, "
+            + "updated_at = ? where policy_id = ?";
+    private static final String INSERT_SQL = "insert into policy_popularity (policy_id, views, purchases, updated_at) "
+            + "values (?, ?, ?, ?)";
+    private static final int SKETCH_DEPTH = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PolicyPopularityRepository popularityRepository;
+    private final PolicyCatalog policyCatalog;
+    private final int topK;
+    private final int candidateCapacity;
+    private final long purchaseWeight;
+    private final long decayMillis;
+    private final Timer flushTimer;
+
+    private final ConcurrentHashMap<Long, Counters> pending = new ConcurrentHashMap<>();
+    private final CountMinSketch sketch;
+    // Only touched by seed and flush, which are synchronized.
+    private final Map<Long, Long> candidates = new HashMap<>();
+    private long lastDecay = System.currentTimeMillis();
+    private volatile List<Ranked> trending = List.of();
+
+    public PolicyPopularityTracker(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   PolicyPopularityRepository popularityRepository,
+                                   PolicyCatalog policyCatalog,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${policy.trending.top-k:20}") int topK,
+                                   @Value("${policy.trending.sketch-width:2048}") int sketchWidth,
+                                   @Value("${policy.trending.purchase-weight:10}") long purchaseWeight,
+                                   @Value("${policy.trending.decay-ms:3600000}") long decayMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.popularityRepository = popularityRepository;
+        this.policyCatalog = policyCatalog;
+        this.topK = Math.max(1, topK);
+        this.candidateCapacity = this.topK * 4;
+        this.purchaseWeight = purchaseWeight;
+        this.decayMillis = decayMillis;
+        this.sketch = new CountMinSketch(sketchWidth, SKETCH_DEPTH);
+        this.flushTimer = Timer.builder("policy.popularity.flush").register(meterRegistry);
+    }
+
+    public void recordView(Long policyId) {
+        if (policyId != null) {
+            counters(policyId).views.increment();
+        }
+    }
+
+    public void recordPurchase(Long policyId) {
+        if (policyId != null) {
+            counters(policyId).purchases.increment();
+        }
+    }
+
+    // Ranked policies that are still in the catalog, highest score first.
+    public List<TrendingPolicyDTO> trending(int limit) {
+        List<Ranked> ranked = trending;
+        Map<Long, Policy> policies = policyCatalog.snapshot().byId();
+        List<TrendingPolicyDTO> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Ranked entry : ranked) {
+            if (result.size() >= limit) {
+                break;
+            }
+            Policy policy = policies.get(entry.policyId());
+            if (policy != null) {
+                result.add(new TrendingPolicyDTO(policy, entry.score()));
+            }
+        }
+        return result;
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    // Seeds the sketch with the stored totals so the ranking survives a restart.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        List<PolicyPopularity> totals = popularityRepository.findAll();
+        for (PolicyPopularity total : totals) {
+            offer(total.getPolicyId(), total.getViews() + purchaseWeight * total.getPurchases());
+        }
+        publish();
+        logger.info("Seeded trending policies from {} popularity rows", totals.size());
+    }
+
+    @Scheduled(fixedDelayString = "${policy.popularity.flush-ms:10000}", initialDelayString = "${policy.popularity.flush-ms:10000}")
+    public synchronized void flush() {
+        long start = System.nanoTime();
+        List<long[]> deltas = new ArrayList<>();
+        for (Map.Entry<Long, Counters> entry : pending.entrySet()) {
+            long views = entry.getValue().views.sumThenReset();
+            long purchases = entry.getValue().purchases.sumThenReset();
+            if (views != 0 || purchases != 0) {
+                deltas.add(new long[]{entry.getKey(), views, purchases});
+            }
+        }
+        if (!deltas.isEmpty()) {
+            try {
+                persist(deltas);
+            } catch (DataAccessException e) {
+                // Put the counts back so the next flush retries them.
+                logger.warn("Could not flush popularity counts for {} policies, keeping them for the next flush", deltas.size(), e);
+                for (long[] delta : deltas) {
+                    Counters counters = counters(delta[0]);
+                    counters.views.add(delta[1]);
+                    counters.purchases.add(delta[2]);
+                }
+                return;
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        boolean decayed = decayMillis > 0 && now - lastDecay >= decayMillis;
+        if (decayed) {
+            sketch.decay();
+            lastDecay = now;
+        }
+        for (long[] delta : deltas) {
+            offer(delta[0], delta[1] + purchaseWeight * delta[2]);
+        }
+        if (decayed || !deltas.isEmpty()) {
+            publish();
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!deltas.isEmpty()) {
+            logger.debug("Flushed popularity counts for {} policies", deltas.size());
+        }
+    }
+
+    private Counters counters(Long policyId) {
+        Counters counters = pending.get(policyId);
+        return counters != null ? counters : pending.computeIfAbsent(policyId, id -> new Counters());
+    }
+
+    // Adds to the existing rows in one batch, then inserts rows for policies seen for the first time.
+    // Another instance may insert the same row first; those fall back to the update. Drivers that report
+    // SUCCESS_NO_INFO for batched rows only do so for rows they did write, so only a count of 0 is missing.
+    private void persist(List<long[]> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<long[]> missing = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, deltas.stream()
+                    .map(delta -> new Object[]{delta[1], delta[2], now, delta[0]}).toList());
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(deltas.get(i));
+                }
+            }
+        });
+        for (long[] delta : missing) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, delta[0], delta[1], delta[2], now);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(UPDATE_SQL, delta[1], delta[2], now, delta[0]);
+            }
+        }
+    }
+
+    // Keeps the key if it is already a candidate, there is room, or it now beats the weakest candidate.
+    private void offer(Long policyId, long weight) {
+        if (policyId == null || weight <= 0) {
+            return;
+        }
+        long estimate = sketch.add(policyId, weight);
+        if (candidates.containsKey(policyId) || candidates.size() < candidateCapacity) {
+            candidates.put(policyId, estimate);
+            return;
+        }
+        Long weakest = null;
+        long weakestScore = Long.MAX_VALUE;
+        for (Map.Entry<Long, Long> candidate : candidates.entrySet()) {
+            if (candidate.getValue() < weakestScore) {
+                weakest = candidate.getKey();
+                weakestScore = candidate.getValue();
+            }
+        }
+        if (estimate > weakestScore) {
+            candidates.remove(weakest);
+            candidates.put(policyId, estimate);
+        }
+    }
+
+    private void publish() {
+        candidates.replaceAll((policyId, score) -> sketch.estimate(policyId));
+        trending = candidates.entrySet().stream()
+                .filter(candidate -> candidate.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(topK)
+                .map(candidate -> new Ranked(candidate.getKey(), candidate.getValue()))
+                .toList();
+    }
+
+    private static final class Counters {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder purchases = new LongAdder();
+    }
+
+    private record Ranked(long policyId, long score) {
+    }
+}
@@ -0,0 +1,347 @@
+package com.zeta.digital_insurance_management_system.service.policy;
+
+import com.zeta.digital_insurance_management_system.dto.policy.RecommendedPolicyDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.TrendingPolicyDTO;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Recommends policies bought by users who bought the same policies as the caller. The item-item
+// co-occurrence matrix is held as one sparse row per policy: sorted parallel arrays of neighbour ids
+// and counts. It is rebuilt from user_policy on a schedule, rows computed in parallel, and each
+// purchase updates the affected rows copy-on-write, so lookups read memory only and never block.
+// Users with no purchase history get the trending policies instead.
+@Service
+public class PolicyRecommendationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyRecommendationEngine.class);
+
+    private static final String PURCHASES_SQL = "select user_id, policy_id from user_policy "
+            + "where user_id is not null and policy_id is not null order by user_id, policy_id";
+    private static final int MIN_CHUNK = 64;
+    private static final long[] NO_POLICIES = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PolicyCatalog policyCatalog;
+    private final PolicyPopularityTracker popularityTracker;
+    private final int threads;
+    private final ExecutorService executor;
+    private final Timer rebuildTimer;
+
+    private volatile Model model = new Model(NO_POLICIES, new Row[0], new ConcurrentHashMap<>());
+    // Purchases recorded while a rebuild reads the database, replayed onto the rebuilt model.
+    private List<long[]> missed;
+
+    public PolicyRecommendationEngine(JdbcTemplate jdbcTemplate,
+                                      PolicyCatalog policyCatalog,
+                                      PolicyPopularityTracker popularityTracker,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${policy.recommendations.rebuild-threads:0}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.policyCatalog = policyCatalog;
+        this.popularityTracker = popularityTracker;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "recommendations-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rebuildTimer = Timer.builder("policy.recommendations.rebuild").register(meterRegistry);
+    }
+
+    // Scores every policy the user does not own by how many times it was bought together with the
+    // policies the user owns. Ties go to the lower id so results are stable.
+    public List<RecommendedPolicyDTO> recommend(Long userId, int limit) {
+        Model current = model;
+        long[] owned = userId == null ? null : current.users().get(userId);
+        if (owned == null || owned.length == 0) {
+            return fallback(NO_POLICIES, limit);
+        }
+        long[] ids = current.ids();
+        int[] scores = new int[ids.length];
+        for (long policyId : owned) {
+            int row = Arrays.binarySearch(ids, policyId);
+            if (row < 0) {
+                continue;
+            }
+            Row neighbours = current.rows()[row];
+            for (int k = 0; k < neighbours.ids().length; k++) {
+                int column = Arrays.binarySearch(ids, neighbours.ids()[k]);
+                if (column >= 0) {
+                    scores[column] += neighbours.counts()[k];
+                }
+            }
+        }
+
+        Map<Long, Policy> policies = policyCatalog.snapshot().byId();
+        int[] best = new int[limit];
+        int found = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (scores[i] == 0 || Arrays.binarySearch(owned, ids[i]) >= 0 || !policies.containsKey(ids[i])) {
+                continue;
+            }
+            // Insertion into the small sorted top list; ids ascend, so earlier entries win ties.
+            int position;
+            if (found < limit) {
+                position = found++;
+            } else if (scores[best[limit - 1]] >= scores[i]) {
+                continue;
+            } else {
+                position = limit - 1;
+            }
+            while (position > 0 && scores[best[position - 1]] < scores[i]) {
+                best[position] = best[position - 1];
+                position--;
+            }
+            best[position] = i;
+        }
+        if (found == 0) {
+            return fallback(owned, limit);
+        }
+        List<RecommendedPolicyDTO> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            result.add(new RecommendedPolicyDTO(policies.get(ids[best[i]]), scores[best[i]]));
+        }
+        return result;
+    }
+
+    // Adds the purchase to the user's history and the co-occurrence rows of every policy the user
+    // already owns. Repeated purchases of the same policy are ignored.
+    public synchronized void recordPurchase(Long userId, Long policyId) {
+        if (userId == null || policyId == null) {
+            return;
+        }
+        if (missed != null) {
+            missed.add(new long[]{userId, policyId});
+        }
+        apply(userId, policyId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${policy.recommendations.rebuild-ms:900000}", initialDelayString = "${policy.recommendations.rebuild-ms:900000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            missed = new ArrayList<>();
+        }
+        Model rebuilt;
+        try {
+            rebuilt = compute(loadPurchases());
+        } catch (DataAccessException e) {
+            logger.warn("Could not rebuild co-purchase matrix, keeping the current one", e);
+            synchronized (this) {
+                missed = null;
+            }
+            return;
+        }
+        int replayed;
+        synchronized (this) {
+            model = rebuilt;
+            replayed = missed.size();
+            for (long[] purchase : missed) {
+                apply(purchase[0], purchase[1]);
+            }
+            missed = null;
+        }
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        logger.info("Rebuilt co-purchase matrix for {} policies and {} users ({} purchases replayed)",
+                rebuilt.ids().length, rebuilt.users().size(), replayed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<RecommendedPolicyDTO> fallback(long[] owned, int limit) {
+        List<RecommendedPolicyDTO> result = new ArrayList<>(limit);
+        for (TrendingPolicyDTO trending : popularityTracker.trending(limit + owned.length)) {
+            if (result.size() < limit && Arrays.binarySearch(owned, trending.getPolicy().getId()) < 0) {
+                result.add(new RecommendedPolicyDTO(trending.getPolicy(), 0));
+            }
+        }
+        return result;
+    }
+
+    // Rows are ordered by user then policy, so each user's policies arrive as one sorted run.
+    private Map<Long, long[]> loadPurchases() {
+        Map<Long, long[]> users = new ConcurrentHashMap<>();
+        long[][] run = {new long[8]};
+        int[] length = {0};
+        long[] user = {Long.MIN_VALUE};
+        jdbcTemplate.query(PURCHASES_SQL, resultSet -> {
+            long userId = resultSet.getLong(1);
+            long policyId = resultSet.getLong(2);
+            if (userId != user[0]) {
+                if (length[0] > 0) {
+                    users.put(user[0], Arrays.copyOf(run[0], length[0]));
+                }
+                user[0] = userId;
+                length[0] = 0;
+            }
+            if (length[0] > 0 && run[0][length[0] - 1] == policyId) {
+                return;
+            }
+            if (length[0] == run[0].length) {
+                run[0] = Arrays.copyOf(run[0], length[0] * 2);
+            }
+            run[0][length[0]++] = policyId;
+        });
+        if (length[0] > 0) {
+            users.put(user[0], Arrays.copyOf(run[0], length[0]));
+        }
+        return users;
+    }
+
+    // Policies and users are mapped to dense indexes and the users of each policy inverted into one
+    // array, then each policy's row is computed independently: count the other policies of its
+    // users in a scratch array, then collect the touched entries in id order.
+    private Model compute(Map<Long, long[]> users) {
+        long[] ids = users.values().stream().flatMapToLong(Arrays::stream).distinct().sorted().toArray();
+        int policyCount = ids.length;
+        int[][] userPolicies = new int[users.size()][];
+        int[] buyerCount = new int[policyCount];
+        int u = 0;
+        for (long[] owned : users.values()) {
+            int[] dense = new int[owned.length];
+            for (int k = 0; k < owned.length; k++) {
+                dense[k] = Arrays.binarySearch(ids, owned[k]);
+                buyerCount[dense[k]]++;
+            }
+            userPolicies[u++] = dense;
+        }
+        int[] buyerStart = new int[policyCount + 1];
+        for (int i = 0; i < policyCount; i++) {
+            buyerStart[i + 1] = buyerStart[i] + buyerCount[i];
+        }
+        int[] buyers = new int[buyerStart[policyCount]];
+        int[] fill = Arrays.copyOf(buyerStart, policyCount);
+        for (int user = 0; user < userPolicies.length; user++) {
+            for (int policy : userPolicies[user]) {
+                buyers[fill[policy]++] = user;
+            }
+        }
+
+        Row[] rows = new Row[policyCount];
+        int chunk = Math.max(MIN_CHUNK, (policyCount + threads - 1) / threads);
+        List<CompletableFuture<Void>> parts = new ArrayList<>();
+        for (int from = 0; from < policyCount; from += chunk) {
+            int begin = from;
+            int end = Math.min(from + chunk, policyCount);
+            parts.add(CompletableFuture.runAsync(() -> {
+                int[] counts = new int[policyCount];
+                int[] touched = new int[policyCount];
+                for (int policy = begin; policy < end; policy++) {
+                    int size = 0;
+                    for (int b = buyerStart[policy]; b < buyerStart[policy + 1]; b++) {
+                        for (int other : userPolicies[buyers[b]]) {
+                            if (other != policy && counts[other]++ == 0) {
+                                touched[size++] = other;
+                            }
+                        }
+                    }
+                    Arrays.sort(touched, 0, size);
+                    long[] neighbourIds = new long[size];
+                    int[] neighbourCounts = new int[size];
+                    for (int k = 0; k < size; k++) {
+                        neighbourIds[k] = ids[touched[k]];
+                        neighbourCounts[k] = counts[touched[k]];
+                        counts[touched[k]] = 0;
+                    }
+                    rows[policy] = new Row(neighbourIds, neighbourCounts);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).join();
+        return new Model(ids, rows, users);
+    }
+
+    // Caller holds the lock. Publishes a new model so readers never see a half-applied purchase.
+    private void apply(long userId, long policyId) {
+        Model current = model;
+        long[] owned = current.users().getOrDefault(userId, NO_POLICIES);
+        int position = Arrays.binarySearch(owned, policyId);
+        if (position >= 0) {
+            return;
+        }
+        long[] ids = current.ids();
+        Row[] rows = current.rows();
+        int row = Arrays.binarySearch(ids, policyId);
+        if (row < 0) {
+            row = -row - 1;
+            ids = insert(ids, row, policyId);
+            Row[] grown = new Row[rows.length + 1];
+            System.arraycopy(rows, 0, grown, 0, row);
+            grown[row] = new Row(NO_POLICIES, new int[0]);
+            System.arraycopy(rows, row, grown, row + 1, rows.length - row);
+            rows = grown;
+        } else {
+            rows = rows.clone();
+        }
+        Row bought = rows[row];
+        for (long other : owned) {
+            int otherRow = Arrays.binarySearch(ids, other);
+            if (otherRow >= 0) {
+                rows[otherRow] = rows[otherRow].increment(policyId);
+                bought = bought.increment(other);
+            }
+        }
+        rows[row] = bought;
+        model = new Model(ids, rows, current.users());
+        current.users().put(userId, insert(owned, -position - 1, policyId));
+    }
+
+    private static long[] insert(long[] values, int index, long value) {
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    // Co-occurrence counts of one policy, neighbour ids ascending.
+    private record Row(long[] ids, int[] counts) {
+
+        private Row increment(long neighbour) {
+            int index = Arrays.binarySearch(ids, neighbour);
+            if (index >= 0) {
+                int[] bumped = counts.clone();
+                bumped[index]++;
+                return new Row(ids, bumped);
+            }
+            index = -index - 1;
+            int[] grown = new int[counts.length + 1];
+            System.arraycopy(counts, 0, grown, 0, index);
+            grown[index] = 1;
+            System.arraycopy(counts, index, grown, index + 1, counts.length - index);
+            return new Row(insert(ids, index, neighbour), grown);
+        }
+    }
+
+    // rows[i] belongs to ids[i]; users maps a user id to the sorted ids of the policies they bought.
+    private record Model(long[] ids, Row[] rows, Map<Long, long[]> users) {
+    }
+}
@@ -0,0 +1,346 @@
+package com.zeta.digital_insurance_management_system.service.policy;
+
+import com.zeta.digital_insurance_management_system.model.Policy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+// Inverted index over policy names and descriptions, ranked with BM25. Terms are kept in a sorted map
+// so a query term also matches every indexed term it is a prefix of. Writers are serialized and update
+// the index in place; readers do not lock and may briefly see a policy half re-indexed. Results are
+// resolved against the current catalog snapshot, so the index only holds ids and term counts.
+@Service
+public class PolicySearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicySearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private final PolicyCatalog policyCatalog;
+    private final Timer queryTimer;
+    private volatile Index index = new Index();
+    private volatile long indexedVersion;
+
+    public PolicySearchIndex(PolicyCatalog policyCatalog, MeterRegistry meterRegistry) {
+        this.policyCatalog = policyCatalog;
+        this.queryTimer = Timer.builder("policy.search").register(meterRegistry);
+        Gauge.builder("policy.search.terms", this, search -> search.index.postings.size()).register(meterRegistry);
+    }
+
+    public List<Policy> search(String query, int limit) {
+        long start = System.nanoTime();
+        try {
+            List<Long> ids = rank(query, limit);
+            Map<Long, Policy> byId = policyCatalog.snapshot().byId();
+            List<Policy> results = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Policy policy = byId.get(id);
+                if (policy != null) {
+                    results.add(policy);
+                }
+            }
+            return results;
+        } finally {
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public synchronized void index(Policy policy) {
+        if (policy == null || policy.getId() == null) {
+            return;
+        }
+        index.remove(policy.getId());
+        index.add(policy.getId(), termFrequencies(policy));
+    }
+
+    public synchronized void remove(Long policyId) {
+        index.remove(policyId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    // Picks up catalog changes made outside PolicyServiceImpl, such as rows edited directly in the
+    // database and loaded by the catalog's own refresh.
+    @Scheduled(fixedDelayString = "${policy.catalog.refresh-ms:60000}", initialDelayString = "${policy.catalog.refresh-ms:60000}")
+    public void sync() {
+        if (policyCatalog.snapshot().version() != indexedVersion) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        PolicyCatalog.Snapshot snapshot = policyCatalog.snapshot();
+        Index rebuilt = new Index();
+        for (Policy policy : snapshot.policies()) {
+            rebuilt.add(policy.getId(), termFrequencies(policy));
+        }
+        index = rebuilt;
+        indexedVersion = snapshot.version();
+        logger.info("Indexed {} policies with {} terms for catalog version {}",
+                rebuilt.documentCount, rebuilt.postings.size(), snapshot.version());
+    }
+
+    private List<Long> rank(String query, int limit) {
+        Index current = index;
+        int documentCount = current.documentCount;
+        if (documentCount == 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) current.totalLength / documentCount);
+        Accumulator accumulator = new Accumulator(current.ids, current.lengths);
+
+        for (String term : new LinkedHashSet<>(tokenize(query))) {
+            accumulator.add(current.postings.get(term), 1.0, documentCount, averageLength);
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                int expansions = 0;
+                for (Postings postings : current.postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                    if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    accumulator.add(postings, PREFIX_WEIGHT, documentCount, averageLength);
+                }
+            }
+        }
+        return accumulator.top(limit);
+    }
+
+    // Name terms count several times so a word in the product name outranks the same word in the
+    // description.
+    private static Map<String, Integer> termFrequencies(Policy policy) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(policy.getName())) {
+            frequencies.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(policy.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    // Writers are serialized by the enclosing index. Each document gets an ordinal that indexes the id
+    // and length arrays; postings are immutable and replaced on change, so a reader that sees a posting
+    // also sees the array slots written before it was published. Removed documents keep their ordinal
+    // with a negative length until the next full rebuild.
+    private static final class Index {
+        private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+        private volatile long[] ids = new long[16];
+        private volatile int[] lengths = new int[16];
+        private volatile int documentCount;
+        private volatile long totalLength;
+        private int nextOrdinal;
+
+        private void add(Long id, Map<String, Integer> frequencies) {
+            int ordinal = nextOrdinal++;
+            if (ordinal == lengths.length) {
+                ids = Arrays.copyOf(ids, ordinal * 2);
+                lengths = Arrays.copyOf(lengths, ordinal * 2);
+            }
+            int length = 0;
+            for (int frequency : frequencies.values()) {
+                length += frequency;
+            }
+            ids[ordinal] = id;
+            lengths[ordinal] = length;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int frequency = entry.getValue();
+                postings.compute(entry.getKey(), (term, existing) -> existing == null
+                        ? new Postings(new int[]{ordinal}, new int[]{frequency})
+                        : existing.with(ordinal, frequency));
+            }
+            ordinals.put(id, ordinal);
+            documentTerms.put(id, frequencies.keySet());
+            totalLength += length;
+            documentCount++;
+        }
+
+        private void remove(Long id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            int length = lengths[ordinal];
+            lengths[ordinal] = -1;
+            for (String term : documentTerms.remove(id)) {
+                postings.computeIfPresent(term, (key, existing) -> existing.without(ordinal));
+            }
+            totalLength -= length;
+            documentCount--;
+        }
+    }
+
+    // Ordinals are assigned in increasing order, so appending keeps each posting list sorted.
+    private record Postings(int[] ordinals, int[] frequencies) {
+
+        private Postings with(int ordinal, int frequency) {
+            int size = ordinals.length;
+            int[] newOrdinals = Arrays.copyOf(ordinals, size + 1);
+            int[] newFrequencies = Arrays.copyOf(frequencies, size + 1);
+            newOrdinals[size] = ordinal;
+            newFrequencies[size] = frequency;
+            return new Postings(newOrdinals, newFrequencies);
+        }
+
+        private Postings without(int ordinal) {
+            int position = Arrays.binarySearch(ordinals, ordinal);
+            if (position < 0) {
+                return this;
+            }
+            if (ordinals.length == 1) {
+                return null;
+            }
+            int[] newOrdinals = new int[ordinals.length - 1];
+            int[] newFrequencies = new int[ordinals.length - 1];
+            System.arraycopy(ordinals, 0, newOrdinals, 0, position);
+            System.arraycopy(frequencies, 0, newFrequencies, 0, position);
+            System.arraycopy(ordinals, position + 1, newOrdinals, position, ordinals.length - position - 1);
+            System.arraycopy(frequencies, position + 1, newFrequencies, position, ordinals.length - position - 1);
+            return new Postings(newOrdinals, newFrequencies);
+        }
+    }
+
+    // Per-query BM25 scores kept in a flat array indexed by ordinal, plus the list of ordinals that
+    // scored, so picking the top results only looks at matching documents.
+    private static final class Accumulator {
+        private final long[] ids;
+        private final int[] lengths;
+        private final float[] scores;
+        private final int[] touched;
+        private int touchedCount;
+
+        private Accumulator(long[] ids, int[] lengths) {
+            int size = Math.min(ids.length, lengths.length);
+            this.ids = ids;
+            this.lengths = lengths;
+            this.scores = new float[size];
+            this.touched = new int[size];
+        }
+
+        private void add(Postings postings, double weight, int documentCount, double averageLength) {
+            if (postings == null) {
+                return;
+            }
+            int[] ordinals = postings.ordinals();
+            int[] frequencies = postings.frequencies();
+            int documentFrequency = ordinals.length;
+            double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            double lengthFactor = K1 * B / averageLength;
+            for (int i = 0; i < ordinals.length; i++) {
+                int ordinal = ordinals[i];
+                if (ordinal >= scores.length || lengths[ordinal] < 0) {
+                    continue;
+                }
+                int tf = frequencies[i];
+                double norm = tf + K1 * (1 - B) + lengthFactor * lengths[ordinal];
+                if (scores[ordinal] == 0) {
+                    touched[touchedCount++] = ordinal;
+                }
+                scores[ordinal] += (float) (weight * idf * tf * (K1 + 1) / norm);
+            }
+        }
+
+        // Bounded min-heap of ordinals: the weakest of the current top results sits at the root and
+        // is replaced whenever a better document turns up.
+        private List<Long> top(int limit) {
+            int[] heap = new int[Math.min(limit, touchedCount)];
+            int size = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int ordinal = touched[i];
+                if (size < heap.length) {
+                    heap[size] = ordinal;
+                    siftUp(heap, size++);
+                } else if (size > 0 && ranksAbove(ordinal, heap[0])) {
+                    heap[0] = ordinal;
+                    siftDown(heap, size);
+                }
+            }
+            Long[] result = new Long[size];
+            while (size > 0) {
+                result[--size] = ids[heap[0]];
+                heap[0] = heap[size];
+                siftDown(heap, size);
+            }
+            return Arrays.asList(result);
+        }
+
+        private boolean ranksAbove(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] > scores[b] : ids[a] < ids[b];
+        }
+
+        private void siftUp(int[] heap, int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!ranksAbove(heap[parent], heap[index])) {
+                    break;
+                }
+                swap(heap, parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int index = 0;
+            while (true) {
+                int weakest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && ranksAbove(heap[weakest], heap[left])) {
+                    weakest = left;
+                }
+                if (right < size && ranksAbove(heap[weakest], heap[right])) {
+                    weakest = right;
+                }
+                if (weakest == index) {
+                    return;
+                }
+                swap(heap, index, weakest);
+                index = weakest;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
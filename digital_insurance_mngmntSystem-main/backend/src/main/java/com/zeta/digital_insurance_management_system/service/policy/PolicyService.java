@@ -1,11 +1,15 @@
 package com.zeta.digital_insurance_management_system.service.policy;
 
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyPageDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicySearchRequest;
 import com.zeta.digital_insurance_management_system.model.Policy;
 
 import java.util.List;
 
 public interface PolicyService {
     List<Policy> getAllPolicies();
+    PolicyPageDTO searchPolicies(PolicySearchRequest request);
+    List<Policy> searchByText(String query, Integer limit);
     Policy createPolicy(Policy policy);
     Policy getPolicyById(Long id);
     Policy updatePolicy(Long id, Policy policy);
@@ -1,9 +1,16 @@
 package com.zeta.digital_insurance_management_system.service.policy;
 
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyPageDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicySearchRequest;
+import com.zeta.digital_insurance_management_system.enums.PolicySortField;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
 import com.zeta.digital_insurance_management_system.model.Policy;
 import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.PolicySpecifications;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,28 +19,86 @@ import java.util.List;
 public class PolicyServiceImpl implements PolicyService {
 
     private static final Logger logger = LoggerFactory.getLogger(PolicyServiceImpl.class);
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PolicyRepository policyRepository;
+    private final PolicyCatalog policyCatalog;
+    private final PolicySearchIndex searchIndex;
 
-    public PolicyServiceImpl(PolicyRepository policyRepository) {
+    public PolicyServiceImpl(PolicyRepository policyRepository, PolicyCatalog policyCatalog, PolicySearchIndex searchIndex) {
         this.policyRepository = policyRepository;
+        this.policyCatalog = policyCatalog;
+        this.searchIndex = searchIndex;
     }
 
     @Override
     public Policy createPolicy(Policy policy) {
         logger.info("Creating new policy: {}", policy.getName());
-        return policyRepository.save(policy);
+        Policy saved = policyRepository.save(policy);
+        policyCatalog.reload();
+        searchIndex.index(saved);
+        return saved;
     }
 
     @Override
     public List<Policy> getAllPolicies() {
         logger.info("Fetching all policies");
-        return policyRepository.findAll();
+        return policyCatalog.getAll();
+    }
+
+    // Keyset pagination: fetch one row more than the page size to learn whether another page exists,
+    // and continue from the last row's (sort key, id) instead of an offset.
+    @Override
+    public PolicyPageDTO searchPolicies(PolicySearchRequest request) {
+        int size = request.getSize() == null ? DEFAULT_PAGE_SIZE : request.getSize();
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentFoundException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        checkRange("premium", request.getMinPremium(), request.getMaxPremium());
+        checkRange("coverage", request.getMinCoverage(), request.getMaxCoverage());
+        checkRange("duration", request.getMinDuration(), request.getMaxDuration());
+
+        PolicySortField sortField = PolicySortField.from(request.getSort());
+        boolean descending = isDescending(request.getDirection());
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = sortField == PolicySortField.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortField.getAttribute(), "id");
+
+        Specification<Policy> spec = PolicySpecifications.matching(request);
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            PolicyCursor cursor = PolicyCursor.decode(request.getCursor(), sortField, descending);
+            spec = spec.and(PolicySpecifications.after(sortField, descending, cursor.value(), cursor.id()));
+        }
+
+        logger.info("Searching policies sorted by {} {} with page size {}", sortField, direction, size);
+        List<Policy> rows = policyRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = PolicyCursor.after(sortField, descending, rows.get(size - 1)).encode();
+        }
+        return new PolicyPageDTO(rows, rows.size(), nextCursor);
+    }
+
+    @Override
+    public List<Policy> searchByText(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentFoundException("Search query must not be empty");
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentFoundException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        logger.info("Searching policies for '{}'", query);
+        return searchIndex.search(query, size);
     }
 
     @Override
     public Policy getPolicyById(Long id) {
         logger.info("Fetching policy with ID: {}", id);
-        return policyRepository.findById(id).orElse(null);
+        return policyCatalog.getById(id).orElse(null);
     }
 
     @Override
@@ -50,7 +115,10 @@ public class PolicyServiceImpl implements PolicyService {
             existingPolicy.setCreatedAt(updatedPolicy.getCreatedAt());
             existingPolicy.setCategory(updatedPolicy.getCategory());
             logger.info("Policy updated: {}", existingPolicy.getName());
-            return policyRepository.save(existingPolicy);
+            Policy saved = policyRepository.save(existingPolicy);
+            policyCatalog.reload();
+            searchIndex.index(saved);
+            return saved;
         } else {
             logger.warn("Policy with ID {} not found for update", id);
             return null;
@@ -61,5 +129,23 @@ public class PolicyServiceImpl implements PolicyService {
     public void deletePolicy(Long id) {
         logger.info("Deleting policy with ID: {}", id);
         policyRepository.deleteById(id);
+        policyCatalog.reload();
+        searchIndex.remove(id);
+    }
+
+    private static <T extends Comparable<? super T>> void checkRange(String name, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentFoundException("Minimum " + name + " must not exceed maximum " + name);
+        }
+    }
+
+    private static boolean isDescending(String direction) {
+        if (direction == null || direction.isBlank() || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentFoundException("Unsupported sort direction: " + direction);
     }
 }
@@ -0,0 +1,229 @@
+package com.zeta.digital_insurance_management_system.service.quote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteBatchResponseDTO;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteRequestDTO;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteResultDTO;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Prices policies for an applicant's age, region and sum insured. The premium is the policy's premium
+// per unit of cover, times the sum insured, times the age, region and sum insured factors of the
+// policy's category. Policies are compiled into sorted primitive arrays once per catalog version, so
+// pricing one pair is a binary search plus a few array reads. Batches are split into chunks priced in
+// parallel on a pool with one thread per core.
+@Service
+public class QuoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteService.class);
+
+    private static final int MIN_CHUNK = 512;
+    private static final byte OK = 0;
+    private static final byte MISSING_POLICY = 1;
+    private static final byte UNKNOWN_POLICY = 2;
+    private static final byte INVALID_AGE = 3;
+    private static final byte UNKNOWN_REGION = 4;
+    private static final byte INVALID_SUM_INSURED = 5;
+    private static final String[] ERRORS = {
+            null,
+            "Policy id is required",
+            "Policy not found or cannot be quoted",
+            "Age is outside the rated range",
+            "Unknown region",
+            "Sum insured must be positive and not above the policy coverage"
+    };
+
+    private final PolicyCatalog policyCatalog;
+    private final RateTables rateTables;
+    private final int threads;
+    private final int maxItems;
+    private final ExecutorService executor;
+    private final Timer batchTimer;
+    private final AtomicReference<PolicyRates> policyRates = new AtomicReference<>();
+
+    public QuoteService(PolicyCatalog policyCatalog,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${quote.rate-tables:classpath:rating/rate-tables.json}") Resource rateTablesResource,
+                        @Value("${quote.batch.threads:0}") int threads,
+                        @Value("${quote.batch.max-items:10000}") int maxItems) throws IOException {
+        this.policyCatalog = policyCatalog;
+        try (InputStream in = rateTablesResource.getInputStream()) {
+            this.rateTables = RateTables.compile(objectMapper.readValue(in, RateTables.Definition.class));
+        }
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxItems = maxItems;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "quote-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchTimer = Timer.builder("quote.batch").register(meterRegistry);
+        logger.info("Loaded rate tables from {}", rateTablesResource.getDescription());
+    }
+
+    public QuoteResultDTO quote(QuoteRequestDTO request) {
+        if (request == null) {
+            throw new IllegalArgumentFoundException("Quote request is required");
+        }
+        PolicyRates rates = policyRates();
+        double[] premiums = new double[1];
+        byte[] errors = new byte[1];
+        price(rates, List.of(request), 0, 1, premiums, errors);
+        if (errors[0] != OK) {
+            throw new IllegalArgumentFoundException(ERRORS[errors[0]]);
+        }
+        return result(rates, request, 0, premiums[0], errors[0]);
+    }
+
+    public QuoteBatchResponseDTO quoteBatch(List<QuoteRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentFoundException("No quote requests given");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentFoundException("A quote batch may contain at most " + maxItems + " items");
+        }
+        long start = System.nanoTime();
+        PolicyRates rates = policyRates();
+        int size = requests.size();
+        double[] premiums = new double[size];
+        byte[] errors = new byte[size];
+
+        int chunk = Math.max(MIN_CHUNK, (size + threads - 1) / threads);
+        if (size <= chunk) {
+            price(rates, requests, 0, size, premiums, errors);
+        } else {
+            List<CompletableFuture<Void>> parts = new ArrayList<>();
+            for (int from = 0; from < size; from += chunk) {
+                int begin = from;
+                int end = Math.min(from + chunk, size);
+                parts.add(CompletableFuture.runAsync(() -> price(rates, requests, begin, end, premiums, errors), executor));
+            }
+            CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).join();
+        }
+
+        List<QuoteResultDTO> results = new ArrayList<>(size);
+        int failed = 0;
+        for (int i = 0; i < size; i++) {
+            if (errors[i] != OK) {
+                failed++;
+            }
+            results.add(result(rates, requests.get(i), i, premiums[i], errors[i]));
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        logger.info("Priced quote batch of {} items, {} failed", size, failed);
+        return new QuoteBatchResponseDTO(size - failed, failed, results);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void price(PolicyRates rates, List<QuoteRequestDTO> requests, int from, int to, double[] premiums, byte[] errors) {
+        for (int i = from; i < to; i++) {
+            QuoteRequestDTO request = requests.get(i);
+            if (request == null || request.getPolicyId() == null) {
+                errors[i] = MISSING_POLICY;
+                continue;
+            }
+            int policy = Arrays.binarySearch(rates.ids(), request.getPolicyId());
+            if (policy < 0) {
+                errors[i] = UNKNOWN_POLICY;
+                continue;
+            }
+            int ageBand = request.getAge() == null ? -1 : rateTables.ageBand(request.getAge());
+            if (ageBand < 0) {
+                errors[i] = INVALID_AGE;
+                continue;
+            }
+            int region = rateTables.regionIndex(request.getRegion());
+            if (region < 0) {
+                errors[i] = UNKNOWN_REGION;
+                continue;
+            }
+            double coverage = rates.coverage()[policy];
+            double sumInsured = request.getSumInsured() == null ? coverage : request.getSumInsured().doubleValue();
+            if (!(sumInsured > 0) || sumInsured > coverage) {
+                errors[i] = INVALID_SUM_INSURED;
+                continue;
+            }
+            premiums[i] = rates.premiumPerUnit()[policy] * sumInsured
+                    * rateTables.factor(rates.categories()[policy], ageBand, region, sumInsured);
+        }
+    }
+
+    private static QuoteResultDTO result(PolicyRates rates, QuoteRequestDTO request, int index, double premium, byte error) {
+        Long policyId = request == null ? null : request.getPolicyId();
+        if (error != OK) {
+            return new QuoteResultDTO(index, policyId, request == null ? null : request.getSumInsured(), null, ERRORS[error]);
+        }
+        BigDecimal sumInsured = request.getSumInsured();
+        if (sumInsured == null) {
+            sumInsured = BigDecimal.valueOf(rates.coverage()[Arrays.binarySearch(rates.ids(), policyId)]);
+        }
+        return new QuoteResultDTO(index, policyId, sumInsured, BigDecimal.valueOf(premium).setScale(2, RoundingMode.HALF_UP), null);
+    }
+
+    private PolicyRates policyRates() {
+        PolicyCatalog.Snapshot snapshot = policyCatalog.snapshot();
+        PolicyRates rates = policyRates.get();
+        if (rates != null && rates.version() == snapshot.version()) {
+            return rates;
+        }
+        rates = PolicyRates.compile(snapshot);
+        policyRates.set(rates);
+        return rates;
+    }
+
+    // Policies without a category, premium or coverage cannot be priced and are left out.
+    private record PolicyRates(long version, long[] ids, int[] categories, double[] premiumPerUnit, double[] coverage) {
+
+        private static PolicyRates compile(PolicyCatalog.Snapshot snapshot) {
+            List<Policy> quotable = snapshot.policies().stream()
+                    .filter(policy -> policy.getId() != null && policy.getCategory() != null
+                            && policy.getPremiumAmount() != null && policy.getPremiumAmount().signum() > 0
+                            && policy.getCoverageAmount() != null && policy.getCoverageAmount().signum() > 0)
+                    .sorted(Comparator.comparing(Policy::getId))
+                    .toList();
+            int size = quotable.size();
+            long[] ids = new long[size];
+            int[] categories = new int[size];
+            double[] premiumPerUnit = new double[size];
+            double[] coverage = new double[size];
+            for (int i = 0; i < size; i++) {
+                Policy policy = quotable.get(i);
+                ids[i] = policy.getId();
+                categories[i] = policy.getCategory().ordinal();
+                coverage[i] = policy.getCoverageAmount().doubleValue();
+                premiumPerUnit[i] = policy.getPremiumAmount().doubleValue() / coverage[i];
+            }
+            return new PolicyRates(snapshot.version(), ids, categories, premiumPerUnit, coverage);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.zeta.digital_insurance_management_system.service.quote;
+
+import com.zeta.digital_insurance_management_system.enums.Category;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Rating factors compiled from their JSON definition into flat primitive arrays indexed by category
+// ordinal and band, so rating an applicant is a few array reads and multiplications and allocates
+// nothing. Band bounds are inclusive upper limits; sum insured above the last bound uses one more
+// factor, ages above the last bound are not rated.
+public final class RateTables {
+
+    private final int minAge;
+    private final int[] ageBands;
+    private final double[] sumInsuredBands;
+    private final Map<String, Integer> regionIndex;
+    private final int regionCount;
+    private final double[] ageFactors;
+    private final double[] regionFactors;
+    private final double[] sumInsuredFactors;
+
+    private RateTables(int minAge, int[] ageBands, double[] sumInsuredBands, Map<String, Integer> regionIndex,
+                       double[] ageFactors, double[] regionFactors, double[] sumInsuredFactors) {
+        this.minAge = minAge;
+        this.ageBands = ageBands;
+        this.sumInsuredBands = sumInsuredBands;
+        this.regionIndex = regionIndex;
+        this.regionCount = regionIndex.size();
+        this.ageFactors = ageFactors;
+        this.regionFactors = regionFactors;
+        this.sumInsuredFactors = sumInsuredFactors;
+    }
+
+    public static RateTables compile(Definition definition) {
+        int[] ageBands = definition.ageBands();
+        double[] sumInsuredBands = definition.sumInsuredBands();
+        List<String> regions = definition.regions();
+        if (ageBands == null || ageBands.length == 0 || sumInsuredBands == null || regions == null || regions.isEmpty()) {
+            throw new IllegalStateException("Rate tables need age bands, sum insured bands and regions");
+        }
+        checkAscending("age bands", ageBands);
+        for (int i = 1; i < sumInsuredBands.length; i++) {
+            if (sumInsuredBands[i] <= sumInsuredBands[i - 1]) {
+                throw new IllegalStateException("Rate table sum insured bands must be ascending");
+            }
+        }
+
+        Map<String, Integer> regionIndex = new HashMap<>();
+        for (String region : regions) {
+            if (regionIndex.put(region.trim().toUpperCase(Locale.ROOT), regionIndex.size()) != null) {
+                throw new IllegalStateException("Duplicate region in rate tables: " + region);
+            }
+        }
+
+        Category[] categories = Category.values();
+        int sumInsuredFactorCount = sumInsuredBands.length + 1;
+        double[] ageFactors = new double[categories.length * ageBands.length];
+        double[] regionFactors = new double[categories.length * regions.size()];
+        double[] sumInsuredFactors = new double[categories.length * sumInsuredFactorCount];
+        for (Category category : categories) {
+            CategoryRates rates = definition.categories() == null ? null : definition.categories().get(category);
+            if (rates == null) {
+                throw new IllegalStateException("Rate tables have no rates for " + category);
+            }
+            int c = category.ordinal();
+            copy(category, "age", rates.age(), ageFactors, c * ageBands.length, ageBands.length);
+            copy(category, "region", rates.region(), regionFactors, c * regions.size(), regions.size());
+            copy(category, "sumInsured", rates.sumInsured(), sumInsuredFactors, c * sumInsuredFactorCount, sumInsuredFactorCount);
+        }
+        return new RateTables(definition.minAge(), ageBands.clone(), sumInsuredBands.clone(), Map.copyOf(regionIndex),
+                ageFactors, regionFactors, sumInsuredFactors);
+    }
+
+    // Returns -1 for regions the tables do not know.
+    public int regionIndex(String region) {
+        if (region == null) {
+            return -1;
+        }
+        Integer index = regionIndex.get(region);
+        if (index == null) {
+            index = regionIndex.get(region.trim().toUpperCase(Locale.ROOT));
+        }
+        return index == null ? -1 : index;
+    }
+
+    // Returns -1 for ages outside the rated range.
+    public int ageBand(int age) {
+        if (age < minAge) {
+            return -1;
+        }
+        for (int band = 0; band < ageBands.length; band++) {
+            if (age <= ageBands[band]) {
+                return band;
+            }
+        }
+        return -1;
+    }
+
+    public double factor(int categoryOrdinal, int ageBand, int regionIndex, double sumInsured) {
+        int sumInsuredBand = sumInsuredBands.length;
+        for (int band = 0; band < sumInsuredBands.length; band++) {
+            if (sumInsured <= sumInsuredBands[band]) {
+                sumInsuredBand = band;
+                break;
+            }
+        }
+        return ageFactors[categoryOrdinal * ageBands.length + ageBand]
+                * regionFactors[categoryOrdinal * regionCount + regionIndex]
+                * sumInsuredFactors[categoryOrdinal * (sumInsuredBands.length + 1) + sumInsuredBand];
+    }
+
+    private static void checkAscending(String name, int[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalStateException("Rate table " + name + " must be ascending");
+            }
+        }
+    }
+
+    private static void copy(Category category, String name, double[] factors, double[] target, int offset, int expected) {
+        if (factors == null || factors.length != expected) {
+            throw new IllegalStateException("Rate tables need " + expected + " " + name + " factors for " + category);
+        }
+        for (double factor : factors) {
+            if (!(factor > 0)) {
+                throw new IllegalStateException("Rate table factors must be positive, found " + factor + " for " + category);
+            }
+        }
+        System.arraycopy(factors, 0, target, offset, expected);
+    }
+
+    public record Definition(int minAge, int[] ageBands, double[] sumInsuredBands, List<String> regions,
+                             Map<Category, CategoryRates> categories) {
+    }
+
+    public record CategoryRates(double[] age, double[] region, double[] sumInsured) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.zeta.digital_insurance_management_system.service.user;
+
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bloom filter of registered e-mails so registration can skip the lookup query for addresses that
+// are certainly new. Until the filter has been built every address is reported as possibly taken.
+// Addresses inserted elsewhere (other instances, seeding) may be missing, which is safe because the
+// unique constraint still rejects the insert.
+@Service
+public class RegisteredEmailFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int PAGE_SIZE = 5000;
+
+    private final UserRepository userRepository;
+    private final int expectedEntries;
+    private final AtomicInteger entries = new AtomicInteger();
+    private final Counter skipped;
+    private final Counter checked;
+    private volatile BloomFilter filter;
+    private volatile int capacity;
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${user.email-filter.expected-entries:100000}") int expectedEntries) {
+        this.userRepository = userRepository;
+        this.expectedEntries = Math.max(1, expectedEntries);
+        this.skipped = Counter.builder("user.register.email.lookup").tag("result", "skipped").register(meterRegistry);
+        this.checked = Counter.builder("user.register.email.lookup").tag("result", "queried").register(meterRegistry);
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        if (current == null || email == null || current.mightContain(normalize(email))) {
+            checked.increment();
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    public void put(String email) {
+        BloomFilter current = filter;
+        if (current == null || email == null) {
+            return;
+        }
+        current.put(normalize(email));
+        if (entries.incrementAndGet() == capacity) {
+            logger.warn("Registered e-mail filter reached its capacity of {}, it will grow on the next rebuild", capacity);
+        }
+    }
+
+    // Runs after the seeders so their users are included.
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    // Picks up users added by other instances and keeps the false positive rate in check.
+    @Scheduled(fixedDelayString = "${user.email-filter.rebuild-ms:3600000}", initialDelayString = "${user.email-filter.rebuild-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        int newCapacity = Math.max(expectedEntries, (int) Math.min(Integer.MAX_VALUE / 2, userRepository.count()) * 2);
+        BloomFilter replacement = new BloomFilter(newCapacity, FALSE_POSITIVE_RATE);
+        int count = 0;
+        Slice<String> page = userRepository.findAllEmails(PageRequest.of(0, PAGE_SIZE));
+        while (true) {
+            for (String email : page) {
+                replacement.put(normalize(email));
+                count++;
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            page = userRepository.findAllEmails(page.nextPageable());
+        }
+        capacity = newCapacity;
+        entries.set(count);
+        filter = replacement;
+        logger.info("Built registered e-mail filter with {} addresses in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
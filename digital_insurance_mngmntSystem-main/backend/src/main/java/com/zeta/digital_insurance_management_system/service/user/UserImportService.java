@@ -0,0 +1,424 @@
+package com.zeta.digital_insurance_management_system.service.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.auth.UserImportErrorDTO;
+import com.zeta.digital_insurance_management_system.dto.auth.UserImportJobDTO;
+import com.zeta.digital_insurance_management_system.dto.auth.UserImportRow;
+import com.zeta.digital_insurance_management_system.enums.ImportJobStatus;
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Imports users in bulk from CSV or NDJSON. The upload is spooled to a temporary file and processed
+// in the background one batch at a time, so memory use does not depend on the file size. Passwords
+// of a batch are hashed in parallel and the rows are written with a single JDBC batch insert; rows
+// that fail are reported with their line number.
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_SQL = "insert into app_user (name, email, password, phone, address, role, token_version) "
+            + "values (?, ?, ?, ?, ?, ?, 0)";
+    private static final String EXISTING_EMAILS_SQL = "select email from app_user where email in (:emails)";
+    private static final int MAX_RETAINED_JOBS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService hashExecutor;
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PasswordEncoder passwordEncoder,
+                             RegisteredEmailFilter registeredEmailFilter,
+                             ObjectMapper objectMapper,
+                             @Value("${user.import.hash-threads:0}") int hashThreads,
+                             @Value("${user.import.batch-size:500}") int batchSize,
+                             @Value("${user.import.max-errors:1000}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxErrors = maxErrors;
+        this.jobExecutor = Executors.newSingleThreadExecutor(daemonThreads("user-import"));
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, daemonThreads("user-import-hash"));
+    }
+
+    public UserImportJobDTO submit(InputStream body, String contentType) throws IOException {
+        Format format = Format.fromContentType(contentType);
+        Path file = Files.createTempFile("user-import-", format.extension);
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        logger.info("Queued user import job {} ({} bytes of {})", job.id, Files.size(file), format);
+        jobExecutor.execute(() -> run(job, file, format));
+        return job.toDTO();
+    }
+
+    public UserImportJobDTO getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashExecutor.shutdownNow();
+    }
+
+    private void run(ImportJob job, Path file, Format format) {
+        job.status = ImportJobStatus.RUNNING;
+        long start = System.currentTimeMillis();
+        ImportJobStatus outcome = ImportJobStatus.FAILED;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowReader rows = format == Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            List<ParsedRow> batch = new ArrayList<>(batchSize);
+            ParsedRow row;
+            while ((row = rows.next()) != null) {
+                String problem = row.error != null ? row.error : validate(row.data);
+                if (problem != null) {
+                    job.reject(row, problem);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    importBatch(job, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(job, batch);
+            }
+            outcome = ImportJobStatus.COMPLETED;
+            logger.info("User import job {} finished in {} ms: {} imported, {} failed",
+                    job.id, System.currentTimeMillis() - start, job.imported.get(), job.failed.get());
+        } catch (IOException | RuntimeException e) {
+            job.message = e.getMessage();
+            logger.error("User import job {} failed", job.id, e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            job.status = outcome;
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete import file {}", file);
+            }
+        }
+    }
+
+    private void importBatch(ImportJob job, List<ParsedRow> batch) {
+        Set<String> seen = new HashSet<>();
+        Set<String> existing = new HashSet<>();
+        for (String email : namedJdbcTemplate.queryForList(EXISTING_EMAILS_SQL,
+                Map.of("emails", batch.stream().map(row -> row.data.getEmail()).toList()), String.class)) {
+            existing.add(normalize(email));
+        }
+
+        List<ParsedRow> accepted = new ArrayList<>(batch.size());
+        for (ParsedRow row : batch) {
+            String email = normalize(row.data.getEmail());
+            if (existing.contains(email)) {
+                job.reject(row, "User already exists");
+            } else if (!seen.add(email)) {
+                job.reject(row, "Duplicate e-mail in file");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<String>> hashes = accepted.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.data.getPassword()), hashExecutor))
+                .toList();
+        List<Object[]> params = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            UserImportRow data = accepted.get(i).data;
+            params.add(new Object[]{data.getName(), data.getEmail().trim(), hashes.get(i).join(),
+                    data.getPhone(), data.getAddress(), Role.USER.name()});
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, params));
+            for (ParsedRow row : accepted) {
+                job.accept(row);
+            }
+        } catch (DataAccessException e) {
+            // A concurrent signup can still take an address between the check and the insert. The
+            // batch was rolled back, so insert its rows one by one to find the offending ones.
+            logger.warn("Batch insert failed for import job {}, retrying rows individually", job.id);
+            for (int i = 0; i < accepted.size(); i++) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, params.get(i));
+                    job.accept(accepted.get(i));
+                } catch (DataIntegrityViolationException rowError) {
+                    job.reject(accepted.get(i), "User already exists");
+                }
+            }
+        }
+    }
+
+    private void remember(ParsedRow row) {
+        registeredEmailFilter.put(row.data.getEmail());
+    }
+
+    private static String validate(UserImportRow row) {
+        if (row.getEmail() == null || row.getEmail().isBlank() || !row.getEmail().contains("@")) {
+            return "A valid e-mail is required";
+        }
+        if (row.getPassword() == null || row.getPassword().isBlank()) {
+            return "Password is required";
+        }
+        return null;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private enum Format {
+        CSV(".csv"),
+        NDJSON(".ndjson");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        static Format fromContentType(String contentType) {
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/ndjson")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentFoundException("Unsupported import format: " + contentType);
+        }
+    }
+
+    private record ParsedRow(long line, UserImportRow data, String error) {
+    }
+
+    private interface RowReader {
+        ParsedRow next() throws IOException;
+    }
+
+    // Expects a header row naming the columns (name, email, password, phone, address) in any order.
+    // Quoted fields may contain commas and doubled quotes but not line breaks.
+    private static final class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long line;
+
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header = reader.readLine();
+            line = 1;
+            if (header == null) {
+                throw new IllegalArgumentFoundException("CSV import is empty");
+            }
+            List<String> names = parseLine(header.replace("\uFEFF", ""));
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("email") || !columns.containsKey("password")) {
+                throw new IllegalArgumentFoundException("CSV header must contain email and password columns");
+            }
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+            List<String> values;
+            try {
+                values = parseLine(text);
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(line, new UserImportRow(), e.getMessage());
+            }
+            UserImportRow row = new UserImportRow(value(values, "name"), value(values, "email"),
+                    value(values, "password"), value(values, "phone"), value(values, "address"));
+            return new ParsedRow(line, row, null);
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static List<String> parseLine(String text) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            values.add(current.toString());
+            return values;
+        }
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+            try {
+                return new ParsedRow(line, objectMapper.readValue(text, UserImportRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(line, new UserImportRow(), "Malformed JSON");
+            }
+        }
+    }
+
+    private final class ImportJob {
+        private final String id;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<UserImportErrorDTO> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+        private volatile boolean errorsTruncated;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void accept(ParsedRow row) {
+            processed.incrementAndGet();
+            imported.incrementAndGet();
+            remember(row);
+        }
+
+        private void reject(ParsedRow row, String reason) {
+            processed.incrementAndGet();
+            failed.incrementAndGet();
+            if (errors.size() < maxErrors) {
+                errors.add(new UserImportErrorDTO(row.line, row.data.getEmail(), reason));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private UserImportJobDTO toDTO() {
+            List<UserImportErrorDTO> snapshot;
+            synchronized (errors) {
+                snapshot = new ArrayList<>(errors);
+            }
+            return new UserImportJobDTO(id, status, processed.get(), imported.get(), failed.get(),
+                    submittedAt, finishedAt, message, snapshot, errorsTruncated);
+        }
+    }
+}
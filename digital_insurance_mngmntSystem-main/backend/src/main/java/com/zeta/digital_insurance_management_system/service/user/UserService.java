@@ -1,12 +1,15 @@
 package com.zeta.digital_insurance_management_system.service.user;
 
+import com.zeta.digital_insurance_management_system.dto.auth.AuthResponseDTO;
 import com.zeta.digital_insurance_management_system.model.User;
 
 import java.util.List;
 
 public interface UserService {
     User register(User user);
-    String login(User user);
+    AuthResponseDTO login(User user);
+    AuthResponseDTO refresh(String refreshToken);
+    void logout(String accessToken, String refreshToken);
     List<User> getAllUsers();
     User getUserById(long id);
 }
@@ -1,19 +1,25 @@
 package com.zeta.digital_insurance_management_system.service.user;
 
+import com.zeta.digital_insurance_management_system.dto.auth.AuthResponseDTO;
 import com.zeta.digital_insurance_management_system.dto.auth.UserDTO;
 import com.zeta.digital_insurance_management_system.enums.Role;
 import com.zeta.digital_insurance_management_system.exception.InvalidCredentialsException;
 import com.zeta.digital_insurance_management_system.exception.UserAlreadyExistException;
 import com.zeta.digital_insurance_management_system.model.User;
 import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.security.Model.UserPrincipal;
 import com.zeta.digital_insurance_management_system.security.jwt.JwtService;
+import com.zeta.digital_insurance_management_system.security.service.MyUserDetailsService;
+import com.zeta.digital_insurance_management_system.security.service.PasswordVerificationService;
+import com.zeta.digital_insurance_management_system.security.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -30,44 +36,127 @@ public class UserServiceImpl implements UserService {
     private JwtService jwtService;
 
     @Autowired
-    AuthenticationManager authenticationManager;
+    private PasswordVerificationService passwordVerificationService;
 
     @Autowired
     private UserRepository userRepository;
 
-    private BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+    @Autowired
+    private PasswordEncoder encoder;
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
 
     public User register(User user) {
         logger.info("Attempting to register user with email: {}", user.getEmail());
-        User existingUser = userRepository.findByEmail(user.getEmail());
-        if (existingUser != null) {
+        if (registeredEmailFilter.mightContain(user.getEmail()) && userRepository.findByEmail(user.getEmail()) != null) {
             logger.warn("Registration failed. User already exists with email: {}", user.getEmail());
             throw new UserAlreadyExistException("User already exists");
         }
         user.setRole(Role.USER);
         user.setPassword(encoder.encode(user.getPassword()));
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Other violations (NOT NULL, column length) are not a taken e-mail, so only a stored
+            // user with this address is reported as one.
+            if (userRepository.findByEmail(user.getEmail()) == null) {
+                throw e;
+            }
+            logger.warn("Registration failed. Email already taken: {}", user.getEmail());
+            throw new UserAlreadyExistException("User already exists");
+        }
+        registeredEmailFilter.put(user.getEmail());
         logger.info("User registered successfully with email: {}", user.getEmail());
         return user;
     }
 
-    public String login(User user) {
+    public AuthResponseDTO login(User user) {
         logger.info("Login attempt for email: {}", user.getEmail());
+        long start = System.nanoTime();
         User existingUser = userRepository.findByEmail(user.getEmail());
         if (existingUser == null) {
             logger.warn("Login failed. No user found with email: {}", user.getEmail());
+            passwordVerificationService.recordLogin("failure", start);
             throw new InvalidCredentialsException("Invalid credentials");
         }
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(user.getEmail(), user.getPassword())
-            );
-            logger.info("Login successful for email: {}", user.getEmail());
-            return jwtService.generateToken(existingUser);
-        } catch (Exception e) {
+        if (user.getPassword() == null || !passwordVerificationService.matches(user.getPassword(), existingUser.getPassword())) {
             logger.error("Login failed due to authentication error for email: {}", user.getEmail());
+            passwordVerificationService.recordLogin("failure", start);
             throw new InvalidCredentialsException("Invalid credentials");
         }
+        logger.info("Login successful for email: {}", user.getEmail());
+        if (passwordVerificationService.needsRehash(existingUser.getPassword())) {
+            UserPrincipal principal = new UserPrincipal(existingUser);
+            passwordVerificationService.rehashAsync(user.getPassword(),
+                    newHash -> userDetailsService.updatePassword(principal, newHash));
+        }
+        AuthResponseDTO response = issueTokens(existingUser);
+        passwordVerificationService.recordLogin("success", start);
+        return response;
+    }
+
+    // Refresh tokens are single use: the presented token is revoked and a new pair is issued.
+    @Override
+    public AuthResponseDTO refresh(String refreshToken) {
+        Claims claims = parseClaims(refreshToken);
+        if (claims == null || !jwtService.isRefreshToken(claims) || !(claims.get("userId") instanceof Number userId)) {
+            logger.warn("Refresh failed. Token is invalid or not a refresh token");
+            throw new InvalidCredentialsException("Invalid refresh token");
+        }
+        User user = userRepository.findById(userId.longValue()).orElse(null);
+        Object tokenVersion = claims.get("tokenVersion");
+        if (user == null || !(tokenVersion instanceof Number version) || version.intValue() != user.getTokenVersion()) {
+            logger.warn("Refresh failed. Tokens for userId {} are no longer valid", userId);
+            throw new InvalidCredentialsException("Invalid refresh token");
+        }
+        if (!tokenRevocationService.revoke(claims.getId(), user.getId(), claims.getExpiration())) {
+            logger.warn("Refresh failed. Refresh token {} was already used or revoked", claims.getId());
+            throw new InvalidCredentialsException("Invalid refresh token");
+        }
+        logger.info("Issued new tokens for userId: {}", user.getId());
+        return issueTokens(user);
+    }
+
+    // Revokes the caller's access token and, when it belongs to the same user, their refresh token.
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        String email = getCurrentEmail();
+        Claims accessClaims = parseClaims(accessToken);
+        if (accessClaims != null && accessClaims.getSubject().equals(email)) {
+            revoke(accessClaims);
+        }
+        Claims refreshClaims = parseClaims(refreshToken);
+        if (refreshClaims != null && jwtService.isRefreshToken(refreshClaims) && refreshClaims.getSubject().equals(email)) {
+            revoke(refreshClaims);
+        }
+        logger.info("Logged out user with email: {}", email);
+    }
+
+    private AuthResponseDTO issueTokens(User user) {
+        return new AuthResponseDTO(jwtService.generateToken(user), jwtService.generateRefreshToken(user), convertToDTO(user));
+    }
+
+    private void revoke(Claims claims) {
+        Long userId = claims.get("userId") instanceof Number id ? id.longValue() : null;
+        tokenRevocationService.revoke(claims.getId(), userId, claims.getExpiration());
+    }
+
+    private Claims parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return jwtService.extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     @Override
@@ -0,0 +1,58 @@
+package com.zeta.digital_insurance_management_system.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Count-min sketch over long keys. Estimates never undercount; they overcount by at most a small
+// fraction of the total added, with the error bounded by the width and the confidence by the depth.
+// Safe for concurrent use.
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L};
+
+    private final AtomicLongArray counts;
+    private final int width;
+    private final int depth;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Width must be positive and depth between 1 and " + SEEDS.length);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counts = new AtomicLongArray(width * depth);
+    }
+
+    // Adds to every row and returns the new estimate for the key.
+    public long add(long key, long count) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.addAndGet(index(row, key), count));
+        }
+        return estimate;
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(index(row, key)));
+        }
+        return estimate;
+    }
+
+    // Halves every cell so older counts weigh less than recent ones.
+    public void decay() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.getAndUpdate(i, value -> value >>> 1);
+        }
+    }
+
+    private int index(int row, long key) {
+        long hash = (key ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        hash *= 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return row * width + (int) ((hash >>> 1) % width);
+    }
+}
@@ -0,0 +1,19 @@
+package com.zeta.digital_insurance_management_system.util;
+
+import java.util.Map;
+
+// Helpers for the keys JdbcTemplate returns from inserts.
+public final class JdbcKeys {
+
+    private JdbcKeys() {
+    }
+
+    // Drivers name the generated key column differently (ID, id, GENERATED_KEY), so take the only value.
+    public static Long generatedId(Map<String, Object> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return null;
+        }
+        Object key = keys.values().iterator().next();
+        return key instanceof Number number ? number.longValue() : null;
+    }
+}
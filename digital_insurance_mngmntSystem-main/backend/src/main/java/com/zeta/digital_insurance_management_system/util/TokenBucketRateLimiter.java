@@ -0,0 +1,97 @@
+package com.zeta.digital_insurance_management_system.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Keyed token buckets. The map locks per bin and each bucket locks only itself, so callers with
+// different keys rarely contend. Buckets that have refilled completely are equivalent to a new
+// bucket and are evicted; once maxKeys is reached new keys share a single overflow bucket rather
+// than growing the map.
+public class TokenBucketRateLimiter {
+
+    private static final String OVERFLOW_KEY = "\u0000overflow";
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int maxKeys;
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxKeys = maxKeys;
+    }
+
+    // Returns 0 when a token was taken, otherwise the number of seconds until one is available.
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle(now);
+            }
+            bucket = buckets.size() >= maxKeys
+                    ? buckets.computeIfAbsent(OVERFLOW_KEY, k -> new Bucket(capacity, now))
+                    : buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    // Gives back a token taken by tryAcquire, for a request that another limit then turned away.
+    public void refund(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.refund(System.nanoTime());
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        synchronized long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            long nanosUntilToken = (long) Math.ceil((1 - tokens) / tokensPerNano);
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanosUntilToken + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+
+        synchronized void refund(long now) {
+            refill(now);
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
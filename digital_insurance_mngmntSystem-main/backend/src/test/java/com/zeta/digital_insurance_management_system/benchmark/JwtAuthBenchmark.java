@@ -0,0 +1,60 @@
+package com.zeta.digital_insurance_management_system.benchmark;
+
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.security.Model.UserPrincipal;
+import com.zeta.digital_insurance_management_system.security.jwt.JwtService;
+import com.zeta.digital_insurance_management_system.security.jwt.SigningKeyRing;
+import com.zeta.digital_insurance_management_system.security.jwt.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request JWT cost as seen by JwtFilter followed by one getCurrentUserId() call in a controller.
+// cacheEntries=0 reproduces the old behaviour where every call re-parses and re-verifies the token.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=com.zeta.digital_insurance_management_system.benchmark.JwtAuthBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    @Param({"0", "10000"})
+    private int cacheEntries;
+
+    private JwtService jwtService;
+    private UserPrincipal userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("john.doe@example.com");
+        user.setRole(Role.USER);
+
+        jwtService = new JwtService(new VerifiedTokenCache(cacheEntries, 300), SigningKeyRing.ephemeral(), 900, 1209600);
+        userDetails = new UserPrincipal(user);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public void authenticateRequest(Blackhole blackhole) {
+        blackhole.consume(jwtService.extractUserName(token));
+        blackhole.consume(jwtService.validateToken(token, userDetails));
+        blackhole.consume(jwtService.extractUserId(token));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.zeta.digital_insurance_management_system.benchmark;
+
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.policy.PolicySearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Full-text query latency over a synthetic catalog of generated product variants.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=com.zeta.digital_insurance_management_system.benchmark.PolicySearchBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicySearchBenchmark {
+
+    private static final String[] WORDS = {
+            "life", "health", "vehicle", "family", "senior", "critical", "illness", "term", "plan", "cover",
+            "premium", "basic", "comprehensive", "cashless", "hospital", "accident", "travel", "home", "floater",
+            "maternity", "dental", "rider", "return", "savings", "child", "pension", "two-wheeler", "car", "fleet"};
+
+    @Param({"5000"})
+    private int policies;
+
+    private PolicySearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Policy> generated = new ArrayList<>();
+        for (long id = 1; id <= policies; id++) {
+            generated.add(new Policy(id, words(random, 3) + " " + id, words(random, 20),
+                    BigDecimal.valueOf(100 + random.nextInt(5000)), BigDecimal.valueOf(10000 + random.nextInt(1000000)),
+                    12, new BigDecimal("0.05"), null, Category.values()[random.nextInt(Category.values().length)]));
+        }
+        PolicyRepository repository = Mockito.mock(PolicyRepository.class);
+        Mockito.when(repository.findAll()).thenReturn(generated);
+        PolicyCatalog catalog = new PolicyCatalog(repository, new SimpleMeterRegistry());
+        catalog.reload();
+        searchIndex = new PolicySearchIndex(catalog, new SimpleMeterRegistry());
+        searchIndex.rebuild();
+    }
+
+    @Benchmark
+    public void singleTerm(Blackhole blackhole) {
+        blackhole.consume(searchIndex.search("cashless", 20));
+    }
+
+    @Benchmark
+    public void prefixAndTerms(Blackhole blackhole) {
+        blackhole.consume(searchIndex.search("family health hosp", 20));
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PolicySearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.zeta.digital_insurance_management_system.controller;
+
+import com.zeta.digital_insurance_management_system.dto.auth.UserImportJobDTO;
+import com.zeta.digital_insurance_management_system.enums.ImportJobStatus;
+import com.zeta.digital_insurance_management_system.service.user.UserImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = AdminUserController.class)
+@ContextConfiguration(classes = {AdminUserController.class})
+@Import(AdminUserControllerTest.TestSecurityConfig.class)
+public class AdminUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @Configuration
+    @EnableWebSecurity
+    static class TestSecurityConfig {
+        @Bean
+        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+            http.csrf(AbstractHttpConfigurer::disable)
+                    .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+            return http.build();
+        }
+    }
+
+    private UserImportJobDTO job(ImportJobStatus status) {
+        return new UserImportJobDTO("job-1", status, 0, 0, 0, LocalDateTime.now(), null, null, Collections.emptyList(), false);
+    }
+
+    @Test
+    void importUsers_shouldReturnAcceptedJob() throws Exception {
+        when(userImportService.submit(any(InputStream.class), startsWith("text/csv"))).thenReturn(job(ImportJobStatus.QUEUED));
+
+        mockMvc.perform(post("/admin/users/import")
+                        .contentType("text/csv")
+                        .content("email,password\nalice@example.com,secret\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/admin/users/import/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verify(userImportService, times(1)).submit(any(InputStream.class), startsWith("text/csv"));
+    }
+
+    @Test
+    void importUsers_shouldAcceptBothNdjsonMediaTypes() throws Exception {
+        when(userImportService.submit(any(InputStream.class), anyString())).thenReturn(job(ImportJobStatus.QUEUED));
+
+        for (String contentType : new String[]{"application/x-ndjson", "application/ndjson"}) {
+            mockMvc.perform(post("/admin/users/import")
+                            .contentType(contentType)
+                            .content("{\"email\":\"alice@example.com\",\"password\":\"secret\"}\n"))
+                    .andExpect(status().isAccepted());
+
+            verify(userImportService, times(1)).submit(any(InputStream.class), startsWith(contentType));
+        }
+    }
+
+    @Test
+    void importUsers_shouldRejectUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/admin/users/import")
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(userImportService);
+    }
+
+    @Test
+    void getImportJob_shouldReturnJobStatus() throws Exception {
+        when(userImportService.getJob("job-1")).thenReturn(job(ImportJobStatus.RUNNING));
+
+        mockMvc.perform(get("/admin/users/import/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+}
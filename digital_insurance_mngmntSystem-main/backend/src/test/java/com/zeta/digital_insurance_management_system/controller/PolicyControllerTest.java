@@ -1,9 +1,21 @@
 package com.zeta.digital_insurance_management_system.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyBulkItemResultDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyBulkResultDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyPageDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.RecommendedPolicyDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.TrendingPolicyDTO;
+import com.zeta.digital_insurance_management_system.enums.BulkItemStatus;
 import com.zeta.digital_insurance_management_system.enums.Category;
 import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyBulkService;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalogResponseCache;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyRecommendationEngine;
 import com.zeta.digital_insurance_management_system.service.policy.PolicyService;
+import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,12 +32,19 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -34,7 +53,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = PolicyController.class)
-@ContextConfiguration(classes = {PolicyController.class})
+@ContextConfiguration(classes = {PolicyController.class, PolicyCatalogResponseCache.class})
 @Import(PolicyControllerTest.TestSecurityConfig.class)
 public class PolicyControllerTest {
 
@@ -47,6 +66,23 @@ public class PolicyControllerTest {
     @MockBean
     private PolicyService policyService;
 
+    @MockBean
+    private PolicyCatalog policyCatalog;
+
+    @MockBean
+    private PolicyBulkService policyBulkService;
+
+    @MockBean
+    private PolicyPopularityTracker popularityTracker;
+
+    @MockBean
+    private PolicyRecommendationEngine recommendationEngine;
+
+    @MockBean
+    private UserServiceImpl userService;
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
     private Policy testPolicy1;
     private Policy testPolicy2;
 
@@ -61,6 +97,11 @@ public class PolicyControllerTest {
         }
     }
 
+    // The response cache bean outlives a single test, so every stubbed snapshot gets a fresh version
+    private PolicyCatalog.Snapshot snapshot(List<Policy> policies) {
+        return new PolicyCatalog.Snapshot(VERSIONS.incrementAndGet(), policies, Map.of(), Instant.now());
+    }
+
     @BeforeEach
     void setUp() {
         testPolicy1 = new Policy();
@@ -89,7 +130,7 @@ public class PolicyControllerTest {
     @Test
     void getAllPolicies_shouldReturnListOfPolicies() throws Exception {
         List<Policy> policies = Arrays.asList(testPolicy1, testPolicy2);
-        when(policyService.getAllPolicies()).thenReturn(policies);
+        when(policyCatalog.snapshot()).thenReturn(snapshot(policies));
 
         mockMvc.perform(get("/policies"))
                 .andDo(print())
@@ -103,12 +144,12 @@ public class PolicyControllerTest {
                 .andExpect(jsonPath("$[1].name").value(testPolicy2.getName()))
                 .andExpect(jsonPath("$[1].category").value(testPolicy2.getCategory().name()));
 
-        verify(policyService, times(1)).getAllPolicies();
+        verify(policyCatalog, times(1)).snapshot();
     }
 
     @Test
     void getAllPolicies_shouldReturnEmptyList_whenNoPolicies() throws Exception {
-        when(policyService.getAllPolicies()).thenReturn(Collections.emptyList());
+        when(policyCatalog.snapshot()).thenReturn(snapshot(Collections.emptyList()));
 
         mockMvc.perform(get("/policies"))
                 .andDo(print())
@@ -116,7 +157,116 @@ public class PolicyControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.size()").value(0));
 
-        verify(policyService, times(1)).getAllPolicies();
+        verify(policyCatalog, times(1)).snapshot();
+    }
+
+    @Test
+    void getAllPolicies_shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(policyCatalog.snapshot()).thenReturn(snapshot(Arrays.asList(testPolicy1, testPolicy2)));
+
+        String etag = mockMvc.perform(get("/policies"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/policies").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllPolicies_shouldChangeETag_whenCatalogChanges() throws Exception {
+        when(policyCatalog.snapshot()).thenReturn(snapshot(Collections.singletonList(testPolicy1)));
+        String etag = mockMvc.perform(get("/policies"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        when(policyCatalog.snapshot()).thenReturn(snapshot(Arrays.asList(testPolicy1, testPolicy2)));
+
+        mockMvc.perform(get("/policies").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2));
+    }
+
+    @Test
+    void getAllPolicies_shouldReturnGzipBody_whenAccepted() throws Exception {
+        when(policyCatalog.snapshot()).thenReturn(snapshot(Arrays.asList(testPolicy1, testPolicy2)));
+
+        byte[] body = mockMvc.perform(get("/policies").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(json.contains(testPolicy2.getName()));
+    }
+
+    @Test
+    void getAllPolicies_shouldReturnPlainBody_whenGzipRefused() throws Exception {
+        when(policyCatalog.snapshot()).thenReturn(snapshot(Arrays.asList(testPolicy1, testPolicy2)));
+
+        for (String acceptEncoding : new String[]{"gzip;q=0, deflate", "*;q=1, gzip; q=0.0", "identity", "br"}) {
+            mockMvc.perform(get("/policies").header("Accept-Encoding", acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(jsonPath("$.size()").value(2));
+        }
+        mockMvc.perform(get("/policies").header("Accept-Encoding", "deflate;q=1, *;q=0.5"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    void getAllPolicies_shouldSearch_whenQueryParametersGiven() throws Exception {
+        when(policyService.searchPolicies(any())).thenReturn(
+                new PolicyPageDTO(Collections.singletonList(testPolicy1), 1, "next"));
+
+        mockMvc.perform(get("/policies")
+                        .param("category", "LIFE")
+                        .param("minPremium", "100")
+                        .param("sort", "premium")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value(testPolicy1.getName()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(policyService).searchPolicies(argThat(search -> search.getCategory() == Category.LIFE
+                && new BigDecimal("100").equals(search.getMinPremium())
+                && "premium".equals(search.getSort())
+                && search.getSize() == 1));
+        verify(policyCatalog, never()).snapshot();
+    }
+
+    @Test
+    void searchPolicies_shouldReturnRankedMatches() throws Exception {
+        when(policyService.searchByText("health", 5)).thenReturn(Collections.singletonList(testPolicy2));
+
+        mockMvc.perform(get("/policies/search").param("q", "health").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].name").value(testPolicy2.getName()));
+
+        verify(policyService).searchByText("health", 5);
+        verify(policyService, never()).getPolicyById(any());
+    }
+
+    @Test
+    void bulkUpsertPolicies_shouldReturnPerItemResults() throws Exception {
+        when(policyBulkService.apply(any())).thenReturn(new PolicyBulkResultDTO(1, 0, 1, Arrays.asList(
+                new PolicyBulkItemResultDTO(0, BulkItemStatus.CREATED, 10L, null),
+                new PolicyBulkItemResultDTO(1, BulkItemStatus.INVALID, null, "Name is required"))));
+
+        mockMvc.perform(post("/policies/bulk")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"A\"}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").value(10))
+                .andExpect(jsonPath("$.results[1].message").value("Name is required"));
+
+        verify(policyBulkService).apply(any());
     }
 
     @Test
@@ -136,6 +286,7 @@ public class PolicyControllerTest {
                 .andExpect(jsonPath("$.category").value(testPolicy1.getCategory().name()));
 
         verify(policyService, times(1)).getPolicyById(1L);
+        verify(popularityTracker, times(1)).recordView(1L);
     }
 
     @Test
@@ -148,6 +299,39 @@ public class PolicyControllerTest {
                 .andExpect(content().string(""));
 
         verify(policyService, times(1)).getPolicyById(999L);
+        verify(popularityTracker, never()).recordView(any());
+    }
+
+    @Test
+    void getTrendingPolicies_shouldCapLimitAtTopK() throws Exception {
+        when(popularityTracker.topK()).thenReturn(5);
+        when(popularityTracker.trending(5)).thenReturn(List.of(
+                new TrendingPolicyDTO(testPolicy2, 42L), new TrendingPolicyDTO(testPolicy1, 7L)));
+
+        mockMvc.perform(get("/policies/trending").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].policy.id").value(testPolicy2.getId()))
+                .andExpect(jsonPath("$[0].score").value(42))
+                .andExpect(jsonPath("$[1].policy.id").value(testPolicy1.getId()));
+
+        verify(popularityTracker, times(1)).trending(5);
+        verify(policyService, never()).getPolicyById(any());
+    }
+
+    @Test
+    void getRecommendedPolicies_shouldRecommendForCurrentUser() throws Exception {
+        when(userService.getCurrentUserId()).thenReturn(7L);
+        when(recommendationEngine.recommend(7L, 10)).thenReturn(List.of(new RecommendedPolicyDTO(testPolicy2, 3L)));
+
+        mockMvc.perform(get("/policies/recommended"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].policy.id").value(testPolicy2.getId()))
+                .andExpect(jsonPath("$[0].score").value(3));
+
+        verify(recommendationEngine, times(1)).recommend(7L, 10);
+        verify(policyService, never()).getPolicyById(any());
     }
 
     @Test
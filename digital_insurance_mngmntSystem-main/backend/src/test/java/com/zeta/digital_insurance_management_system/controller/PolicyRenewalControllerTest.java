@@ -1,5 +1,8 @@
 package com.zeta.digital_insurance_management_system.controller;
 
+import com.zeta.digital_insurance_management_system.dto.renew.AutoRenewalRunDTO;
+import com.zeta.digital_insurance_management_system.dto.renew.ExpiringPoliciesDTO;
+import com.zeta.digital_insurance_management_system.enums.AutoRenewalRunStatus;
 import com.zeta.digital_insurance_management_system.dto.renew.RenewablePolicy;
 import com.zeta.digital_insurance_management_system.enums.Category;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
@@ -9,7 +12,9 @@ import com.zeta.digital_insurance_management_system.model.User;
 import com.zeta.digital_insurance_management_system.model.UserPolicy;
 
 import com.zeta.digital_insurance_management_system.security.jwt.JwtService;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.AutoRenewalEngine;
 import com.zeta.digital_insurance_management_system.service.PolicyRenewal.IPolicyRenewalService;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
 
 import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
 import org.junit.jupiter.api.Test;
@@ -23,11 +28,17 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -47,6 +58,12 @@ public class PolicyRenewalControllerTest {
     @MockBean
     private IPolicyRenewalService policyRenewalService;
 
+    @MockBean
+    private PolicyExpiryIndex expiryIndex;
+
+    @MockBean
+    private AutoRenewalEngine autoRenewalEngine;
+
     private final User user = new User(
             1L,
             "John Doe",
@@ -54,7 +71,8 @@ public class PolicyRenewalControllerTest {
             "hashedasskjhghjkjhword",
             "1234567890",
             "123 Main St",
-            Role.USER
+            Role.USER,
+            0
     );
 
     private final Policy policy = new Policy(
@@ -117,4 +135,50 @@ public class PolicyRenewalControllerTest {
                 .andExpect(jsonPath("$.id").value(renewedPolicy.getId()))
                 .andExpect(jsonPath("$.status").value(renewedPolicy.getStatus().name()));
     }
+
+    @Test
+    public void testGetExpiringPolicies() throws Exception {
+        LocalDate today = LocalDate.now();
+        ExpiringPoliciesDTO expiring = new ExpiringPoliciesDTO(today, today.plusDays(7), 3, Map.of(today.plusDays(2), 3));
+        when(expiryIndex.summary(any(LocalDate.class), eq(7))).thenReturn(expiring);
+
+        mockMvc.perform(get("/admin/policies/expiring").param("days", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byDay['" + today.plusDays(2) + "']").value(3));
+    }
+
+    @Test
+    public void testSetAutoRenew() throws Exception {
+        when(userService.getCurrentUserId()).thenReturn(1L);
+
+        mockMvc.perform(put("/policy/1/auto-renew").param("enabled", "true"))
+                .andExpect(status().isNoContent());
+
+        verify(policyRenewalService).setAutoRenew(1L, 1L, true);
+    }
+
+    @Test
+    public void testStartAutoRenewal() throws Exception {
+        AutoRenewalRunDTO run = new AutoRenewalRunDTO(7L, LocalDate.now(), AutoRenewalRunStatus.RUNNING, 0, 0, 0, 0,
+                LocalDateTime.now(), null, null);
+        when(autoRenewalEngine.start()).thenReturn(run);
+
+        mockMvc.perform(post("/admin/policies/auto-renewal"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/admin/policies/auto-renewal/7"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    public void testGetAutoRenewalRun() throws Exception {
+        AutoRenewalRunDTO run = new AutoRenewalRunDTO(7L, LocalDate.now(), AutoRenewalRunStatus.COMPLETED, 40, 2, 42,
+                1200.0, LocalDateTime.now().minusSeconds(1), LocalDateTime.now(), null);
+        when(autoRenewalEngine.getRun(7L)).thenReturn(run);
+
+        mockMvc.perform(get("/admin/policies/auto-renewal/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.renewed").value(40))
+                .andExpect(jsonPath("$.checkpointId").value(42));
+    }
 }
@@ -0,0 +1,84 @@
+package com.zeta.digital_insurance_management_system.controller;
+
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteBatchResponseDTO;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteResultDTO;
+import com.zeta.digital_insurance_management_system.service.quote.QuoteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = QuoteController.class)
+@ContextConfiguration(classes = {QuoteController.class})
+@Import(QuoteControllerTest.TestSecurityConfig.class)
+public class QuoteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private QuoteService quoteService;
+
+    @Configuration
+    @EnableWebSecurity
+    static class TestSecurityConfig {
+        @Bean
+        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+            http.csrf(AbstractHttpConfigurer::disable)
+                    .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+            return http.build();
+        }
+    }
+
+    @Test
+    void quote_shouldReturnPricedQuote() throws Exception {
+        when(quoteService.quote(any())).thenReturn(
+                new QuoteResultDTO(0, 1L, new BigDecimal("50000"), new BigDecimal("212.50"), null));
+
+        mockMvc.perform(post("/quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"policyId\":1,\"age\":30,\"region\":\"NORTH\",\"sumInsured\":50000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.policyId").value(1))
+                .andExpect(jsonPath("$.premium").value(212.50));
+
+        verify(quoteService).quote(argThat(request -> request.getPolicyId() == 1L && request.getAge() == 30
+                && "NORTH".equals(request.getRegion())));
+    }
+
+    @Test
+    void quoteBatch_shouldReturnPerItemResults() throws Exception {
+        when(quoteService.quoteBatch(any())).thenReturn(new QuoteBatchResponseDTO(1, 1, Arrays.asList(
+                new QuoteResultDTO(0, 1L, new BigDecimal("50000"), new BigDecimal("212.50"), null),
+                new QuoteResultDTO(1, 2L, null, null, "Unknown region"))));
+
+        mockMvc.perform(post("/quotes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"policyId\":1,\"age\":30,\"region\":\"NORTH\"},{\"policyId\":2,\"age\":30,\"region\":\"MARS\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quoted").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Unknown region"));
+
+        verify(quoteService).quoteBatch(argThat(requests -> requests.size() == 2));
+    }
+}
@@ -1,23 +1,31 @@
 package com.zeta.digital_insurance_management_system.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.auth.AuthResponseDTO;
+import com.zeta.digital_insurance_management_system.dto.auth.RefreshTokenRequestDTO;
 import com.zeta.digital_insurance_management_system.dto.auth.UserDTO;
 import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.exception.GlobalExceptionHandler;
 import com.zeta.digital_insurance_management_system.exception.InvalidCredentialsException;
 import com.zeta.digital_insurance_management_system.exception.UserAlreadyExistException;
+import com.zeta.digital_insurance_management_system.exception.RateLimitExceededException;
 import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.security.service.AuthRateLimiter;
 import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,6 +45,12 @@ public class UserControllerTest {
     @MockBean
     private UserServiceImpl userService;
 
+    @MockBean
+    private AuthRateLimiter authRateLimiter;
+
+    @Autowired
+    private UserController userController;
+
     private User testUser;
     private UserDTO testUserDTO;
 
@@ -121,9 +135,7 @@ public class UserControllerTest {
 
         String mockToken = "mock.jwt.token";
 
-        when(userService.login(any(User.class))).thenReturn(mockToken);
-        when(userService.getUserByEmail("john.doe@example.com")).thenReturn(testUser);
-        when(userService.convertToDTO(testUser)).thenReturn(testUserDTO);
+        when(userService.login(any(User.class))).thenReturn(new AuthResponseDTO(mockToken, "mock.refresh.token", testUserDTO));
 
         mockMvc.perform(post("/auth/login")
                         .with(csrf())
@@ -133,14 +145,42 @@ public class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.token").value(mockToken))
+                .andExpect(jsonPath("$.refreshToken").value("mock.refresh.token"))
                 .andExpect(jsonPath("$.user.id").value(testUserDTO.getId()))
                 .andExpect(jsonPath("$.user.name").value(testUserDTO.getName()))
                 .andExpect(jsonPath("$.user.email").value(testUserDTO.getEmail()))
                 .andExpect(jsonPath("$.user.role").value(testUserDTO.getRole().name()));
 
         verify(userService, times(1)).login(any(User.class));
-        verify(userService, times(1)).getUserByEmail("john.doe@example.com");
-        verify(userService, times(1)).convertToDTO(testUser);
+        verify(userService, never()).getUserByEmail(any());
+    }
+
+    @Test
+    @WithMockUser
+    void refresh_shouldReturnNewTokens() throws Exception {
+        when(userService.refresh("old.refresh.token"))
+                .thenReturn(new AuthResponseDTO("new.access.token", "new.refresh.token", testUserDTO));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO("old.refresh.token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new.access.token"))
+                .andExpect(jsonPath("$.refreshToken").value("new.refresh.token"));
+    }
+
+    @Test
+    @WithMockUser
+    void logout_shouldRevokeBearerAndRefreshToken() throws Exception {
+        mockMvc.perform(post("/auth/logout")
+                        .with(csrf())
+                        .header("Authorization", "Bearer access.token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDTO("refresh.token"))))
+                .andExpect(status().isNoContent());
+
+        verify(userService, times(1)).logout("access.token", "refresh.token");
     }
 
     @Test
@@ -171,6 +211,32 @@ public class UserControllerTest {
         verify(userService, times(1)).login(any(User.class));
     }
 
+    @Test
+    @WithMockUser
+    void login_shouldNotReachService_whenRateLimited() throws Exception {
+        User loginUser = new User();
+        loginUser.setEmail("john.doe@example.com");
+        loginUser.setPassword("password123");
+
+        doThrow(new RateLimitExceededException("Too many requests, please try again later", 12))
+                .when(authRateLimiter).checkLogin(any(), eq("john.doe@example.com"));
+
+        // This slice leaves out the controller advice, so mount the controller with the real handler
+        MockMvc handledMockMvc = MockMvcBuilders.standaloneSetup(userController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        handledMockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginUser)))
+                .andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "12"))
+                .andExpect(content().string("Too many requests, please try again later"));
+
+        verify(userService, never()).login(any(User.class));
+    }
+
     @Test
     @WithMockUser
     void register_shouldSetUserRoleByDefault() throws Exception {
@@ -1,11 +1,17 @@
 package com.zeta.digital_insurance_management_system.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.purchase.CheckoutItemResultDTO;
+import com.zeta.digital_insurance_management_system.dto.purchase.CheckoutResultDTO;
+import com.zeta.digital_insurance_management_system.dto.purchase.UserPolicySummaryDTO;
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.enums.CheckoutItemStatus;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
 import com.zeta.digital_insurance_management_system.model.Policy;
 import com.zeta.digital_insurance_management_system.model.User;
 import com.zeta.digital_insurance_management_system.model.UserPolicy;
 import com.zeta.digital_insurance_management_system.security.jwt.JwtService;
+import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.PolicyCheckoutService;
 import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.UserPolicyPurchaseImpl;
 import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +52,7 @@ public class UserPolicyPurchaseControllerTest {
     @MockBean private UserPolicyPurchaseImpl userPolicyPurchase;
     @MockBean private UserServiceImpl userServiceImpl;
     @MockBean private JwtService jwtService;
+    @MockBean private PolicyCheckoutService checkoutService;
 
     private UserPolicy samplePolicy;
 
@@ -77,7 +84,7 @@ public class UserPolicyPurchaseControllerTest {
         logger.info("Testing purchasePolicy_shouldReturnCreatedPolicy");
 
         when(userServiceImpl.getCurrentUserId()).thenReturn(1L);
-        when(userPolicyPurchase.purchaseAPolicy(eq(1L), eq(1L))).thenReturn(samplePolicy);
+        when(userPolicyPurchase.purchaseAPolicy(eq(1L), eq(1L), isNull())).thenReturn(samplePolicy);
 
         mockMvc.perform(post("/user/policy/1/purchase")
                         .with(csrf())
@@ -89,19 +96,79 @@ public class UserPolicyPurchaseControllerTest {
         logger.info("purchasePolicy_shouldReturnCreatedPolicy test passed");
     }
 
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void checkout_shouldReturnCreatedWithPerItemResults() throws Exception {
+        CheckoutResultDTO result = new CheckoutResultDTO(1, 1, BigDecimal.valueOf(500), List.of(
+                new CheckoutItemResultDTO(0, 1L, CheckoutItemStatus.PURCHASED, 10L, BigDecimal.valueOf(500), null),
+                new CheckoutItemResultDTO(1, 99L, CheckoutItemStatus.NOT_FOUND, null, null, "Policy not found")));
+        when(userServiceImpl.getCurrentUserId()).thenReturn(1L);
+        when(checkoutService.checkout(1L, List.of(1L, 99L))).thenReturn(result);
+
+        mockMvc.perform(post("/user/policy/checkout")
+                        .with(csrf())
+                        .header("Authorization", "Bearer mock-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"policyIds\": [1, 99]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.purchased").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("PURCHASED"))
+                .andExpect(jsonPath("$.items[0].userPolicyId").value(10))
+                .andExpect(jsonPath("$.items[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void checkout_shouldReturnOk_whenNothingWasBought() throws Exception {
+        CheckoutResultDTO result = new CheckoutResultDTO(0, 1, BigDecimal.ZERO, List.of(
+                new CheckoutItemResultDTO(0, 1L, CheckoutItemStatus.ALREADY_PURCHASED, null, null, "User has already purchased this policy.")));
+        when(userServiceImpl.getCurrentUserId()).thenReturn(1L);
+        when(checkoutService.checkout(1L, List.of(1L))).thenReturn(result);
+
+        mockMvc.perform(post("/user/policy/checkout")
+                        .with(csrf())
+                        .header("Authorization", "Bearer mock-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"policyIds\": [1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.purchased").value(0))
+                .andExpect(jsonPath("$.items[0].status").value("ALREADY_PURCHASED"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void purchasePolicy_shouldPassIdempotencyKey() throws Exception {
+        when(userServiceImpl.getCurrentUserId()).thenReturn(1L);
+        when(userPolicyPurchase.purchaseAPolicy(1L, 1L, "order-42")).thenReturn(samplePolicy);
+
+        mockMvc.perform(post("/user/policy/1/purchase")
+                        .with(csrf())
+                        .header("Authorization", "Bearer mock-token")
+                        .header("Idempotency-Key", "order-42"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(samplePolicy.getId()));
+
+        verify(userPolicyPurchase, times(1)).purchaseAPolicy(1L, 1L, "order-42");
+    }
+
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
     void getUserPolicies_shouldReturnListOfPolicies() throws Exception {
         logger.info("Testing getUserPolicies_shouldReturnListOfPolicies");
 
         when(userServiceImpl.getCurrentUserId()).thenReturn(1L);
-        when(userPolicyPurchase.getPurchasedPolicies(1L)).thenReturn(List.of(samplePolicy));
+        UserPolicySummaryDTO summary = new UserPolicySummaryDTO(1L, samplePolicy.getStartDate(), samplePolicy.getEndDate(),
+                PolicyStatus.ACTIVE, samplePolicy.getPremiumPaid(), 1L, "Health Basic", Category.HEALTH,
+                BigDecimal.valueOf(500.00), BigDecimal.valueOf(50000.00), 12, null);
+        when(userPolicyPurchase.getPurchasedPolicies(1L, null, null, null)).thenReturn(List.of(summary));
 
         mockMvc.perform(get("/user/policy")
                         .header("Authorization", "Bearer mock-token"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.size()").value(1))
-                .andExpect(jsonPath("$[0].id").value(samplePolicy.getId()));
+                .andExpect(jsonPath("$[0].id").value(samplePolicy.getId()))
+                .andExpect(jsonPath("$[0].policy.name").value("Health Basic"))
+                .andExpect(jsonPath("$[0].user").doesNotExist());
 
         logger.info("getUserPolicies_shouldReturnListOfPolicies test passed");
     }
@@ -134,7 +201,7 @@ public class UserPolicyPurchaseControllerTest {
         logger.info("Testing getUserPolicies_shouldReturnEmptyListWhenNoPolicies");
 
         when(userServiceImpl.getCurrentUserId()).thenReturn(1L);
-        when(userPolicyPurchase.getPurchasedPolicies(1L)).thenReturn(Collections.emptyList());
+        when(userPolicyPurchase.getPurchasedPolicies(1L, null, null, null)).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/user/policy")
                         .header("Authorization", "Bearer mock-token"))
@@ -143,4 +210,21 @@ public class UserPolicyPurchaseControllerTest {
 
         logger.info("getUserPolicies_shouldReturnEmptyListWhenNoPolicies test passed");
     }
+
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getUserPolicies_shouldPassStatusAndPaging() throws Exception {
+        when(userServiceImpl.getCurrentUserId()).thenReturn(1L);
+        when(userPolicyPurchase.getPurchasedPolicies(1L, PolicyStatus.ACTIVE, 1, 20)).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/user/policy")
+                        .param("status", "ACTIVE")
+                        .param("page", "1")
+                        .param("size", "20")
+                        .header("Authorization", "Bearer mock-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(0));
+
+        verify(userPolicyPurchase).getPurchasedPolicies(1L, PolicyStatus.ACTIVE, 1, 20);
+    }
 }
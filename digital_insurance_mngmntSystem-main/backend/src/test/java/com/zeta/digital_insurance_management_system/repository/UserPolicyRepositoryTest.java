@@ -1,5 +1,7 @@
 package com.zeta.digital_insurance_management_system.repository;
 
+import com.zeta.digital_insurance_management_system.dto.purchase.UserPolicySummaryDTO;
+import com.zeta.digital_insurance_management_system.dto.renew.RenewablePolicy;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
 import com.zeta.digital_insurance_management_system.enums.Role;
 import com.zeta.digital_insurance_management_system.enums.Category;
@@ -9,6 +11,9 @@ import com.zeta.digital_insurance_management_system.model.UserPolicy;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -127,4 +132,98 @@ public class UserPolicyRepositoryTest {
         Optional<UserPolicy> notFound = userPolicyRepository.findByUserIdAndPolicyId(user.getId(), 999L);
         assertThat(notFound).isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindSummariesByUserId() {
+        // Arrange
+        User user = createUser("asha", "asha@example.com");
+        User other = createUser("ravi", "ravi@example.com");
+        PolicyStatus[] statuses = {PolicyStatus.ACTIVE, PolicyStatus.EXPIRED, PolicyStatus.ACTIVE};
+        for (int i = 0; i < statuses.length; i++) {
+            UserPolicy up = new UserPolicy();
+            up.setUser(user);
+            up.setPolicy(createPolicy("Plan " + i));
+            up.setStartDate(LocalDate.now());
+            up.setEndDate(LocalDate.now().plusYears(1));
+            up.setStatus(statuses[i]);
+            up.setPremiumPaid(new BigDecimal("1200"));
+            userPolicyRepository.save(up);
+        }
+        UserPolicy foreign = new UserPolicy();
+        foreign.setUser(other);
+        foreign.setPolicy(createPolicy("Other Plan"));
+        foreign.setStartDate(LocalDate.now());
+        foreign.setEndDate(LocalDate.now().plusYears(1));
+        foreign.setStatus(PolicyStatus.ACTIVE);
+        foreign.setPremiumPaid(new BigDecimal("1200"));
+        userPolicyRepository.save(foreign);
+
+        // Act
+        List<UserPolicySummaryDTO> all = userPolicyRepository.findSummariesByUserId(user.getId(), null, Pageable.unpaged()).getContent();
+        List<UserPolicySummaryDTO> active = userPolicyRepository.findSummariesByUserId(user.getId(), PolicyStatus.ACTIVE, Pageable.unpaged()).getContent();
+        Slice<UserPolicySummaryDTO> firstPage = userPolicyRepository.findSummariesByUserId(user.getId(), null, PageRequest.of(0, 2));
+        Slice<UserPolicySummaryDTO> secondPage = userPolicyRepository.findSummariesByUserId(user.getId(), null, firstPage.nextPageable());
+
+        // Assert
+        assertThat(all).extracting(summary -> summary.getPolicy().getName()).containsExactly("Plan 0", "Plan 1", "Plan 2");
+        assertThat(all.get(0).getPolicy().getCategory()).isEqualTo(Category.HEALTH);
+        assertThat(all.get(0).getPolicy().getRenewalPremiumRate()).isEqualByComparingTo("0.1");
+        assertThat(active).extracting(summary -> summary.getPolicy().getName()).containsExactly("Plan 0", "Plan 2");
+        assertThat(firstPage.getContent()).hasSize(2);
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(secondPage.getContent()).extracting(UserPolicySummaryDTO::getId).containsExactly(all.get(2).getId());
+        assertThat(secondPage.hasNext()).isFalse();
+    }
+
+    private void hold(User user, String policyName, LocalDate endDate, PolicyStatus status) {
+        UserPolicy up = new UserPolicy();
+        up.setUser(user);
+        up.setPolicy(createPolicy(policyName));
+        up.setStartDate(endDate.minusYears(1));
+        up.setEndDate(endDate);
+        up.setStatus(status);
+        up.setPremiumPaid(new BigDecimal("1000"));
+        userPolicyRepository.save(up);
+    }
+
+    @Test
+    void testFindRenewableByUserId() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        User user = createUser("meera", "meera@example.com");
+        User other = createUser("arjun", "arjun@example.com");
+        hold(user, "Expiring Soon", today.plusDays(10), PolicyStatus.ACTIVE);
+        hold(user, "Ends Today", today, PolicyStatus.ACTIVE);
+        hold(user, "Far Away", today.plusDays(45), PolicyStatus.ACTIVE);
+        hold(user, "Lapsed", today.minusYears(2), PolicyStatus.EXPIRED);
+        hold(user, "Cancelled", today.minusDays(3), PolicyStatus.CANCELLED);
+        hold(other, "Someone Else", today.plusDays(5), PolicyStatus.ACTIVE);
+
+        // Act
+        List<RenewablePolicy> renewable = userPolicyRepository.findRenewableByUserId(user.getId(), today.plusDays(30));
+
+        // Assert
+        assertThat(renewable).extracting(RenewablePolicy::getPolicyName)
+                .containsExactly("Lapsed", "Ends Today", "Expiring Soon");
+        assertThat(renewable.get(2).getEndDate()).isEqualTo(today.plusDays(10));
+        assertThat(renewable.get(2).getRenewalRate()).isEqualByComparingTo("1000");
+        assertThat(renewable.get(2).getRenewalPremiumRate()).isEqualByComparingTo("0.1");
+    }
+
+    @Test
+    void testFindRenewableByUserId_includesRenewedPolicies() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        User user = createUser("kavya", "kavya@example.com");
+        hold(user, "Renewed Ended", today.minusDays(2), PolicyStatus.RENEWED);
+        hold(user, "Renewed Expiring", today.plusDays(20), PolicyStatus.RENEWED);
+        hold(user, "Renewed Far Away", today.plusDays(45), PolicyStatus.RENEWED);
+
+        // Act
+        List<RenewablePolicy> renewable = userPolicyRepository.findRenewableByUserId(user.getId(), today.plusDays(30));
+
+        // Assert
+        assertThat(renewable).extracting(RenewablePolicy::getPolicyName)
+                .containsExactly("Renewed Ended", "Renewed Expiring");
+    }
+}
@@ -0,0 +1,42 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.security.service.AdaptiveBCryptPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveBCryptPasswordEncoderTest {
+
+    @Test
+    void upgradeEncoding_shouldOnlyFlagHashesWithLowerCost() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+    }
+
+    @Test
+    void upgradeEncoding_shouldIgnoreEmptyOrForeignHashes() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding(""));
+        assertFalse(encoder.upgradeEncoding("plaintext"));
+    }
+
+    @Test
+    void matches_shouldAcceptHashesOfAnyCost() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.matches("password123", new BCryptPasswordEncoder(4).encode("password123")));
+    }
+
+    @Test
+    void calibrate_shouldNotGoBelowThePreviousFixedStrength() {
+        int strength = AdaptiveBCryptPasswordEncoder.calibrate(0);
+
+        assertEquals(12, strength);
+    }
+}
@@ -0,0 +1,89 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.exception.RateLimitExceededException;
+import com.zeta.digital_insurance_management_system.security.service.AuthRateLimiter;
+import com.zeta.digital_insurance_management_system.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new AuthRateLimiter(meterRegistry, true, 1000, 10, 10, 2, 2, 1, 1);
+    }
+
+    @Test
+    void checkLogin_shouldLimitPerEmailIgnoringCase() {
+        rateLimiter.checkLogin("10.0.0.1", "john.doe@example.com");
+        rateLimiter.checkLogin("10.0.0.2", "John.Doe@example.com");
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.checkLogin("10.0.0.3", "john.doe@example.com"));
+
+        assertTrue(exception.getRetryAfterSeconds() > 0);
+        assertEquals(1.0, meterRegistry.get("auth.ratelimit.rejected").tag("limit", "login.email").counter().count());
+        rateLimiter.checkLogin("10.0.0.3", "jane.doe@example.com");
+    }
+
+    @Test
+    void checkLogin_shouldNotSpendIpTokens_whenRejectedPerEmail() {
+        AuthRateLimiter limiter = new AuthRateLimiter(meterRegistry, true, 1000, 2, 2, 1, 1, 1, 1);
+        limiter.checkLogin("10.0.0.1", "john.doe@example.com");
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RateLimitExceededException.class, () -> limiter.checkLogin("10.0.0.1", "john.doe@example.com"));
+        }
+
+        limiter.checkLogin("10.0.0.1", "jane.doe@example.com");
+        assertEquals(3.0, meterRegistry.get("auth.ratelimit.rejected").tag("limit", "login.email").counter().count());
+        assertEquals(0.0, meterRegistry.get("auth.ratelimit.rejected").tag("limit", "login.ip").counter().count());
+    }
+
+    @Test
+    void checkLogin_shouldNotSpendEmailTokens_whenRejectedPerIp() {
+        AuthRateLimiter limiter = new AuthRateLimiter(meterRegistry, true, 1000, 1, 1, 1, 1, 1, 1);
+        limiter.checkLogin("10.0.0.1", "john.doe@example.com");
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.checkLogin("10.0.0.1", "jane.doe@example.com"));
+
+        limiter.checkLogin("10.0.0.2", "jane.doe@example.com");
+    }
+
+    @Test
+    void checkRegister_shouldLimitPerIp() {
+        rateLimiter.checkRegister("10.0.0.1");
+
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.checkRegister("10.0.0.1"));
+        rateLimiter.checkRegister("10.0.0.2");
+        assertEquals(1.0, meterRegistry.get("auth.ratelimit.rejected").tag("limit", "register.ip").counter().count());
+    }
+
+    @Test
+    void checks_shouldPass_whenDisabled() {
+        AuthRateLimiter disabled = new AuthRateLimiter(meterRegistry, false, 1000, 1, 1, 1, 1, 1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            disabled.checkRegister("10.0.0.1");
+            disabled.checkLogin("10.0.0.1", "john.doe@example.com");
+        }
+    }
+
+    @Test
+    void limiter_shouldShareOverflowBucket_whenKeyLimitIsReached() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 2);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertTrue(limiter.tryAcquire("d") > 0);
+        assertTrue(limiter.size() <= 3);
+    }
+}
@@ -0,0 +1,108 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.security.Model.UserPrincipal;
+import com.zeta.digital_insurance_management_system.security.service.BasicCredentialCache;
+import com.zeta.digital_insurance_management_system.security.service.CachingDaoAuthenticationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class BasicCredentialCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BasicCredentialCache credentialCache;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        credentialCache = new BasicCredentialCache(meterRegistry, 60, 100, 2);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail("john.doe@example.com");
+        testUser.setPassword("$2a$12$storedhash");
+        testUser.setRole(Role.USER);
+    }
+
+    @Test
+    void isVerified_shouldHitAfterPut() {
+        UserPrincipal principal = new UserPrincipal(testUser);
+
+        assertFalse(credentialCache.isVerified(principal, "password123"));
+        credentialCache.put(principal, "password123");
+
+        assertTrue(credentialCache.isVerified(principal, "password123"));
+        assertFalse(credentialCache.isVerified(principal, "wrongpassword"));
+        assertEquals(1.0, meterRegistry.get("auth.basic.cache").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("auth.basic.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void isVerified_shouldMiss_whenPasswordHashOrRoleChanged() {
+        credentialCache.put(new UserPrincipal(testUser), "password123");
+
+        testUser.setPassword("$2a$12$newhash");
+        assertFalse(credentialCache.isVerified(new UserPrincipal(testUser), "password123"));
+
+        testUser.setPassword("$2a$12$storedhash");
+        testUser.setRole(Role.ADMIN);
+        assertFalse(credentialCache.isVerified(new UserPrincipal(testUser), "password123"));
+    }
+
+    @Test
+    void put_shouldCapEntriesPerUser() {
+        UserPrincipal principal = new UserPrincipal(testUser);
+
+        credentialCache.put(principal, "first");
+        credentialCache.put(principal, "second");
+        credentialCache.put(principal, "third");
+
+        assertFalse(credentialCache.isVerified(principal, "first"));
+        assertTrue(credentialCache.isVerified(principal, "second"));
+        assertTrue(credentialCache.isVerified(principal, "third"));
+    }
+
+    @Test
+    void provider_shouldOnlyRunEncoderOnCacheMiss() {
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(userDetailsService.loadUserByUsername("john.doe@example.com")).thenReturn(new UserPrincipal(testUser));
+        when(passwordEncoder.matches("password123", "$2a$12$storedhash")).thenReturn(true);
+
+        CachingDaoAuthenticationProvider provider = new CachingDaoAuthenticationProvider(credentialCache);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("john.doe@example.com", "password123"));
+        provider.authenticate(new UsernamePasswordAuthenticationToken("john.doe@example.com", "password123"));
+
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void provider_shouldNotCacheFailedAttempts() {
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(userDetailsService.loadUserByUsername("john.doe@example.com")).thenReturn(new UserPrincipal(testUser));
+        when(passwordEncoder.matches("wrongpassword", "$2a$12$storedhash")).thenReturn(false);
+
+        CachingDaoAuthenticationProvider provider = new CachingDaoAuthenticationProvider(credentialCache);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        UsernamePasswordAuthenticationToken attempt = new UsernamePasswordAuthenticationToken("john.doe@example.com", "wrongpassword");
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(attempt));
+        assertFalse(credentialCache.isVerified(new UserPrincipal(testUser), "wrongpassword"));
+    }
+}
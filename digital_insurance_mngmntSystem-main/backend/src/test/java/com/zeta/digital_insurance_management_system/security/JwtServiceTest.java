@@ -0,0 +1,111 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.security.Model.UserPrincipal;
+import com.zeta.digital_insurance_management_system.security.jwt.JwtService;
+import com.zeta.digital_insurance_management_system.security.jwt.SigningKeyRing;
+import com.zeta.digital_insurance_management_system.security.jwt.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceTest {
+
+    private VerifiedTokenCache tokenCache;
+    private JwtService jwtService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new VerifiedTokenCache(2, 300);
+        jwtService = new JwtService(tokenCache, SigningKeyRing.ephemeral(), 900, 1209600);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail("john.doe@example.com");
+        testUser.setRole(Role.USER);
+    }
+
+    @Test
+    void extractUserName_shouldCacheVerifiedClaims() {
+        String token = jwtService.generateToken(testUser);
+
+        assertEquals("john.doe@example.com", jwtService.extractUserName(token));
+        assertEquals(1, tokenCache.size());
+        assertNotNull(tokenCache.get(token));
+
+        assertTrue(jwtService.validateToken(token, new UserPrincipal(testUser)));
+        assertEquals(1L, jwtService.extractUserId(token));
+        assertEquals(1, tokenCache.size());
+    }
+
+    @Test
+    void validateToken_shouldReturnFalse_whenUsernameDoesNotMatch() {
+        String token = jwtService.generateToken(testUser);
+
+        User otherUser = new User();
+        otherUser.setEmail("jane.doe@example.com");
+        otherUser.setRole(Role.USER);
+
+        assertFalse(jwtService.validateToken(token, new UserPrincipal(otherUser)));
+    }
+
+    @Test
+    void validateToken_shouldReturnFalse_forRefreshTokens() {
+        String refreshToken = jwtService.generateRefreshToken(testUser);
+        Claims claims = jwtService.extractAllClaims(refreshToken);
+
+        assertTrue(jwtService.isRefreshToken(claims));
+        assertNotNull(claims.getId());
+        assertFalse(jwtService.validateToken(refreshToken, new UserPrincipal(testUser)));
+        assertNotEquals(claims.getId(), jwtService.extractAllClaims(jwtService.generateToken(testUser)).getId());
+    }
+
+    @Test
+    void validateToken_shouldReturnFalse_whenTokenIsTampered() {
+        String token = jwtService.generateToken(testUser);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertFalse(jwtService.validateToken(tampered, new UserPrincipal(testUser)));
+        assertNull(tokenCache.get(tampered));
+    }
+
+    @Test
+    void tokenCache_shouldStayBounded() {
+        for (int i = 0; i < 5; i++) {
+            testUser.setId((long) i);
+            jwtService.extractUserName(jwtService.generateToken(testUser));
+        }
+
+        assertTrue(tokenCache.size() <= 2);
+    }
+
+    @Test
+    void tokenCache_shouldNotKeepExpiredClaims() {
+        Claims expired = Jwts.claims()
+                .subject("john.doe@example.com")
+                .expiration(new Date(System.currentTimeMillis() - 1000))
+                .build();
+
+        tokenCache.put("expired.token", expired);
+
+        assertNull(tokenCache.get("expired.token"));
+        assertEquals(0, tokenCache.size());
+    }
+
+    @Test
+    void tokenCache_shouldBeDisabled_whenMaxEntriesIsZero() {
+        VerifiedTokenCache disabledCache = new VerifiedTokenCache(0, 300);
+        JwtService uncachedService = new JwtService(disabledCache, SigningKeyRing.ephemeral(), 900, 1209600);
+        String token = uncachedService.generateToken(testUser);
+
+        assertEquals("john.doe@example.com", uncachedService.extractUserName(token));
+        assertEquals(0, disabledCache.size());
+    }
+}
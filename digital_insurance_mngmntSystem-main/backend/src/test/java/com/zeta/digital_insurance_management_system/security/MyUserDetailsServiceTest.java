@@ -0,0 +1,99 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.dto.auth.TokenState;
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.security.service.MyUserDetailsService;
+import com.zeta.digital_insurance_management_system.security.service.TokenStateService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class MyUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenStateService tokenStateService;
+
+    @InjectMocks
+    private MyUserDetailsService myUserDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private Claims claims(String role, int tokenVersion) {
+        return Jwts.claims()
+                .subject("john.doe@example.com")
+                .add("userId", 1)
+                .add("role", role)
+                .add("tokenVersion", tokenVersion)
+                .build();
+    }
+
+    @Test
+    void loadUserFromClaims_shouldBuildPrincipalWithoutLoadingUser() {
+        when(tokenStateService.getTokenState(1L)).thenReturn(new TokenState(1L, Role.USER, 0));
+
+        UserDetails userDetails = myUserDetailsService.loadUserFromClaims(claims("USER", 0));
+
+        assertNotNull(userDetails);
+        assertEquals("john.doe@example.com", userDetails.getUsername());
+        assertEquals("ROLE_USER", userDetails.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void loadUserFromClaims_shouldReturnNull_whenTokenVersionIsStale() {
+        when(tokenStateService.getTokenState(1L)).thenReturn(new TokenState(1L, Role.USER, 1));
+
+        assertNull(myUserDetailsService.loadUserFromClaims(claims("USER", 0)));
+    }
+
+    @Test
+    void loadUserFromClaims_shouldReturnNull_whenRoleChanged() {
+        when(tokenStateService.getTokenState(1L)).thenReturn(new TokenState(1L, Role.USER, 0));
+
+        assertNull(myUserDetailsService.loadUserFromClaims(claims("ADMIN", 0)));
+    }
+
+    @Test
+    void tokenStateService_shouldOnlyQueryOnCacheMiss() {
+        TokenStateService service = new TokenStateService(userRepository, 100);
+        when(userRepository.findTokenStateById(1L)).thenReturn(Optional.of(new TokenState(1L, Role.USER, 0)));
+
+        service.getTokenState(1L);
+        service.getTokenState(1L);
+
+        verify(userRepository, times(1)).findTokenStateById(1L);
+    }
+
+    @Test
+    void tokenStateService_refreshShouldPickUpRevokedVersions() {
+        TokenStateService service = new TokenStateService(userRepository, 100);
+        when(userRepository.findTokenStateById(1L)).thenReturn(Optional.of(new TokenState(1L, Role.USER, 0)));
+        when(userRepository.findTokenStatesByIdIn(any())).thenReturn(List.of(new TokenState(1L, Role.USER, 3)));
+
+        service.getTokenState(1L);
+        service.refresh();
+
+        assertEquals(3, service.getTokenState(1L).getTokenVersion());
+        verify(userRepository, times(1)).findTokenStateById(1L);
+    }
+}
@@ -0,0 +1,89 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.exception.LoginThrottledException;
+import com.zeta.digital_insurance_management_system.security.service.PasswordVerificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordVerificationServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordVerificationService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void matches_shouldVerifyPasswordOnPool() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        service = new PasswordVerificationService(encoder, meterRegistry, 1, 4, 5000);
+        String hash = encoder.encode("password123");
+
+        assertTrue(service.matches("password123", hash));
+        assertFalse(service.matches("wrongpassword", hash));
+        assertEquals(2, meterRegistry.get("auth.login.hash").timer().count());
+    }
+
+    @Test
+    void matches_shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        service = new PasswordVerificationService(blockingEncoder, meterRegistry, 1, 1, 5000);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> service.matches("a", "a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> service.matches("b", "b"));
+            while (meterRegistry.get("auth.login.hash.queue.depth").gauge().value() < 1) {
+                Thread.sleep(10);
+            }
+
+            assertThrows(LoginThrottledException.class, () -> service.matches("c", "c"));
+            assertEquals(1.0, meterRegistry.get("auth.login.rejected").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void recordLogin_shouldTagOutcome() {
+        service = new PasswordVerificationService(new BCryptPasswordEncoder(4), meterRegistry, 1, 1, 5000);
+
+        service.recordLogin("success", System.nanoTime());
+
+        assertEquals(1, meterRegistry.get("auth.login").tag("outcome", "success").timer().count());
+    }
+}
@@ -0,0 +1,104 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.security.jwt.JwtService;
+import com.zeta.digital_insurance_management_system.security.jwt.SigningKeyRing;
+import com.zeta.digital_insurance_management_system.security.jwt.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SigningKeyRingTest {
+
+    private static final String PASSWORD = "changeit";
+
+    @TempDir
+    Path tempDir;
+
+    private Path keystore;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keystore = tempDir.resolve("jwt-keys.p12");
+        writeKeystore("k1");
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail("john.doe@example.com");
+        testUser.setRole(Role.USER);
+    }
+
+    private void writeKeystore(String... kids) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        if (Files.exists(keystore)) {
+            try (var in = Files.newInputStream(keystore)) {
+                keyStore.load(in, PASSWORD.toCharArray());
+            }
+        } else {
+            keyStore.load(null, PASSWORD.toCharArray());
+        }
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("HmacSHA256");
+        for (String kid : kids) {
+            SecretKey key = keyGenerator.generateKey();
+            keyStore.setEntry(kid, new KeyStore.SecretKeyEntry(key), new KeyStore.PasswordProtection(PASSWORD.toCharArray()));
+        }
+        try (OutputStream out = Files.newOutputStream(keystore)) {
+            keyStore.store(out, PASSWORD.toCharArray());
+        }
+    }
+
+    private JwtService node(String signingKid) {
+        return new JwtService(new VerifiedTokenCache(0, 300), new SigningKeyRing(keystore.toString(), PASSWORD, signingKid), 900, 1209600);
+    }
+
+    @Test
+    void tokenIssuedByOneNode_shouldBeAcceptedByAnother() {
+        String token = node("k1").generateToken(testUser);
+
+        assertEquals("john.doe@example.com", node("k1").extractUserName(token));
+    }
+
+    @Test
+    void token_shouldCarryKidHeader() {
+        String token = node("k1").generateToken(testUser);
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+
+        assertTrue(header.contains("\"kid\":\"k1\""));
+    }
+
+    @Test
+    void rotation_shouldKeepOldTokensValid() throws Exception {
+        String oldToken = node("k1").generateToken(testUser);
+
+        writeKeystore("k2");
+        JwtService rotated = node("k2");
+        String newToken = rotated.generateToken(testUser);
+
+        assertEquals("john.doe@example.com", rotated.extractUserName(oldToken));
+        assertEquals("john.doe@example.com", node("k1").extractUserName(newToken));
+    }
+
+    @Test
+    void tokenFromUnknownKey_shouldBeRejected() {
+        String foreignToken = new JwtService(new VerifiedTokenCache(0, 300), SigningKeyRing.ephemeral(), 900, 1209600).generateToken(testUser);
+
+        assertThrows(RuntimeException.class, () -> node("k1").extractUserName(foreignToken));
+    }
+
+    @Test
+    void missingSigningKid_shouldFailFast() {
+        assertThrows(IllegalStateException.class, () -> new SigningKeyRing(keystore.toString(), PASSWORD, "missing"));
+    }
+}
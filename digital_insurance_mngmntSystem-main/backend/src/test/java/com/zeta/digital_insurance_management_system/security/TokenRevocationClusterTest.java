@@ -0,0 +1,67 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.repository.RevokedTokenRepository;
+import com.zeta.digital_insurance_management_system.security.service.TokenRevocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two service instances over one database stand in for two nodes of the application.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TokenRevocationClusterTest {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService nodeA;
+    private TokenRevocationService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new TokenRevocationService(revokedTokenRepository, 16);
+        nodeB = new TokenRevocationService(revokedTokenRepository, 16);
+        nodeA.load();
+        nodeB.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        revokedTokenRepository.deleteAll();
+    }
+
+    @Test
+    void revoke_shouldConsumeTokenOnlyOnceAcrossInstances() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        assertTrue(nodeA.revoke("refresh-jti", 1L, expiresAt));
+        // Node B has not synced yet, so only the database can tell it the token is used
+        assertFalse(nodeB.revoke("refresh-jti", 1L, expiresAt));
+
+        assertTrue(nodeB.isRevoked("refresh-jti"));
+        assertEquals(1, revokedTokenRepository.count());
+        assertEquals(1L, revokedTokenRepository.findById("refresh-jti").orElseThrow().getUserId());
+    }
+
+    @Test
+    void revoke_shouldAllowDifferentTokensOnEachInstance() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        assertTrue(nodeA.revoke("jti-a", 1L, expiresAt));
+        assertTrue(nodeB.revoke("jti-b", 2L, expiresAt));
+
+        nodeA.sync();
+        assertTrue(nodeA.isRevoked("jti-b"));
+        assertEquals(2, revokedTokenRepository.count());
+    }
+}
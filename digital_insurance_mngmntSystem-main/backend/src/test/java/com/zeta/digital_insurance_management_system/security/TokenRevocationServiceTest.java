@@ -0,0 +1,135 @@
+package com.zeta.digital_insurance_management_system.security;
+
+import com.zeta.digital_insurance_management_system.model.RevokedToken;
+import com.zeta.digital_insurance_management_system.repository.RevokedTokenRepository;
+import com.zeta.digital_insurance_management_system.security.service.TokenRevocationService;
+import com.zeta.digital_insurance_management_system.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        revocationService = new TokenRevocationService(revokedTokenRepository, 4);
+        revocationService.load();
+    }
+
+    @Test
+    void revoke_shouldMarkTokenAsRevokedAndPersistIt() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        assertFalse(revocationService.isRevoked("jti-1"));
+        assertTrue(revocationService.revoke("jti-1", 1L, expiresAt));
+
+        assertTrue(revocationService.isRevoked("jti-1"));
+        assertFalse(revocationService.isRevoked("jti-2"));
+        verify(revokedTokenRepository, times(1)).insert(eq("jti-1"), eq(1L), any(), any());
+    }
+
+    @Test
+    void revoke_shouldReturnFalse_whenAlreadyRevokedOrExpired() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        assertTrue(revocationService.revoke("jti-1", 1L, expiresAt));
+        assertFalse(revocationService.revoke("jti-1", 1L, expiresAt));
+        assertFalse(revocationService.revoke("jti-2", 1L, new Date(System.currentTimeMillis() - 1000)));
+        assertFalse(revocationService.isRevoked("jti-2"));
+    }
+
+    @Test
+    void revoke_shouldReturnFalse_whenAnotherInstanceStoredItFirst() {
+        when(revokedTokenRepository.insert(eq("jti-1"), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'jti-1' for key 'PRIMARY'"));
+
+        assertFalse(revocationService.revoke("jti-1", 1L, new Date(System.currentTimeMillis() + 60_000)));
+        assertTrue(revocationService.isRevoked("jti-1"));
+    }
+
+    @Test
+    void revoke_shouldForgetTheId_whenTheInsertFails() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+        when(revokedTokenRepository.insert(eq("jti-1"), any(), any(), any()))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .thenReturn(1);
+
+        assertThrows(QueryTimeoutException.class, () -> revocationService.revoke("jti-1", 1L, expiresAt));
+        assertFalse(revocationService.isRevoked("jti-1"));
+
+        // A retry on this instance goes to the database again
+        assertTrue(revocationService.revoke("jti-1", 1L, expiresAt));
+        assertTrue(revocationService.isRevoked("jti-1"));
+        verify(revokedTokenRepository, times(2)).insert(eq("jti-1"), eq(1L), any(), any());
+    }
+
+    @Test
+    void revoke_shouldKeepAllIdsWhenFilterGrows() {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+        for (int i = 0; i < 50; i++) {
+            revocationService.revoke("jti-" + i, 1L, expiresAt);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(revocationService.isRevoked("jti-" + i));
+        }
+        assertEquals(50, revocationService.size());
+    }
+
+    @Test
+    void sync_shouldPickUpRevocationsFromOtherInstances() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5);
+        when(revokedTokenRepository.findByRevokedAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("remote-jti", 2L, expiresAt, LocalDateTime.now())));
+
+        revocationService.sync();
+
+        assertTrue(revocationService.isRevoked("remote-jti"));
+    }
+
+    @Test
+    void purge_shouldDropExpiredEntries() {
+        when(revokedTokenRepository.findByRevokedAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("old-jti", 2L, LocalDateTime.now().minusMinutes(1), LocalDateTime.now())));
+        revocationService.sync();
+        revocationService.revoke("live-jti", 1L, new Date(System.currentTimeMillis() + 60_000));
+
+        revocationService.purge();
+
+        assertFalse(revocationService.isRevoked("old-jti"));
+        assertTrue(revocationService.isRevoked("live-jti"));
+        verify(revokedTokenRepository, times(1)).deleteExpired(any());
+    }
+
+    @Test
+    void bloomFilter_shouldHaveNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("member-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("member-" + i));
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 50);
+    }
+}
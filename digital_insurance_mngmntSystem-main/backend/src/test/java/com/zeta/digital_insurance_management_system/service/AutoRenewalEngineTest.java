@@ -0,0 +1,304 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.dto.renew.AutoRenewalRunDTO;
+import com.zeta.digital_insurance_management_system.enums.AutoRenewalRunStatus;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.AutoRenewal;
+import com.zeta.digital_insurance_management_system.model.AutoRenewalRun;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.AutoRenewalRepository;
+import com.zeta.digital_insurance_management_system.repository.AutoRenewalRunRepository;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.AutoRenewalEngine;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AutoRenewalEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private UserPolicyRepository userPolicyRepository;
+
+    @Autowired
+    private AutoRenewalRepository autoRenewalRepository;
+
+    @Autowired
+    private AutoRenewalRunRepository runRepository;
+
+    private PolicyExpiryIndex expiryIndex;
+    private UserPolicyFixture fixture;
+    private final AutoRenewalEngine[] engines = new AutoRenewalEngine[2];
+
+    @BeforeEach
+    void setUp() {
+        expiryIndex = new PolicyExpiryIndex(jdbcTemplate, new SimpleMeterRegistry());
+        fixture = new UserPolicyFixture(userRepository, policyRepository, userPolicyRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (AutoRenewalEngine engine : engines) {
+            if (engine != null) {
+                engine.shutdown();
+            }
+        }
+        runRepository.deleteAll();
+        autoRenewalRepository.deleteAll();
+        fixture.deleteAll();
+    }
+
+    private AutoRenewalEngine engine(int slot, JdbcTemplate template, int chunkSize, int threads) {
+        engines[slot] = new AutoRenewalEngine(template, transactionManager, runRepository, expiryIndex,
+                new SimpleMeterRegistry(), chunkSize, threads, 300);
+        return engines[slot];
+    }
+
+    private UserPolicy hold(LocalDate endDate, PolicyStatus status, boolean autoRenew) {
+        return hold(endDate, status, autoRenew, 12);
+    }
+
+    private UserPolicy hold(LocalDate endDate, PolicyStatus status, boolean autoRenew, int durationMonths) {
+        UserPolicy userPolicy = fixture.hold(endDate, status, durationMonths);
+        if (autoRenew) {
+            autoRenewalRepository.save(new AutoRenewal(userPolicy.getId(), LocalDateTime.now()));
+        }
+        expiryIndex.add(userPolicy.getId(), PolicyExpiryIndex.indexedEndDate(userPolicy));
+        return userPolicy;
+    }
+
+    private UserPolicy reload(UserPolicy userPolicy) {
+        return fixture.reload(userPolicy);
+    }
+
+    // The user policy id the first row of a renewal batch binds, read through a throwaway statement.
+    private static long firstId(BatchPreparedStatementSetter setter) throws SQLException {
+        PreparedStatement probe = mock(PreparedStatement.class);
+        setter.setValues(probe, 0);
+        ArgumentCaptor<Long> id = ArgumentCaptor.forClass(Long.class);
+        verify(probe).setLong(eq(4), id.capture());
+        return id.getValue();
+    }
+
+    private void assertRenewed(UserPolicy userPolicy) {
+        UserPolicy renewed = reload(userPolicy);
+        assertEquals(PolicyStatus.ACTIVE, renewed.getStatus());
+        assertEquals(TODAY, renewed.getStartDate());
+        assertEquals(TODAY.plusMonths(12), renewed.getEndDate());
+        assertEquals(0, UserPolicyFixture.RENEWAL_PREMIUM.compareTo(renewed.getPremiumPaid()));
+    }
+
+    @Test
+    void runNow_shouldRenewOnlyOptedInPoliciesThatAreDue() {
+        UserPolicy endingToday = hold(TODAY, PolicyStatus.ACTIVE, true);
+        UserPolicy expired = hold(TODAY.minusDays(5), PolicyStatus.EXPIRED, true);
+        UserPolicy endingSoon = hold(TODAY.plusDays(1), PolicyStatus.ACTIVE, true);
+        UserPolicy cancelled = hold(TODAY.minusDays(5), PolicyStatus.CANCELLED, true);
+        UserPolicy notOptedIn = hold(TODAY.minusDays(1), PolicyStatus.ACTIVE, false);
+        UserPolicy last = endingToday;
+        for (int i = 1; i <= 7; i++) {
+            last = hold(TODAY.minusDays(i), PolicyStatus.ACTIVE, true);
+        }
+        AutoRenewalEngine engine = engine(0, jdbcTemplate, 2, 3);
+
+        AutoRenewalRunDTO run = engine.runNow(TODAY);
+
+        assertEquals(AutoRenewalRunStatus.COMPLETED, run.getStatus());
+        assertEquals(9, run.getRenewed());
+        assertEquals(0, run.getSkipped());
+        assertEquals(last.getId(), run.getCheckpointId());
+        assertNotNull(run.getFinishedAt());
+        assertRenewed(endingToday);
+        assertRenewed(expired);
+        assertRenewed(last);
+        // A policy inside the renewal window keeps the rest of its paid term
+        assertEquals(TODAY.plusDays(1), reload(endingSoon).getEndDate());
+        assertEquals(PolicyStatus.CANCELLED, reload(cancelled).getStatus());
+        assertEquals(TODAY.minusDays(1), reload(notOptedIn).getEndDate());
+        assertArrayEquals(new long[]{notOptedIn.getId(), endingSoon.getId()}, expiryIndex.expiringIds(TODAY.minusDays(1), 31));
+        assertEquals(9, expiryIndex.expiringIds(TODAY.plusMonths(12), 0).length);
+
+        // Renewed policies are no longer due, so a second run has nothing to do
+        AutoRenewalRunDTO again = engine.runNow(TODAY);
+        assertEquals(AutoRenewalRunStatus.COMPLETED, again.getStatus());
+        assertEquals(0, again.getRenewed());
+        assertEquals(AutoRenewalRunStatus.COMPLETED, engine.getRun(again.getRunId()).getStatus());
+    }
+
+    @Test
+    void runNow_shouldRenewAMonthlyPolicyOnceAcrossConsecutiveNights() {
+        LocalDate firstNight = LocalDate.of(2026, 2, 1);
+        UserPolicy monthly = hold(firstNight, PolicyStatus.ACTIVE, true, 1);
+        AutoRenewalEngine engine = engine(0, jdbcTemplate, 2, 1);
+
+        assertEquals(1, engine.runNow(firstNight).getRenewed());
+        assertEquals(LocalDate.of(2026, 3, 1), reload(monthly).getEndDate());
+
+        AutoRenewalRunDTO nextNight = engine.runNow(firstNight.plusDays(1));
+
+        assertEquals(AutoRenewalRunStatus.COMPLETED, nextNight.getStatus());
+        assertEquals(0, nextNight.getRenewed());
+        UserPolicy renewed = reload(monthly);
+        assertEquals(firstNight, renewed.getStartDate());
+        assertEquals(LocalDate.of(2026, 3, 1), renewed.getEndDate());
+    }
+
+    @Test
+    void resumeNow_shouldContinueAFailedRunFromItsCheckpoint() {
+        UserPolicy[] held = new UserPolicy[6];
+        for (int i = 0; i < held.length; i++) {
+            held[i] = hold(TODAY.minusDays(i), PolicyStatus.ACTIVE, true);
+        }
+        JdbcTemplate failing = mock(JdbcTemplate.class, delegatesTo(jdbcTemplate));
+        AtomicInteger batches = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (batches.incrementAndGet() == 2) {
+                throw new QueryTimeoutException("Lock wait timeout exceeded");
+            }
+            return jdbcTemplate.batchUpdate(invocation.<String>getArgument(0),
+                    invocation.<BatchPreparedStatementSetter>getArgument(1));
+        }).when(failing).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+
+        AutoRenewalRunDTO failed = engine(0, failing, 2, 1).runNow(TODAY);
+
+        assertEquals(AutoRenewalRunStatus.FAILED, failed.getStatus());
+        assertEquals("Lock wait timeout exceeded", failed.getMessage());
+        assertEquals(2, failed.getRenewed());
+        assertEquals(held[1].getId(), failed.getCheckpointId());
+        assertEquals(TODAY.minusDays(2), reload(held[2]).getEndDate());
+
+        AutoRenewalEngine engine = engine(1, jdbcTemplate, 2, 1);
+        AutoRenewalRunDTO resumed = engine.resumeNow(failed.getRunId());
+
+        assertEquals(AutoRenewalRunStatus.COMPLETED, resumed.getStatus());
+        assertEquals(6, resumed.getRenewed());
+        assertEquals(held[5].getId(), resumed.getCheckpointId());
+        assertNull(resumed.getMessage());
+        for (UserPolicy userPolicy : held) {
+            assertRenewed(userPolicy);
+        }
+        assertThrows(IllegalArgumentFoundException.class, () -> engine.resumeNow(failed.getRunId()));
+    }
+
+    @Test
+    void resumeNow_shouldOnlyCountChunksUpToTheCheckpoint() {
+        UserPolicy[] held = new UserPolicy[4];
+        for (int i = 0; i < held.length; i++) {
+            held[i] = hold(TODAY.minusDays(i), PolicyStatus.ACTIVE, true);
+        }
+        JdbcTemplate failing = mock(JdbcTemplate.class, delegatesTo(jdbcTemplate));
+        CountDownLatch secondChunkDone = new CountDownLatch(1);
+        // The first chunk fails after the second has committed. The sweeper expires the second chunk's
+        // last policy just before that commit, so it is skipped then and becomes eligible again.
+        doAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            if (firstId(setter) == held[0].getId()) {
+                secondChunkDone.await(10, TimeUnit.SECONDS);
+                throw new QueryTimeoutException("Lock wait timeout exceeded");
+            }
+            jdbcTemplate.update("update user_policy set status = 'EXPIRED' where id = ?", held[3].getId());
+            int[] results = jdbcTemplate.batchUpdate(invocation.<String>getArgument(0), setter);
+            secondChunkDone.countDown();
+            return results;
+        }).when(failing).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+
+        AutoRenewalRunDTO failed = engine(0, failing, 2, 2).runNow(TODAY);
+
+        assertEquals(AutoRenewalRunStatus.FAILED, failed.getStatus());
+        assertEquals(0, failed.getCheckpointId());
+        assertEquals(0, failed.getRenewed());
+        assertEquals(0, failed.getSkipped());
+        assertRenewed(held[2]);
+
+        AutoRenewalRunDTO resumed = engine(1, jdbcTemplate, 2, 2).resumeNow(failed.getRunId());
+
+        assertEquals(AutoRenewalRunStatus.COMPLETED, resumed.getStatus());
+        assertEquals(3, resumed.getRenewed());
+        assertEquals(0, resumed.getSkipped());
+        assertEquals(held[3].getId(), resumed.getCheckpointId());
+        for (UserPolicy userPolicy : held) {
+            assertRenewed(userPolicy);
+        }
+    }
+
+    @Test
+    void runs_shouldOnlyBeClaimedOnceTheOwnersLeaseHasExpired() {
+        UserPolicy due = hold(TODAY, PolicyStatus.ACTIVE, true);
+        // Another instance is in the middle of a run and still renewing its lease
+        AutoRenewalRun elsewhere = new AutoRenewalRun();
+        elsewhere.setRunDate(TODAY);
+        elsewhere.setStatus(AutoRenewalRunStatus.RUNNING);
+        elsewhere.setStartedAt(LocalDateTime.now());
+        elsewhere.setOwner("other-instance");
+        elsewhere.setHeartbeat(LocalDateTime.now());
+        elsewhere.setLockKey("auto-renewal");
+        Long runId = runRepository.save(elsewhere).getId();
+        AutoRenewalEngine engine = engine(0, jdbcTemplate, 2, 1);
+
+        assertThrows(IllegalArgumentFoundException.class, () -> engine.runNow(TODAY));
+        assertThrows(IllegalArgumentFoundException.class, () -> engine.resumeNow(runId));
+        assertEquals("other-instance", runRepository.findById(runId).orElseThrow().getOwner());
+
+        jdbcTemplate.update("update auto_renewal_run set heartbeat = ? where id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(10)), runId);
+        AutoRenewalRunDTO resumed = engine.resumeNow(runId);
+
+        assertEquals(AutoRenewalRunStatus.COMPLETED, resumed.getStatus());
+        assertEquals(1, resumed.getRenewed());
+        assertRenewed(due);
+        // The previous owner can no longer write to the run
+        assertEquals(0, jdbcTemplate.update("update auto_renewal_run set renewed = 99 where id = ? and owner = ?",
+                runId, "other-instance"));
+        assertNull(runRepository.findById(runId).orElseThrow().getLockKey());
+        assertEquals(AutoRenewalRunStatus.COMPLETED, engine.runNow(TODAY).getStatus());
+    }
+}
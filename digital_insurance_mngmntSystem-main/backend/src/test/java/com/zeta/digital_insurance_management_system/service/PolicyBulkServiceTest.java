@@ -0,0 +1,157 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyBulkItemResultDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyBulkResultDTO;
+import com.zeta.digital_insurance_management_system.enums.BulkItemStatus;
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyBulkService;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.policy.PolicySearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PolicyBulkServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    private PolicyCatalog policyCatalog;
+    private PolicySearchIndex searchIndex;
+    private PolicyBulkService bulkService;
+    private Policy existing;
+
+    @BeforeEach
+    void setUp() {
+        policyCatalog = mock(PolicyCatalog.class);
+        searchIndex = mock(PolicySearchIndex.class);
+        bulkService = new PolicyBulkService(jdbcTemplate, transactionManager, new ObjectMapper().findAndRegisterModules(),
+                policyCatalog, searchIndex, 2, 10);
+
+        existing = new Policy();
+        existing.setName("Life Insurance Premium");
+        existing.setPremiumAmount(new BigDecimal("500.00"));
+        existing.setCoverageAmount(new BigDecimal("100000.00"));
+        existing.setDurationMonths(12);
+        existing.setCategory(Category.LIFE);
+        existing = policyRepository.save(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        policyRepository.deleteAll();
+    }
+
+    @Test
+    void apply_shouldCreateAndUpdateInBatchesFromJsonArray() throws Exception {
+        String json = "["
+                + policyJson(null, "Health Basic", "300.00") + ","
+                + policyJson(existing.getId(), "Life Insurance Plus", "550.00") + ","
+                + policyJson(null, "Vehicle Shield", "200.00") + ","
+                + policyJson(null, "Travel Guard", "150.00")
+                + "]";
+
+        PolicyBulkResultDTO result = bulkService.apply(stream(json));
+
+        assertEquals(3, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(0, result.getFailed());
+        assertEquals(List.of(BulkItemStatus.CREATED, BulkItemStatus.UPDATED, BulkItemStatus.CREATED, BulkItemStatus.CREATED),
+                result.getResults().stream().map(PolicyBulkItemResultDTO::getStatus).toList());
+        for (PolicyBulkItemResultDTO item : result.getResults()) {
+            Policy stored = policyRepository.findById(item.getId()).orElseThrow();
+            assertNotNull(stored.getName());
+        }
+        assertEquals("Life Insurance Plus", policyRepository.findById(existing.getId()).orElseThrow().getName());
+        assertEquals(4, policyRepository.count());
+        verify(policyCatalog, times(1)).reload();
+        verify(searchIndex, times(1)).rebuild();
+    }
+
+    @Test
+    void apply_shouldReportInvalidAndMissingItemsWithoutWritingThem() throws Exception {
+        String ndjson = policyJson(null, "", "300.00") + "\n"
+                + policyJson(null, "Negative", "-1") + "\n"
+                + policyJson(99999L, "Missing", "100.00") + "\n"
+                + policyJson(existing.getId(), "Renamed", "100.00") + "\n"
+                + policyJson(existing.getId(), "Renamed Twice", "100.00") + "\n"
+                + policyJson(null, "Valid", "100.00") + "\n";
+
+        PolicyBulkResultDTO result = bulkService.apply(stream(ndjson));
+
+        List<PolicyBulkItemResultDTO> items = result.getResults();
+        assertEquals(BulkItemStatus.INVALID, items.get(0).getStatus());
+        assertEquals("Name is required", items.get(0).getMessage());
+        assertEquals(BulkItemStatus.INVALID, items.get(1).getStatus());
+        assertEquals(BulkItemStatus.NOT_FOUND, items.get(2).getStatus());
+        assertEquals(BulkItemStatus.UPDATED, items.get(3).getStatus());
+        assertEquals("Duplicate policy id in request", items.get(4).getMessage());
+        assertEquals(BulkItemStatus.CREATED, items.get(5).getStatus());
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(4, result.getFailed());
+        assertEquals(2, policyRepository.count());
+    }
+
+    @Test
+    void apply_shouldNotRefreshCatalog_whenNothingWritten() throws Exception {
+        PolicyBulkResultDTO result = bulkService.apply(stream("[" + policyJson(null, "", "1") + "]"));
+
+        assertEquals(1, result.getFailed());
+        verify(policyCatalog, never()).reload();
+        verify(searchIndex, never()).rebuild();
+    }
+
+    @Test
+    void apply_shouldRejectMalformedEmptyOrOversizedRequests() {
+        StringBuilder tooMany = new StringBuilder();
+        for (int i = 0; i < 11; i++) {
+            tooMany.append(policyJson(null, "Policy " + i, "100.00")).append('\n');
+        }
+
+        assertThrows(IllegalArgumentFoundException.class, () -> bulkService.apply(stream("[{\"name\": ")));
+        assertThrows(IllegalArgumentFoundException.class, () -> bulkService.apply(stream("[]")));
+        assertThrows(IllegalArgumentFoundException.class, () -> bulkService.apply(stream(tooMany.toString())));
+        assertEquals(1, policyRepository.count());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String policyJson(Long id, String name, String premium) {
+        return "{" + (id == null ? "" : "\"id\":" + id + ",")
+                + "\"name\":\"" + name + "\",\"description\":\"Cover\",\"premiumAmount\":" + premium
+                + ",\"coverageAmount\":10000,\"durationMonths\":12,\"renewalPremiumRate\":0.05"
+                + ",\"createdAt\":\"2025-05-26T10:00:00\",\"category\":\"HEALTH\"}";
+    }
+}
@@ -0,0 +1,178 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.dto.purchase.CheckoutItemResultDTO;
+import com.zeta.digital_insurance_management_system.dto.purchase.CheckoutResultDTO;
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.enums.CheckoutItemStatus;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.PolicyCheckoutService;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyRecommendationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PolicyCheckoutServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private UserPolicyRepository userPolicyRepository;
+
+    private PolicyPopularityTracker popularityTracker;
+    private PolicyRecommendationEngine recommendationEngine;
+    private PolicyExpiryIndex expiryIndex;
+    private User user;
+    private Policy life;
+    private Policy health;
+    private Policy vehicle;
+
+    @BeforeEach
+    void setUp() {
+        popularityTracker = mock(PolicyPopularityTracker.class);
+        recommendationEngine = mock(PolicyRecommendationEngine.class);
+        expiryIndex = mock(PolicyExpiryIndex.class);
+        user = new User();
+        user.setName("Buyer");
+        user.setEmail("buyer@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        life = policyRepository.save(policy("Life Plus", Category.LIFE, "500.00", 24));
+        health = policyRepository.save(policy("Health Basic", Category.HEALTH, "300.00", 12));
+        vehicle = policyRepository.save(policy("Vehicle Shield", Category.VEHICLE, "200.00", 12));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userPolicyRepository.deleteAll();
+        userRepository.deleteAll();
+        policyRepository.deleteAll();
+    }
+
+    private static Policy policy(String name, Category category, String premium, int months) {
+        Policy policy = new Policy();
+        policy.setName(name);
+        policy.setCategory(category);
+        policy.setPremiumAmount(new BigDecimal(premium));
+        policy.setCoverageAmount(new BigDecimal("100000.00"));
+        policy.setDurationMonths(months);
+        return policy;
+    }
+
+    private PolicyCheckoutService service(UserPolicyRepository repository) {
+        return new PolicyCheckoutService(jdbcTemplate, transactionManager, policyRepository, repository,
+                popularityTracker, recommendationEngine, expiryIndex, 5);
+    }
+
+    private void own(Policy policy) {
+        UserPolicy userPolicy = new UserPolicy(null, user, policy, LocalDate.now(), LocalDate.now().plusMonths(12),
+                PolicyStatus.ACTIVE, policy.getPremiumAmount());
+        userPolicyRepository.save(userPolicy);
+    }
+
+    private List<CheckoutItemStatus> statuses(CheckoutResultDTO result) {
+        return result.getItems().stream().map(CheckoutItemResultDTO::getStatus).toList();
+    }
+
+    @Test
+    void checkout_shouldBuyValidItemsAndReportTheRest() {
+        own(vehicle);
+
+        CheckoutResultDTO result = service(userPolicyRepository)
+                .checkout(user.getId(), Arrays.asList(life.getId(), health.getId(), 999L, life.getId(), vehicle.getId()));
+
+        assertEquals(List.of(CheckoutItemStatus.PURCHASED, CheckoutItemStatus.PURCHASED, CheckoutItemStatus.NOT_FOUND,
+                CheckoutItemStatus.DUPLICATE, CheckoutItemStatus.ALREADY_PURCHASED), statuses(result));
+        assertEquals(2, result.getPurchased());
+        assertEquals(3, result.getSkipped());
+        assertEquals(0, new BigDecimal("800.00").compareTo(result.getTotalPremium()));
+
+        List<UserPolicy> rows = userPolicyRepository.findByUserId(user.getId());
+        assertEquals(3, rows.size());
+        UserPolicy lifeRow = rows.stream().filter(row -> row.getPolicy().getId().equals(life.getId())).findFirst().orElseThrow();
+        assertEquals(result.getItems().get(0).getUserPolicyId(), lifeRow.getId());
+        assertEquals(PolicyStatus.ACTIVE, lifeRow.getStatus());
+        assertEquals(LocalDate.now().plusMonths(24), lifeRow.getEndDate());
+        verify(popularityTracker).recordPurchase(life.getId());
+        verify(recommendationEngine).recordPurchase(user.getId(), health.getId());
+        verify(popularityTracker, never()).recordPurchase(vehicle.getId());
+        verify(expiryIndex).add(lifeRow.getId(), LocalDate.now().plusMonths(24));
+    }
+
+    @Test
+    void checkout_shouldRetryWithoutItemsBoughtConcurrently() {
+        own(health);
+        // The first ownership check misses the concurrent purchase of health, so the batch hits the constraint
+        UserPolicyRepository racing = mock(UserPolicyRepository.class, delegatesTo(userPolicyRepository));
+        doReturn(List.of()).doAnswer(invocation -> userPolicyRepository.findOwnedPolicyIds(
+                        invocation.getArgument(0), invocation.<Collection<Long>>getArgument(1)))
+                .when(racing).findOwnedPolicyIds(any(), any());
+
+        CheckoutResultDTO result = service(racing).checkout(user.getId(), List.of(life.getId(), health.getId()));
+
+        assertEquals(List.of(CheckoutItemStatus.PURCHASED, CheckoutItemStatus.ALREADY_PURCHASED), statuses(result));
+        assertEquals(2, userPolicyRepository.findByUserId(user.getId()).size());
+        verify(popularityTracker, never()).recordPurchase(health.getId());
+    }
+
+    @Test
+    void checkout_shouldWriteNothing_whenUserDoesNotExist() {
+        Long missingUser = user.getId() + 1000;
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> service(userPolicyRepository).checkout(missingUser, List.of(life.getId(), health.getId())));
+        assertEquals(0, userPolicyRepository.count());
+        verifyNoInteractions(popularityTracker, recommendationEngine, expiryIndex);
+    }
+
+    @Test
+    void checkout_shouldRejectEmptyOrOversizedCarts() {
+        PolicyCheckoutService service = service(userPolicyRepository);
+
+        assertThrows(IllegalArgumentFoundException.class, () -> service.checkout(user.getId(), List.of()));
+        assertThrows(IllegalArgumentFoundException.class,
+                () -> service.checkout(user.getId(), List.of(1L, 2L, 3L, 4L, 5L, 6L)));
+    }
+}
@@ -0,0 +1,140 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.dto.renew.ExpiringPoliciesDTO;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PolicyExpiryIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private UserPolicyRepository userPolicyRepository;
+
+    private UserPolicyFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new UserPolicyFixture(userRepository, policyRepository, userPolicyRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteAll();
+    }
+
+    private UserPolicy hold(LocalDate endDate, PolicyStatus status) {
+        return fixture.hold(endDate, status);
+    }
+
+    private static long[] sorted(long[] ids) {
+        long[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Test
+    void rebuild_shouldIndexInForcePoliciesThatHaveNotEnded() {
+        UserPolicy soon = hold(TODAY.plusDays(3), PolicyStatus.ACTIVE);
+        UserPolicy later = hold(TODAY.plusDays(10), PolicyStatus.ACTIVE);
+        UserPolicy endsToday = hold(TODAY, PolicyStatus.ACTIVE);
+        UserPolicy renewed = hold(TODAY.plusDays(6), PolicyStatus.RENEWED);
+        hold(TODAY.minusDays(1), PolicyStatus.ACTIVE);
+        hold(TODAY.plusDays(5), PolicyStatus.CANCELLED);
+        hold(TODAY.plusDays(5), PolicyStatus.EXPIRED);
+        PolicyExpiryIndex index = new PolicyExpiryIndex(jdbcTemplate, new SimpleMeterRegistry());
+
+        index.rebuild();
+
+        assertEquals(4, index.size());
+        ExpiringPoliciesDTO week = index.summary(TODAY, 7);
+        assertEquals(3, week.getTotal());
+        assertEquals(Map.of(TODAY, 1, TODAY.plusDays(3), 1, TODAY.plusDays(6), 1), week.getByDay());
+        assertEquals(TODAY.plusDays(7), week.getTo());
+        assertArrayEquals(sorted(new long[]{soon.getId(), later.getId(), endsToday.getId(), renewed.getId()}),
+                sorted(index.expiringIds(TODAY, 10)));
+        assertArrayEquals(new long[]{renewed.getId()}, index.expiringIds(TODAY.plusDays(4), 5));
+    }
+
+    @Test
+    void changes_shouldMovePoliciesBetweenDays() {
+        PolicyExpiryIndex index = new PolicyExpiryIndex(jdbcTemplate, new SimpleMeterRegistry());
+
+        index.add(1L, TODAY.plusDays(2));
+        index.add(1L, TODAY.plusDays(2));
+        index.add(2L, TODAY.plusDays(2));
+        index.move(2L, TODAY.plusDays(2), TODAY.plusDays(40));
+        index.remove(3L, TODAY.plusDays(2));
+
+        assertEquals(2, index.size());
+        assertArrayEquals(new long[]{1L}, index.expiringIds(TODAY, 30));
+        assertArrayEquals(new long[]{2L}, index.expiringIds(TODAY.plusDays(40), 0));
+
+        index.remove(1L, TODAY.plusDays(2));
+        assertEquals(0, index.summary(TODAY, 30).getTotal());
+        assertThrows(IllegalArgumentFoundException.class, () -> index.summary(TODAY, 367));
+        assertThrows(IllegalArgumentFoundException.class, () -> index.expiringIds(TODAY, -1));
+    }
+
+    @Test
+    void rebuild_shouldKeepChangesMadeWhileLoading() {
+        UserPolicy renewed = hold(TODAY.plusDays(3), PolicyStatus.ACTIVE);
+        UserPolicy bought = hold(TODAY.plusDays(20), PolicyStatus.ACTIVE);
+        JdbcTemplate loading = mock(JdbcTemplate.class, delegatesTo(jdbcTemplate));
+        PolicyExpiryIndex index = new PolicyExpiryIndex(loading, new SimpleMeterRegistry());
+        // A renewal and a purchase land after the rebuild starts; the purchase is also seen by the query
+        doAnswer(invocation -> {
+            index.move(renewed.getId(), TODAY.plusDays(3), TODAY.plusDays(60));
+            index.add(bought.getId(), TODAY.plusDays(20));
+            jdbcTemplate.query(invocation.<String>getArgument(0), invocation.<RowCallbackHandler>getArgument(1),
+                    new Object[]{invocation.getArgument(2)});
+            return null;
+        }).when(loading).query(anyString(), any(RowCallbackHandler.class), any());
+
+        index.rebuild();
+
+        assertEquals(2, index.size());
+        assertEquals(0, index.expiringIds(TODAY, 10).length);
+        assertArrayEquals(new long[]{bought.getId()}, index.expiringIds(TODAY, 30));
+        assertArrayEquals(new long[]{renewed.getId()}, index.expiringIds(TODAY.plusDays(60), 0));
+    }
+}
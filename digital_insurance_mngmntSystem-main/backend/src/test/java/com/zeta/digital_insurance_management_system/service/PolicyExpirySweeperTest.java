@@ -0,0 +1,100 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpirySweeper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PolicyExpirySweeperTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private UserPolicyRepository userPolicyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserPolicyFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        fixture = new UserPolicyFixture(userRepository, policyRepository, userPolicyRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteAll();
+    }
+
+    private UserPolicy hold(LocalDate endDate, PolicyStatus status) {
+        return fixture.hold(endDate, status);
+    }
+
+    private PolicyStatus statusOf(UserPolicy userPolicy) {
+        return fixture.reload(userPolicy).getStatus();
+    }
+
+    @Test
+    void expireBefore_shouldOnlyExpireInForcePoliciesThatHaveEnded() {
+        UserPolicy overdue = hold(TODAY.minusDays(1), PolicyStatus.ACTIVE);
+        UserPolicy renewedOverdue = hold(TODAY.minusDays(2), PolicyStatus.RENEWED);
+        UserPolicy endsToday = hold(TODAY, PolicyStatus.ACTIVE);
+        UserPolicy renewed = hold(TODAY.plusDays(30), PolicyStatus.RENEWED);
+        UserPolicy cancelled = hold(TODAY.minusDays(10), PolicyStatus.CANCELLED);
+        PolicyExpirySweeper sweeper = new PolicyExpirySweeper(jdbcTemplate, meterRegistry, 100, 0, 10);
+
+        assertEquals(2, sweeper.expireBefore(TODAY));
+
+        assertEquals(PolicyStatus.EXPIRED, statusOf(overdue));
+        assertEquals(PolicyStatus.EXPIRED, statusOf(renewedOverdue));
+        assertEquals(PolicyStatus.ACTIVE, statusOf(endsToday));
+        assertEquals(PolicyStatus.RENEWED, statusOf(renewed));
+        assertEquals(PolicyStatus.CANCELLED, statusOf(cancelled));
+        assertEquals(0, sweeper.expireBefore(TODAY));
+    }
+
+    @Test
+    void expireBefore_shouldStopAfterMaxChunksAndReportLag() {
+        for (int days = 1; days <= 5; days++) {
+            hold(TODAY.minusDays(days), PolicyStatus.ACTIVE);
+        }
+        PolicyExpirySweeper sweeper = new PolicyExpirySweeper(jdbcTemplate, meterRegistry, 2, 0, 2);
+
+        // The oldest overdue policies go first, leaving the one that ended yesterday
+        assertEquals(4, sweeper.expireBefore(TODAY));
+        assertEquals(1, userPolicyRepository.findByUserIdAndStatus(fixture.holder().getId(), PolicyStatus.ACTIVE).size());
+        assertEquals(1.0, meterRegistry.get("policy.expiry.lag.days").gauge().value());
+
+        assertEquals(1, sweeper.expireBefore(TODAY));
+        assertEquals(0.0, meterRegistry.get("policy.expiry.lag.days").gauge().value());
+        assertEquals(5.0, meterRegistry.get("policy.expiry.expired").counter().count());
+    }
+}
@@ -0,0 +1,168 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.dto.policy.TrendingPolicyDTO;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.model.PolicyPopularity;
+import com.zeta.digital_insurance_management_system.repository.PolicyPopularityRepository;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.util.CountMinSketch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PolicyPopularityTrackerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PolicyPopularityRepository popularityRepository;
+
+    private PolicyCatalog policyCatalog;
+
+    @BeforeEach
+    void setUp() {
+        Map<Long, Policy> byId = new HashMap<>();
+        for (long id = 1; id <= 50; id++) {
+            Policy policy = new Policy();
+            policy.setId(id);
+            policy.setName("Policy " + id);
+            byId.put(id, policy);
+        }
+        policyCatalog = mock(PolicyCatalog.class);
+        when(policyCatalog.snapshot()).thenReturn(new PolicyCatalog.Snapshot(1L, new ArrayList<>(byId.values()), byId, Instant.now()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        popularityRepository.deleteAll();
+    }
+
+    private PolicyPopularityTracker tracker(int topK) {
+        return new PolicyPopularityTracker(jdbcTemplate, transactionManager, popularityRepository, policyCatalog,
+                new SimpleMeterRegistry(), topK, 1024, 10, 0);
+    }
+
+    @Test
+    void flush_shouldAddCountsToStoredTotals() {
+        PolicyPopularityTracker tracker = tracker(5);
+        tracker.recordView(1L);
+        tracker.recordView(1L);
+        tracker.recordPurchase(2L);
+        tracker.flush();
+
+        tracker.recordView(1L);
+        tracker.recordPurchase(2L);
+        tracker.flush();
+
+        PolicyPopularity first = popularityRepository.findById(1L).orElseThrow();
+        PolicyPopularity second = popularityRepository.findById(2L).orElseThrow();
+        assertEquals(3, first.getViews());
+        assertEquals(0, first.getPurchases());
+        assertEquals(2, second.getPurchases());
+    }
+
+    @Test
+    void trending_shouldRankPurchasesAboveViewsAndRespectLimit() {
+        PolicyPopularityTracker tracker = tracker(3);
+        for (int i = 0; i < 15; i++) {
+            tracker.recordView(1L);
+        }
+        tracker.recordPurchase(2L);
+        tracker.recordPurchase(2L);
+        tracker.recordView(3L);
+        tracker.recordView(4L);
+        tracker.recordView(4L);
+        assertTrue(tracker.trending(3).isEmpty(), "Nothing is ranked before the first flush");
+
+        tracker.flush();
+
+        List<TrendingPolicyDTO> trending = tracker.trending(3);
+        assertEquals(List.of(2L, 1L, 4L), trending.stream().map(dto -> dto.getPolicy().getId()).toList());
+        assertEquals(20, trending.get(0).getScore());
+        assertEquals(1, tracker.trending(1).size());
+    }
+
+    @Test
+    void trending_shouldSkipPoliciesNoLongerInCatalog() {
+        PolicyPopularityTracker tracker = tracker(5);
+        tracker.recordView(999L);
+        tracker.recordView(1L);
+        tracker.flush();
+
+        assertEquals(List.of(1L), tracker.trending(5).stream().map(dto -> dto.getPolicy().getId()).toList());
+    }
+
+    @Test
+    void seed_shouldRestoreRankingFromStoredTotals() {
+        popularityRepository.save(new PolicyPopularity(7L, 3, 0, LocalDateTime.now()));
+        popularityRepository.save(new PolicyPopularity(8L, 0, 1, LocalDateTime.now()));
+
+        PolicyPopularityTracker tracker = tracker(5);
+        tracker.seed();
+
+        assertEquals(List.of(8L, 7L), tracker.trending(5).stream().map(dto -> dto.getPolicy().getId()).toList());
+    }
+
+    @Test
+    void recordView_shouldNotLoseCountsUnderConcurrency() throws Exception {
+        PolicyPopularityTracker tracker = tracker(5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    tracker.recordView(1L + i % 4);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        tracker.flush();
+
+        long total = popularityRepository.findAll().stream().mapToLong(PolicyPopularity::getViews).sum();
+        assertEquals(8000, total);
+    }
+
+    @Test
+    void countMinSketch_shouldNeverUndercountAndHalveOnDecay() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        for (long key = 0; key < 500; key++) {
+            sketch.add(key, key % 7 + 1);
+        }
+        for (long key = 0; key < 500; key++) {
+            assertTrue(sketch.estimate(key) >= key % 7 + 1);
+        }
+        CountMinSketch exact = new CountMinSketch(1024, 4);
+        exact.add(42L, 10);
+        exact.decay();
+        assertEquals(5, exact.estimate(42L));
+    }
+}
@@ -0,0 +1,198 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.PurchaseIdempotencyCache;
+import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.UserPolicyConstraintCheck;
+import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.UserPolicyPurchaseImpl;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyRecommendationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserPolicyPurchaseImpl.class, PurchaseIdempotencyCache.class})
+public class PolicyPurchaseConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UserPolicyPurchaseImpl userPolicyPurchase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private UserPolicyRepository userPolicyRepository;
+
+    @MockBean
+    private PolicyPopularityTracker popularityTracker;
+
+    @MockBean
+    private PolicyRecommendationEngine recommendationEngine;
+
+    @MockBean
+    private PolicyExpiryIndex expiryIndex;
+
+    private User user;
+    private Policy policy;
+    private Policy otherPolicy;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Buyer");
+        user.setEmail("buyer@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        policy = policyRepository.save(policy("Health Basic"));
+        otherPolicy = policyRepository.save(policy("Life Plus"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userPolicyRepository.deleteAll();
+        userRepository.deleteAll();
+        policyRepository.deleteAll();
+    }
+
+    private static Policy policy(String name) {
+        Policy policy = new Policy();
+        policy.setName(name);
+        policy.setPremiumAmount(new BigDecimal("300.00"));
+        policy.setCoverageAmount(new BigDecimal("50000.00"));
+        policy.setDurationMonths(12);
+        policy.setCategory(Category.HEALTH);
+        return policy;
+    }
+
+    // Starts every call at once and returns each outcome: the purchase id or the exception thrown.
+    private List<Object> concurrently(Callable<UserPolicy> purchase) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserPolicy>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return purchase.call();
+            }));
+        }
+        start.countDown();
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<UserPolicy> future : futures) {
+            try {
+                outcomes.add(future.get(30, TimeUnit.SECONDS).getId());
+            } catch (ExecutionException e) {
+                outcomes.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+        return outcomes;
+    }
+
+    @Test
+    void purchaseAPolicy_shouldCreateExactlyOneRow_whenClickedConcurrently() throws Exception {
+        List<Object> outcomes = concurrently(() -> userPolicyPurchase.purchaseAPolicy(policy.getId(), user.getId()));
+
+        assertEquals(1, outcomes.stream().filter(Long.class::isInstance).count());
+        assertTrue(outcomes.stream().filter(outcome -> !(outcome instanceof Long))
+                .allMatch(outcome -> outcome instanceof ResourceNotFoundException e
+                        && e.getMessage().equals("User has already purchased this policy.")), outcomes::toString);
+        assertEquals(1, userPolicyRepository.findByUserId(user.getId()).size());
+        verify(popularityTracker, times(1)).recordPurchase(policy.getId());
+    }
+
+    @Test
+    void purchaseAPolicy_shouldReplaySamePurchase_whenRetriedWithSameKey() throws Exception {
+        List<Object> outcomes = concurrently(() -> userPolicyPurchase.purchaseAPolicy(policy.getId(), user.getId(), "order-1"));
+        UserPolicy retried = userPolicyPurchase.purchaseAPolicy(policy.getId(), user.getId(), "order-1");
+
+        Set<Object> ids = outcomes.stream().collect(Collectors.toSet());
+        assertEquals(Set.of(retried.getId()), ids, outcomes::toString);
+        assertEquals(policy.getId(), retried.getPolicy().getId());
+        assertEquals(1, userPolicyRepository.findByUserId(user.getId()).size());
+    }
+
+    @Test
+    void purchaseAPolicy_shouldRejectKeyReusedForDifferentPolicy() {
+        userPolicyPurchase.purchaseAPolicy(policy.getId(), user.getId(), "order-2");
+
+        assertThrows(IllegalArgumentFoundException.class,
+                () -> userPolicyPurchase.purchaseAPolicy(otherPolicy.getId(), user.getId(), "order-2"));
+        assertEquals(1, userPolicyRepository.findByUserId(user.getId()).size());
+    }
+
+    @Test
+    void purchaseAPolicy_shouldNotRememberFailedPurchase() {
+        Long missingUser = user.getId() + 1000;
+        assertThrows(ResourceNotFoundException.class,
+                () -> userPolicyPurchase.purchaseAPolicy(policy.getId(), missingUser, "order-3"));
+
+        UserPolicy purchased = userPolicyPurchase.purchaseAPolicy(policy.getId(), user.getId(), "order-3");
+        assertNotNull(purchased.getId());
+    }
+
+    @Test
+    void purchaseAPolicy_shouldReportUnknownUser() {
+        Long missingUser = user.getId() + 1000;
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
+                () -> userPolicyPurchase.purchaseAPolicy(policy.getId(), missingUser));
+        assertEquals("User with ID " + missingUser + " not found", e.getMessage());
+    }
+
+    @Test
+    void constraintCheck_shouldRequireTheUniqueUserPolicyIndex() {
+        assertDoesNotThrow(() -> new UserPolicyConstraintCheck(jdbcTemplate).verify());
+
+        // A table that, like user_policy after a skipped ALTER, has the columns but no unique index on them
+        jdbcTemplate.execute("create table purchase_copy (user_id bigint, policy_id bigint)");
+        try {
+            Set<String> columns = Set.of("user_id", "policy_id");
+            assertFalse(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    UserPolicyConstraintCheck.hasUniqueIndex(connection, "purchase_copy", columns)));
+            jdbcTemplate.execute("alter table purchase_copy add constraint uk_purchase_copy unique (user_id, policy_id)");
+            assertTrue(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    UserPolicyConstraintCheck.hasUniqueIndex(connection, "purchase_copy", columns)));
+        } finally {
+            jdbcTemplate.execute("drop table purchase_copy");
+        }
+    }
+}
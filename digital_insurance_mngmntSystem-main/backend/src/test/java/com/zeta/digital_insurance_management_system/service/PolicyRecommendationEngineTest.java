@@ -0,0 +1,199 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.dto.policy.RecommendedPolicyDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.TrendingPolicyDTO;
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyRecommendationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PolicyRecommendationEngineTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private UserPolicyRepository userPolicyRepository;
+
+    private PolicyCatalog policyCatalog;
+    private PolicyPopularityTracker popularityTracker;
+    private final List<Policy> policies = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private final List<PolicyRecommendationEngine> engines = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 8; i++) {
+            Policy policy = new Policy();
+            policy.setName("Policy " + i);
+            policy.setPremiumAmount(new BigDecimal("100.00"));
+            policy.setCoverageAmount(new BigDecimal("10000.00"));
+            policy.setDurationMonths(12);
+            policy.setCategory(Category.HEALTH);
+            policies.add(policyRepository.save(policy));
+        }
+        for (int i = 0; i < 12; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("hashedpassword");
+            user.setRole(Role.USER);
+            users.add(userRepository.save(user));
+        }
+        Map<Long, Policy> byId = new HashMap<>();
+        policies.forEach(policy -> byId.put(policy.getId(), policy));
+        policyCatalog = mock(PolicyCatalog.class);
+        when(policyCatalog.snapshot()).thenReturn(new PolicyCatalog.Snapshot(1L, policies, byId, Instant.now()));
+        popularityTracker = mock(PolicyPopularityTracker.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engines.forEach(PolicyRecommendationEngine::shutdown);
+        userPolicyRepository.deleteAll();
+        userRepository.deleteAll();
+        policyRepository.deleteAll();
+    }
+
+    private PolicyRecommendationEngine engine() {
+        PolicyRecommendationEngine engine = new PolicyRecommendationEngine(jdbcTemplate, policyCatalog, popularityTracker,
+                new SimpleMeterRegistry(), 2);
+        engines.add(engine);
+        return engine;
+    }
+
+    private void purchase(int user, int policy) {
+        UserPolicy userPolicy = new UserPolicy();
+        userPolicy.setUser(users.get(user));
+        userPolicy.setPolicy(policies.get(policy));
+        userPolicy.setStartDate(LocalDate.now());
+        userPolicy.setEndDate(LocalDate.now().plusMonths(12));
+        userPolicy.setStatus(PolicyStatus.ACTIVE);
+        userPolicyRepository.save(userPolicy);
+    }
+
+    private List<Long> ids(List<RecommendedPolicyDTO> recommendations) {
+        return recommendations.stream().map(dto -> dto.getPolicy().getId()).toList();
+    }
+
+    @Test
+    void recommend_shouldRankByCoPurchaseCountAndSkipOwnedPolicies() {
+        purchase(0, 0);
+        purchase(0, 1);
+        purchase(1, 0);
+        purchase(1, 2);
+        purchase(2, 0);
+        purchase(2, 2);
+        purchase(3, 1);
+        purchase(3, 3);
+        purchase(4, 0);
+        PolicyRecommendationEngine engine = engine();
+        engine.rebuild();
+
+        List<RecommendedPolicyDTO> recommendations = engine.recommend(users.get(4).getId(), 10);
+
+        assertEquals(List.of(policies.get(2).getId(), policies.get(1).getId()), ids(recommendations));
+        assertEquals(2, recommendations.get(0).getScore());
+        assertEquals(List.of(policies.get(2).getId()), ids(engine.recommend(users.get(4).getId(), 1)));
+        verifyNoInteractions(popularityTracker);
+    }
+
+    @Test
+    void recordPurchase_shouldMatchFullRebuild() {
+        Random random = new Random(42);
+        PolicyRecommendationEngine incremental = engine();
+        for (int i = 0; i < 40; i++) {
+            int user = random.nextInt(users.size());
+            int policy = random.nextInt(policies.size());
+            if (!userPolicyRepository.existsByUserIdAndPolicyId(users.get(user).getId(), policies.get(policy).getId())) {
+                purchase(user, policy);
+                incremental.recordPurchase(users.get(user).getId(), policies.get(policy).getId());
+            }
+        }
+        PolicyRecommendationEngine rebuilt = engine();
+        rebuilt.rebuild();
+
+        for (User user : users) {
+            List<RecommendedPolicyDTO> expected = rebuilt.recommend(user.getId(), 5);
+            List<RecommendedPolicyDTO> actual = incremental.recommend(user.getId(), 5);
+            assertEquals(ids(expected), ids(actual), "Recommendations for user " + user.getId());
+            assertEquals(expected.stream().map(RecommendedPolicyDTO::getScore).toList(),
+                    actual.stream().map(RecommendedPolicyDTO::getScore).toList());
+        }
+    }
+
+    @Test
+    void recordPurchase_shouldIgnoreRepeatedPurchase() {
+        PolicyRecommendationEngine engine = engine();
+        Long first = policies.get(0).getId();
+        Long second = policies.get(1).getId();
+        engine.recordPurchase(1L, first);
+        engine.recordPurchase(1L, second);
+        engine.recordPurchase(1L, second);
+        engine.recordPurchase(2L, first);
+
+        List<RecommendedPolicyDTO> recommendations = engine.recommend(2L, 10);
+
+        assertEquals(List.of(second), ids(recommendations));
+        assertEquals(1, recommendations.get(0).getScore());
+    }
+
+    @Test
+    void recommend_shouldSkipPoliciesMissingFromCatalog() {
+        PolicyRecommendationEngine engine = engine();
+        engine.recordPurchase(1L, policies.get(0).getId());
+        engine.recordPurchase(1L, 999L);
+        engine.recordPurchase(1L, policies.get(1).getId());
+        engine.recordPurchase(2L, policies.get(0).getId());
+
+        assertEquals(List.of(policies.get(1).getId()), ids(engine.recommend(2L, 10)));
+    }
+
+    @Test
+    void recommend_shouldFallBackToTrendingForUsersWithoutHistory() {
+        when(popularityTracker.trending(anyInt())).thenReturn(List.of(new TrendingPolicyDTO(policies.get(3), 50L)));
+        PolicyRecommendationEngine engine = engine();
+        engine.rebuild();
+
+        List<RecommendedPolicyDTO> recommendations = engine.recommend(users.get(0).getId(), 5);
+
+        assertEquals(List.of(policies.get(3).getId()), ids(recommendations));
+        assertEquals(0, recommendations.get(0).getScore());
+    }
+}
@@ -4,10 +4,13 @@ import com.zeta.digital_insurance_management_system.dto.renew.RenewablePolicy;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
 import com.zeta.digital_insurance_management_system.exception.InvalidPolicyRenewalException;
 import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
+import com.zeta.digital_insurance_management_system.model.AutoRenewal;
 import com.zeta.digital_insurance_management_system.model.Policy;
 import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.AutoRenewalRepository;
 import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
 import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
 import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyRenewalService;
 
 import org.junit.jupiter.api.Assertions;
@@ -20,7 +23,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +38,12 @@ public class PolicyRenewalServiceTest {
     @Mock
     private PolicyRepository policyRepo;
 
+    @Mock
+    private PolicyExpiryIndex expiryIndex;
+
+    @Mock
+    private AutoRenewalRepository autoRenewalRepo;
+
     private final LocalDate today = LocalDate.now();
 
     @Test
@@ -70,31 +78,15 @@ public class PolicyRenewalServiceTest {
     public void shouldReturnPoliciesEligibleForRenewal_BasedOnEndDate() {
         Long userId = 1L;
 
-        UserPolicy up1 = new UserPolicy();
-        up1.setId(1L);
-        up1.setEndDate(today.plusDays(10));  // within 30 days
-        up1.setStatus(PolicyStatus.ACTIVE);
-        Policy policy1 = new Policy();
-        policy1.setName("Life Cover");
-        policy1.setRenewalPremiumRate(new BigDecimal("1200"));
-        up1.setPolicy(policy1);
-
-        UserPolicy up2 = new UserPolicy();
-        up2.setId(2L);
-        up2.setEndDate(today.plusDays(40));  // outside 30 days
-        up2.setStatus(PolicyStatus.ACTIVE);
-        Policy policy2 = new Policy();
-        policy2.setName("Health Plan");
-        policy2.setRenewalPremiumRate(new BigDecimal("1400"));
-        up2.setPolicy(policy2);
-
-        List<UserPolicy> mockList = Arrays.asList(up1, up2);
-        Mockito.when(userPolicyRepo.findByUserId(userId)).thenReturn(mockList);
+        RenewablePolicy renewable1 = new RenewablePolicy(1L, "Life Cover", today.plusDays(10),
+                new BigDecimal("1000"), new BigDecimal("1200"));
+        Mockito.when(userPolicyRepo.findRenewableByUserId(userId, today.plusDays(30))).thenReturn(List.of(renewable1));
 
         List<RenewablePolicy> renewable = policyRenewalService.getRenewablePolicies(userId);
 
         Assertions.assertEquals(1, renewable.size());
         Assertions.assertEquals("Life Cover", renewable.get(0).getPolicyName());
+        Mockito.verify(userPolicyRepo, Mockito.never()).findByUserId(userId);
     }
 
     @Test
@@ -136,18 +128,39 @@ public class PolicyRenewalServiceTest {
     }
 
     @Test
-    public void shouldThrowException_WhenNoRenewablePoliciesFound() {
+    public void shouldReturnEmptyList_WhenNoRenewablePoliciesFound() {
         Long userId = 4L;
 
-        UserPolicy userPolicy = new UserPolicy();
-        userPolicy.setId(4L);
-        userPolicy.setStatus(PolicyStatus.ACTIVE);
-        userPolicy.setEndDate(today.plusDays(45)); // outside renewal window
-
-        Mockito.when(userPolicyRepo.findByUserId(userId))
-                .thenReturn(List.of(userPolicy));
+        Mockito.when(userPolicyRepo.findRenewableByUserId(userId, today.plusDays(30))).thenReturn(List.of());
 
         Assertions.assertTrue(policyRenewalService.getRenewablePolicies(userId).isEmpty());
-//        Assertions.assertEquals("No renewable policies available for userId: " + userId, ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldOptInToAutoRenewal_WhenUserOwnsPolicy() {
+        Mockito.when(userPolicyRepo.existsByIdAndUserId(5L, 1L)).thenReturn(true);
+        Mockito.when(autoRenewalRepo.existsById(5L)).thenReturn(false);
+
+        policyRenewalService.setAutoRenew(5L, 1L, true);
+
+        Mockito.verify(autoRenewalRepo).save(Mockito.argThat((AutoRenewal optIn) -> optIn.getUserPolicyId().equals(5L)));
+    }
+
+    @Test
+    public void shouldOptOutOfAutoRenewal_WhenUserOwnsPolicy() {
+        Mockito.when(userPolicyRepo.existsByIdAndUserId(5L, 1L)).thenReturn(true);
+
+        policyRenewalService.setAutoRenew(5L, 1L, false);
+
+        Mockito.verify(autoRenewalRepo).deleteById(5L);
+        Mockito.verify(autoRenewalRepo, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void shouldThrowException_WhenSettingAutoRenewalOnAnotherUsersPolicy() {
+        Mockito.when(userPolicyRepo.existsByIdAndUserId(5L, 2L)).thenReturn(false);
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> policyRenewalService.setAutoRenew(5L, 2L, true));
+        Mockito.verifyNoInteractions(autoRenewalRepo);
+    }
+}
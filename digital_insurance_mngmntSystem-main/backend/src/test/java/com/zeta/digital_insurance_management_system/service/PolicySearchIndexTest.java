@@ -0,0 +1,120 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.policy.PolicySearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PolicySearchIndexTest {
+
+    private PolicyCatalog policyCatalog;
+    private PolicySearchIndex searchIndex;
+    private List<Policy> policies;
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        policyCatalog = mock(PolicyCatalog.class);
+        searchIndex = new PolicySearchIndex(policyCatalog, new SimpleMeterRegistry());
+        policies = new ArrayList<>();
+        policies.add(policy(1L, "Life Insurance Premium", "Comprehensive life insurance coverage for the family", Category.LIFE));
+        policies.add(policy(2L, "Health Insurance Basic", "Basic health cover with cashless hospitalisation", Category.HEALTH));
+        policies.add(policy(3L, "Vehicle Shield", "Comprehensive cover for cars and two-wheelers, including life cover for the driver", Category.VEHICLE));
+        policies.add(policy(4L, "Critical Illness Care", "Lump sum on diagnosis of a listed critical illness", Category.HEALTH));
+        publish();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void search_shouldRankNameMatchesAboveDescriptionMatches() {
+        List<Policy> results = searchIndex.search("life", 10);
+
+        assertEquals(List.of(1L, 3L), ids(results));
+    }
+
+    @Test
+    void search_shouldMatchPrefixesAndFoldCaseAndAccents() {
+        assertEquals(List.of(2L), ids(searchIndex.search("HOSPITAL", 10)));
+        assertEquals(List.of(4L), ids(searchIndex.search("crític", 10)));
+        assertEquals(List.of(3L), ids(searchIndex.search("two wheel", 10)));
+    }
+
+    @Test
+    void search_shouldPreferDocumentsMatchingMoreTerms() {
+        List<Policy> results = searchIndex.search("comprehensive life", 10);
+
+        assertEquals(1L, results.get(0).getId());
+        assertEquals(List.of(1L, 3L), ids(results));
+    }
+
+    @Test
+    void search_shouldIgnoreStopWordsAndRespectLimit() {
+        assertTrue(searchIndex.search("the of and", 10).isEmpty());
+        assertEquals(1, searchIndex.search("insurance", 1).size());
+    }
+
+    @Test
+    void index_shouldUpdateAndRemoveIncrementally() {
+        Policy renamed = policy(2L, "Family Floater", "Health cover for the whole family", Category.HEALTH);
+        policies.set(1, renamed);
+        policies.add(policy(5L, "Travel Guard", "Trip cancellation and medical cover abroad", Category.HEALTH));
+        publish();
+
+        searchIndex.index(renamed);
+        searchIndex.index(policies.get(4));
+        searchIndex.remove(4L);
+
+        assertEquals(List.of(2L, 1L), ids(searchIndex.search("family", 10)));
+        assertTrue(searchIndex.search("basic", 10).isEmpty());
+        assertEquals(List.of(5L), ids(searchIndex.search("travel", 10)));
+        assertTrue(searchIndex.search("critical", 10).isEmpty());
+    }
+
+    @Test
+    void sync_shouldRebuildOnlyWhenCatalogVersionChanges() {
+        searchIndex.sync();
+        verify(policyCatalog, times(2)).snapshot();
+
+        policies.add(policy(5L, "Travel Guard", "Trip cancellation cover", Category.HEALTH));
+        publish();
+        searchIndex.sync();
+
+        assertEquals(List.of(5L), ids(searchIndex.search("trip", 10)));
+    }
+
+    private void publish() {
+        Map<Long, Policy> byId = new HashMap<>();
+        policies.forEach(policy -> byId.put(policy.getId(), policy));
+        when(policyCatalog.snapshot()).thenReturn(
+                new PolicyCatalog.Snapshot(++version, List.copyOf(policies), byId, Instant.now()));
+    }
+
+    private static List<Long> ids(List<Policy> results) {
+        return results.stream().map(Policy::getId).toList();
+    }
+
+    private static Policy policy(Long id, String name, String description, Category category) {
+        Policy policy = new Policy();
+        policy.setId(id);
+        policy.setName(name);
+        policy.setDescription(description);
+        policy.setPremiumAmount(new BigDecimal("100.00"));
+        policy.setCoverageAmount(new BigDecimal("10000.00"));
+        policy.setDurationMonths(12);
+        policy.setCategory(category);
+        return policy;
+    }
+}
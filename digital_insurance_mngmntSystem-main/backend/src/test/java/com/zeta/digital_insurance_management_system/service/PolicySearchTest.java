@@ -0,0 +1,151 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.dto.policy.PolicyPageDTO;
+import com.zeta.digital_insurance_management_system.dto.policy.PolicySearchRequest;
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.policy.PolicySearchIndex;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class PolicySearchTest {
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    private PolicyServiceImpl policyService;
+
+    @BeforeEach
+    void setUp() {
+        PolicyCatalog policyCatalog = new PolicyCatalog(policyRepository, new SimpleMeterRegistry());
+        policyService = new PolicyServiceImpl(policyRepository, policyCatalog, new PolicySearchIndex(policyCatalog, new SimpleMeterRegistry()));
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            // Premiums repeat in pairs so the id tiebreaker is exercised across page boundaries
+            savePolicy("Policy " + i, i % 2 == 0 ? Category.LIFE : Category.HEALTH,
+                    new BigDecimal(100 * (i / 2 + 1)), new BigDecimal(10000 * (10 - i)), 12 * (i % 3 + 1), base.plusDays(i));
+        }
+        savePolicy("Unpriced", Category.LIFE, null, new BigDecimal("500"), 12, null);
+    }
+
+    @Test
+    void searchPolicies_shouldWalkAllPagesInPremiumOrder() {
+        PolicySearchRequest request = new PolicySearchRequest();
+        request.setSort("premium");
+        request.setSize(3);
+
+        List<Policy> seen = collectAll(request);
+
+        assertEquals(11, seen.size());
+        assertNull(seen.get(0).getPremiumAmount());
+        for (int i = 2; i < seen.size(); i++) {
+            Policy previous = seen.get(i - 1);
+            Policy current = seen.get(i);
+            int order = previous.getPremiumAmount().compareTo(current.getPremiumAmount());
+            assertTrue(order < 0 || (order == 0 && previous.getId() < current.getId()));
+        }
+    }
+
+    @Test
+    void searchPolicies_shouldWalkDescendingPagesWithNullsLast() {
+        PolicySearchRequest request = new PolicySearchRequest();
+        request.setSort("createdAt");
+        request.setDirection("desc");
+        request.setSize(4);
+
+        List<Policy> seen = collectAll(request);
+
+        assertEquals(11, seen.size());
+        assertEquals("Policy 9", seen.get(0).getName());
+        assertEquals("Policy 0", seen.get(9).getName());
+        assertEquals("Unpriced", seen.get(10).getName());
+    }
+
+    @Test
+    void searchPolicies_shouldApplyFilters() {
+        PolicySearchRequest request = new PolicySearchRequest();
+        request.setCategory(Category.LIFE);
+        request.setMinPremium(new BigDecimal("200"));
+        request.setMaxCoverage(new BigDecimal("80000"));
+        request.setMaxDuration(24);
+
+        PolicyPageDTO page = policyService.searchPolicies(request);
+
+        // LIFE policies are 0, 2, 4, 6, 8; premium >= 200 drops 0, coverage <= 80000 keeps 2..8
+        // and duration <= 24 drops 2 and 8 (36 months)
+        assertEquals(List.of("Policy 4", "Policy 6"), page.getItems().stream().map(Policy::getName).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchPolicies_shouldRejectCursorFromAnotherSort() {
+        PolicySearchRequest request = new PolicySearchRequest();
+        request.setSort("premium");
+        request.setSize(2);
+        String cursor = policyService.searchPolicies(request).getNextCursor();
+
+        PolicySearchRequest other = new PolicySearchRequest();
+        other.setSort("coverage");
+        other.setCursor(cursor);
+
+        assertThrows(IllegalArgumentFoundException.class, () -> policyService.searchPolicies(other));
+    }
+
+    @Test
+    void searchPolicies_shouldRejectInvalidParameters() {
+        PolicySearchRequest oversized = new PolicySearchRequest();
+        oversized.setSize(1000);
+        PolicySearchRequest invertedRange = new PolicySearchRequest();
+        invertedRange.setMinPremium(new BigDecimal("500"));
+        invertedRange.setMaxPremium(new BigDecimal("100"));
+        PolicySearchRequest unknownSort = new PolicySearchRequest();
+        unknownSort.setSort("name");
+
+        assertThrows(IllegalArgumentFoundException.class, () -> policyService.searchPolicies(oversized));
+        assertThrows(IllegalArgumentFoundException.class, () -> policyService.searchPolicies(invertedRange));
+        assertThrows(IllegalArgumentFoundException.class, () -> policyService.searchPolicies(unknownSort));
+    }
+
+    private List<Policy> collectAll(PolicySearchRequest request) {
+        List<Policy> seen = new ArrayList<>();
+        PolicyPageDTO page;
+        do {
+            page = policyService.searchPolicies(request);
+            assertTrue(page.getItems().size() <= request.getSize());
+            seen.addAll(page.getItems());
+            request.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+        return seen;
+    }
+
+    private void savePolicy(String name, Category category, BigDecimal premium, BigDecimal coverage,
+                            int durationMonths, LocalDateTime createdAt) {
+        Policy policy = new Policy();
+        policy.setName(name);
+        policy.setCategory(category);
+        policy.setPremiumAmount(premium);
+        policy.setCoverageAmount(coverage);
+        policy.setDurationMonths(durationMonths);
+        policy.setRenewalPremiumRate(new BigDecimal("0.05"));
+        policy.setCreatedAt(createdAt);
+        policyRepository.save(policy);
+    }
+}
@@ -3,7 +3,10 @@ package com.zeta.digital_insurance_management_system.service;
 import com.zeta.digital_insurance_management_system.enums.Category;
 import com.zeta.digital_insurance_management_system.model.Policy;
 import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.policy.PolicySearchIndex;
 import com.zeta.digital_insurance_management_system.service.policy.PolicyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -34,6 +37,8 @@ public class PolicyServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        PolicyCatalog policyCatalog = new PolicyCatalog(policyRepository, new SimpleMeterRegistry());
+        policyService = new PolicyServiceImpl(policyRepository, policyCatalog, new PolicySearchIndex(policyCatalog, new SimpleMeterRegistry()));
         testDateTime = LocalDateTime.now();
 
         testPolicy1 = new Policy();
@@ -328,6 +333,46 @@ public class PolicyServiceTest {
         verify(policyRepository, times(1)).findById(999L);
     }
 
+    @Test
+    void getAllPolicies_shouldServeRepeatedReadsFromCatalog() {
+        when(policyRepository.findAll()).thenReturn(Arrays.asList(testPolicy1, testPolicy2));
+
+        policyService.getAllPolicies();
+        List<Policy> result = policyService.getAllPolicies();
+        Policy byId = policyService.getPolicyById(2L);
+
+        assertEquals(2, result.size());
+        assertEquals("Health Insurance Basic", byId.getName());
+        verify(policyRepository, times(1)).findAll();
+        verify(policyRepository, never()).findById(any());
+        assertThrows(UnsupportedOperationException.class, () -> result.add(testPolicy1));
+    }
+
+    @Test
+    void createPolicy_shouldReloadCatalog() {
+        when(policyRepository.findAll()).thenReturn(Collections.singletonList(testPolicy1));
+        assertEquals(1, policyService.getAllPolicies().size());
+
+        when(policyRepository.save(testPolicy2)).thenReturn(testPolicy2);
+        when(policyRepository.findAll()).thenReturn(Arrays.asList(testPolicy1, testPolicy2));
+        policyService.createPolicy(testPolicy2);
+
+        assertEquals(2, policyService.getAllPolicies().size());
+        verify(policyRepository, times(2)).findAll();
+    }
+
+    @Test
+    void catalogVersion_shouldOnlyChangeWhenContentChanges() {
+        when(policyRepository.findAll()).thenReturn(Collections.singletonList(testPolicy1));
+        PolicyCatalog catalog = new PolicyCatalog(policyRepository, new SimpleMeterRegistry());
+
+        long version = catalog.reload().version();
+        assertEquals(version, catalog.reload().version());
+
+        testPolicy1.setPremiumAmount(new BigDecimal("550.00"));
+        assertEquals(version + 1, catalog.reload().version());
+    }
+
     private Policy createTestPolicy(Long id, String name, Category category) {
         Policy policy = new Policy();
         policy.setId(id);
@@ -0,0 +1,136 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteBatchResponseDTO;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteRequestDTO;
+import com.zeta.digital_insurance_management_system.dto.quote.QuoteResultDTO;
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyCatalog;
+import com.zeta.digital_insurance_management_system.service.quote.QuoteService;
+import com.zeta.digital_insurance_management_system.service.quote.RateTables;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class QuoteServiceTest {
+
+    private PolicyCatalog policyCatalog;
+    private QuoteService quoteService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        policyCatalog = mock(PolicyCatalog.class);
+        Policy life = policy(1L, Category.LIFE, "500.00", "100000.00");
+        Policy vehicle = policy(2L, Category.VEHICLE, "300.00", "600000.00");
+        Policy unpriced = policy(3L, Category.HEALTH, null, "50000.00");
+        when(policyCatalog.snapshot()).thenReturn(new PolicyCatalog.Snapshot(1, List.of(life, vehicle, unpriced),
+                Map.of(1L, life, 2L, vehicle, 3L, unpriced), Instant.now()));
+        quoteService = new QuoteService(policyCatalog, new ObjectMapper(), new SimpleMeterRegistry(),
+                new ClassPathResource("rating/rate-tables.json"), 4, 100000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        quoteService.shutdown();
+    }
+
+    @Test
+    void quote_shouldApplyCategoryFactors() {
+        // LIFE, age 40 (band 36-45: 1.00), WEST (0.97), sum insured 100000 (first band: 1.00)
+        QuoteResultDTO full = quoteService.quote(new QuoteRequestDTO(1L, 40, "west", null));
+        assertEquals(new BigDecimal("485.00"), full.getPremium());
+        assertEquals(0, new BigDecimal("100000").compareTo(full.getSumInsured()));
+
+        // Half the cover at age 60 (2.20) in NORTHEAST (1.05)
+        QuoteResultDTO half = quoteService.quote(new QuoteRequestDTO(1L, 60, "NORTHEAST", new BigDecimal("50000")));
+        assertEquals(new BigDecimal("577.50"), half.getPremium());
+
+        // VEHICLE, age 22 (1.35), NORTH (1.08), 600000 falls in the 500001-1000000 band (0.96)
+        QuoteResultDTO vehicle = quoteService.quote(new QuoteRequestDTO(2L, 22, "NORTH", null));
+        assertEquals(new BigDecimal("419.90"), vehicle.getPremium());
+    }
+
+    @Test
+    void quote_shouldRejectUnratableRequests() {
+        assertThrows(IllegalArgumentFoundException.class, () -> quoteService.quote(new QuoteRequestDTO(99L, 40, "NORTH", null)));
+        assertThrows(IllegalArgumentFoundException.class, () -> quoteService.quote(new QuoteRequestDTO(3L, 40, "NORTH", null)));
+        assertThrows(IllegalArgumentFoundException.class, () -> quoteService.quote(new QuoteRequestDTO(1L, 17, "NORTH", null)));
+        assertThrows(IllegalArgumentFoundException.class, () -> quoteService.quote(new QuoteRequestDTO(1L, 81, "NORTH", null)));
+        assertThrows(IllegalArgumentFoundException.class, () -> quoteService.quote(new QuoteRequestDTO(1L, 40, "MARS", null)));
+        assertThrows(IllegalArgumentFoundException.class,
+                () -> quoteService.quote(new QuoteRequestDTO(1L, 40, "NORTH", new BigDecimal("100001"))));
+    }
+
+    @Test
+    void quoteBatch_shouldPriceLargeBatchesInParallelAndKeepOrder() {
+        List<QuoteRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            requests.add(new QuoteRequestDTO(i % 7 == 0 ? 99L : 1L, 18 + i % 60, "SOUTH", new BigDecimal(1000 + i)));
+        }
+
+        QuoteBatchResponseDTO response = quoteService.quoteBatch(requests);
+
+        assertEquals(5000, response.getResults().size());
+        assertEquals(715, response.getFailed());
+        assertEquals(4285, response.getQuoted());
+        for (int i = 0; i < 5000; i++) {
+            QuoteResultDTO result = response.getResults().get(i);
+            assertEquals(i, result.getIndex());
+            if (i % 7 == 0) {
+                assertEquals("Policy not found or cannot be quoted", result.getError());
+            } else {
+                QuoteResultDTO single = quoteService.quote(requests.get(i));
+                assertEquals(single.getPremium(), result.getPremium());
+            }
+        }
+    }
+
+    @Test
+    void quoteBatch_shouldRejectEmptyOrOversizedBatches() throws Exception {
+        QuoteService small = new QuoteService(policyCatalog, new ObjectMapper(), new SimpleMeterRegistry(),
+                new ClassPathResource("rating/rate-tables.json"), 1, 2);
+        try {
+            List<QuoteRequestDTO> three = List.of(new QuoteRequestDTO(), new QuoteRequestDTO(), new QuoteRequestDTO());
+            assertThrows(IllegalArgumentFoundException.class, () -> small.quoteBatch(List.of()));
+            assertThrows(IllegalArgumentFoundException.class, () -> small.quoteBatch(three));
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    void compile_shouldRejectIncompleteTables() {
+        RateTables.CategoryRates rates = new RateTables.CategoryRates(new double[]{1.0}, new double[]{1.0}, new double[]{1.0, 1.0});
+        RateTables.Definition missingCategory = new RateTables.Definition(18, new int[]{80}, new double[]{100000},
+                List.of("NORTH"), Map.of(Category.LIFE, rates, Category.HEALTH, rates));
+        RateTables.Definition wrongLength = new RateTables.Definition(18, new int[]{40, 80}, new double[]{100000},
+                List.of("NORTH"), Map.of(Category.LIFE, rates, Category.HEALTH, rates, Category.VEHICLE, rates));
+
+        assertThrows(IllegalStateException.class, () -> RateTables.compile(missingCategory));
+        assertThrows(IllegalStateException.class, () -> RateTables.compile(wrongLength));
+    }
+
+    private static Policy policy(Long id, Category category, String premium, String coverage) {
+        Policy policy = new Policy();
+        policy.setId(id);
+        policy.setName("Policy " + id);
+        policy.setCategory(category);
+        policy.setPremiumAmount(premium == null ? null : new BigDecimal(premium));
+        policy.setCoverageAmount(new BigDecimal(coverage));
+        policy.setDurationMonths(12);
+        return policy;
+    }
+}
@@ -0,0 +1,50 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.user.RegisteredEmailFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RegisteredEmailFilterTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private RegisteredEmailFilter emailFilter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        emailFilter = new RegisteredEmailFilter(userRepository, meterRegistry, 100);
+    }
+
+    @Test
+    void mightContain_shouldReturnTrue_beforeFilterIsBuilt() {
+        assertTrue(emailFilter.mightContain("anyone@example.com"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void mightContain_shouldRecognizeExistingAndNewAddresses() {
+        when(userRepository.count()).thenReturn(2L);
+        when(userRepository.findAllEmails(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of("john.doe@example.com", "jane.doe@example.com")));
+        emailFilter.build();
+
+        assertTrue(emailFilter.mightContain("John.Doe@example.com"));
+        assertFalse(emailFilter.mightContain("new.user@example.com"));
+
+        emailFilter.put("new.user@example.com");
+        assertTrue(emailFilter.mightContain("new.user@example.com"));
+        assertEquals(1.0, meterRegistry.get("user.register.email.lookup").tag("result", "skipped").counter().count());
+    }
+}
@@ -0,0 +1,129 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta.digital_insurance_management_system.dto.auth.UserImportJobDTO;
+import com.zeta.digital_insurance_management_system.enums.ImportJobStatus;
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.user.RegisteredEmailFilter;
+import com.zeta.digital_insurance_management_system.service.user.UserImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserImportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private RegisteredEmailFilter registeredEmailFilter;
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        registeredEmailFilter = mock(RegisteredEmailFilter.class);
+        importService = new UserImportService(jdbcTemplate, transactionManager, new BCryptPasswordEncoder(4),
+                registeredEmailFilter, new ObjectMapper(), 2, 2, 10);
+
+        User existing = new User();
+        existing.setName("John Doe");
+        existing.setEmail("john.doe@example.com");
+        existing.setPassword("hashedpassword");
+        existing.setRole(Role.USER);
+        userRepository.save(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void submit_shouldImportCsvAndReportRowErrors() throws Exception {
+        String csv = "email,name,password,phone\n"
+                + "alice@example.com,\"Alice, A\",secret1,111\n"
+                + "bob@example.com,Bob,secret2,222\n"
+                + "john.doe@example.com,John,secret3,333\n"
+                + "alice@example.com,Alice Again,secret4,444\n"
+                + "not-an-email,Nobody,secret5,555\n"
+                + "carol@example.com,Carol,,666\n"
+                + "dave@example.com,Dave,secret7,777\n";
+
+        UserImportJobDTO job = awaitCompletion(importService.submit(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "text/csv"));
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(7, job.getProcessed());
+        assertEquals(3, job.getImported());
+        assertEquals(4, job.getFailed());
+        assertEquals(4, job.getErrors().size());
+        assertEquals(4, job.getErrors().get(0).getLine());
+        assertEquals("User already exists", job.getErrors().get(0).getMessage());
+        assertEquals(5, job.getErrors().get(1).getLine());
+
+        User alice = userRepository.findByEmail("alice@example.com");
+        assertEquals("Alice, A", alice.getName());
+        assertEquals(Role.USER, alice.getRole());
+        assertTrue(new BCryptPasswordEncoder().matches("secret1", alice.getPassword()));
+        assertNotNull(userRepository.findByEmail("dave@example.com"));
+        verify(registeredEmailFilter, times(1)).put("bob@example.com");
+    }
+
+    @Test
+    void submit_shouldImportNdjson() throws Exception {
+        String ndjson = "{\"name\":\"Erin\",\"email\":\"erin@example.com\",\"password\":\"secret\"}\n"
+                + "{not json}\n"
+                + "\n"
+                + "{\"name\":\"Frank\",\"email\":\"frank@example.com\",\"password\":\"secret\",\"address\":\"1 Road\"}\n";
+
+        UserImportJobDTO job = awaitCompletion(importService.submit(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "application/x-ndjson"));
+
+        assertEquals(2, job.getImported());
+        assertEquals(1, job.getFailed());
+        assertEquals("Malformed JSON", job.getErrors().get(0).getMessage());
+        assertEquals("1 Road", userRepository.findByEmail("frank@example.com").getAddress());
+    }
+
+    @Test
+    void submit_shouldRejectUnsupportedContentType() {
+        assertThrows(IllegalArgumentFoundException.class, () -> importService.submit(
+                new ByteArrayInputStream(new byte[0]), "application/json"));
+    }
+
+    private UserImportJobDTO awaitCompletion(UserImportJobDTO submitted) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        UserImportJobDTO job = importService.getJob(submitted.getJobId());
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = importService.getJob(submitted.getJobId());
+        }
+        return job;
+    }
+}
@@ -0,0 +1,72 @@
+package com.zeta.digital_insurance_management_system.service;
+
+import com.zeta.digital_insurance_management_system.enums.Category;
+import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.enums.Role;
+import com.zeta.digital_insurance_management_system.model.Policy;
+import com.zeta.digital_insurance_management_system.model.User;
+import com.zeta.digital_insurance_management_system.model.UserPolicy;
+import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
+import com.zeta.digital_insurance_management_system.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Committed user_policy rows for the DataJpaTests that run their services outside a test transaction:
+// one holder, and a policy of its own per held user policy so (user_id, policy_id) stays unique.
+class UserPolicyFixture {
+
+    static final BigDecimal RENEWAL_PREMIUM = new BigDecimal("330.00");
+
+    private final UserRepository userRepository;
+    private final PolicyRepository policyRepository;
+    private final UserPolicyRepository userPolicyRepository;
+    private final User holder;
+    private int policies;
+
+    UserPolicyFixture(UserRepository userRepository, PolicyRepository policyRepository,
+                      UserPolicyRepository userPolicyRepository) {
+        this.userRepository = userRepository;
+        this.policyRepository = policyRepository;
+        this.userPolicyRepository = userPolicyRepository;
+        User user = new User();
+        user.setName("Holder");
+        user.setEmail("holder@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(Role.USER);
+        this.holder = userRepository.save(user);
+    }
+
+    User holder() {
+        return holder;
+    }
+
+    UserPolicy hold(LocalDate endDate, PolicyStatus status) {
+        return hold(endDate, status, 12);
+    }
+
+    UserPolicy hold(LocalDate endDate, PolicyStatus status, int durationMonths) {
+        Policy policy = new Policy();
+        policy.setName("Plan " + policies++);
+        policy.setCategory(Category.HEALTH);
+        policy.setPremiumAmount(new BigDecimal("300.00"));
+        policy.setCoverageAmount(new BigDecimal("50000.00"));
+        policy.setDurationMonths(durationMonths);
+        policy.setRenewalPremiumRate(RENEWAL_PREMIUM);
+        policy = policyRepository.save(policy);
+        return userPolicyRepository.save(new UserPolicy(null, holder, policy, endDate.minusMonths(durationMonths), endDate,
+                status, policy.getPremiumAmount()));
+    }
+
+    UserPolicy reload(UserPolicy userPolicy) {
+        return userPolicyRepository.findById(userPolicy.getId()).orElseThrow();
+    }
+
+    // Rows that reference user policies have to be deleted by the test first.
+    void deleteAll() {
+        userPolicyRepository.deleteAll();
+        userRepository.deleteAll();
+        policyRepository.deleteAll();
+    }
+}
@@ -1,6 +1,8 @@
 package com.zeta.digital_insurance_management_system.service;
 
+import com.zeta.digital_insurance_management_system.dto.purchase.UserPolicySummaryDTO;
 import com.zeta.digital_insurance_management_system.enums.PolicyStatus;
+import com.zeta.digital_insurance_management_system.exception.IllegalArgumentFoundException;
 import com.zeta.digital_insurance_management_system.exception.ResourceNotFoundException;
 import com.zeta.digital_insurance_management_system.model.Policy;
 import com.zeta.digital_insurance_management_system.model.User;
@@ -8,16 +10,25 @@ import com.zeta.digital_insurance_management_system.model.UserPolicy;
 import com.zeta.digital_insurance_management_system.repository.PolicyRepository;
 import com.zeta.digital_insurance_management_system.repository.UserPolicyRepository;
 import com.zeta.digital_insurance_management_system.repository.UserRepository;
+import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.PurchaseIdempotencyCache;
 import com.zeta.digital_insurance_management_system.service.PolicyPurchaseService.UserPolicyPurchaseImpl;
+import com.zeta.digital_insurance_management_system.service.PolicyRenewal.PolicyExpiryIndex;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyPopularityTracker;
+import com.zeta.digital_insurance_management_system.service.policy.PolicyRecommendationEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import org.slf4j.Logger;
@@ -30,6 +41,10 @@ public class UserPolicyPurchaseServiceTest {
     @Mock private PolicyRepository policyRepository;
     @Mock private UserPolicyRepository userPolicyRepository;
     @Mock private UserRepository userRepository;
+    @Mock private PolicyPopularityTracker popularityTracker;
+    @Mock private PolicyRecommendationEngine recommendationEngine;
+    @Mock private PurchaseIdempotencyCache idempotencyCache;
+    @Mock private PolicyExpiryIndex expiryIndex;
 
     @InjectMocks private UserPolicyPurchaseImpl userPolicyPurchase;
 
@@ -58,10 +73,9 @@ public class UserPolicyPurchaseServiceTest {
         User user = new User();
         user.setId(userId);
 
-        when(userPolicyRepository.findByUserIdAndPolicyId(userId, policyId)).thenReturn(Optional.empty());
         when(policyRepository.findById(policyId)).thenReturn(Optional.of(policy));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(userPolicyRepository.save(any(UserPolicy.class))).thenAnswer(i -> i.getArgument(0));
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(userPolicyRepository.saveAndFlush(any(UserPolicy.class))).thenAnswer(i -> i.getArgument(0));
 
         UserPolicy result = userPolicyPurchase.purchaseAPolicy(policyId, userId);
 
@@ -70,6 +84,12 @@ public class UserPolicyPurchaseServiceTest {
         assertEquals(user, result.getUser());
         assertEquals(PolicyStatus.ACTIVE, result.getStatus());
         assertEquals(BigDecimal.valueOf(5000), result.getPremiumPaid());
+        verify(popularityTracker).recordPurchase(policyId);
+        verify(recommendationEngine).recordPurchase(userId, policyId);
+        // One policy read and one insert; no existence check or user load before the write
+        verify(userPolicyRepository, never()).findByUserIdAndPolicyId(any(), any());
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(idempotencyCache);
 
         logger.info("Test passed: purchaseAPolicy returns a valid UserPolicy with status ACTIVE");
     }
@@ -78,9 +98,16 @@ public class UserPolicyPurchaseServiceTest {
     void purchaseAPolicy_shouldFail_whenAlreadyPurchased() {
         logger.info("Test: purchaseAPolicy_shouldFail_whenAlreadyPurchased started");
 
-        when(userPolicyRepository.findByUserIdAndPolicyId(1L, 1L)).thenReturn(Optional.of(new UserPolicy()));
+        Policy policy = new Policy();
+        policy.setId(1L);
+        policy.setDurationMonths(12);
+        when(policyRepository.findById(1L)).thenReturn(Optional.of(policy));
+        when(userPolicyRepository.saveAndFlush(any(UserPolicy.class))).thenThrow(new DataIntegrityViolationException("uk_user_policy_user_policy"));
+        when(userPolicyRepository.existsByUserIdAndPolicyId(1L, 1L)).thenReturn(true);
 
-        assertThrows(ResourceNotFoundException.class, () -> userPolicyPurchase.purchaseAPolicy(1L, 1L));
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class, () -> userPolicyPurchase.purchaseAPolicy(1L, 1L));
+        assertEquals("User has already purchased this policy.", e.getMessage());
+        verifyNoInteractions(popularityTracker, recommendationEngine);
 
         logger.info("Test passed: purchaseAPolicy throws ResourceNotFoundException when already purchased");
     }
@@ -89,10 +116,10 @@ public class UserPolicyPurchaseServiceTest {
     void purchaseAPolicy_shouldFail_whenPolicyNotFound() {
         logger.info("Test: purchaseAPolicy_shouldFail_whenPolicyNotFound started");
 
-        when(userPolicyRepository.findByUserIdAndPolicyId(1L, 1L)).thenReturn(Optional.empty());
         when(policyRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> userPolicyPurchase.purchaseAPolicy(1L, 1L));
+        verify(userPolicyRepository, never()).saveAndFlush(any());
 
         logger.info("Test passed: purchaseAPolicy throws ResourceNotFoundException when policy not found");
     }
@@ -103,50 +130,64 @@ public class UserPolicyPurchaseServiceTest {
 
         Policy policy = new Policy();
         policy.setId(1L);
-        when(userPolicyRepository.findByUserIdAndPolicyId(1L, 1L)).thenReturn(Optional.empty());
+        policy.setDurationMonths(12);
         when(policyRepository.findById(1L)).thenReturn(Optional.of(policy));
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userPolicyRepository.saveAndFlush(any(UserPolicy.class))).thenThrow(new DataIntegrityViolationException("fk_user"));
+        when(userPolicyRepository.existsByUserIdAndPolicyId(1L, 1L)).thenReturn(false);
 
-        assertThrows(ResourceNotFoundException.class, () -> userPolicyPurchase.purchaseAPolicy(1L, 1L));
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class, () -> userPolicyPurchase.purchaseAPolicy(1L, 1L));
+        assertEquals("User with ID 1 not found", e.getMessage());
 
         logger.info("Test passed: purchaseAPolicy throws ResourceNotFoundException when user not found");
     }
 
+    @Test
+    void purchaseAPolicy_shouldGoThroughIdempotencyCache_whenKeyGiven() {
+        UserPolicy replayed = new UserPolicy();
+        replayed.setId(9L);
+        when(idempotencyCache.execute(eq(2L), eq("key-1"), eq(1L), any())).thenReturn(replayed);
+
+        assertSame(replayed, userPolicyPurchase.purchaseAPolicy(1L, 2L, "key-1"));
+        verifyNoInteractions(policyRepository, userPolicyRepository);
+    }
+
     // ========================
     // Test: getPurchasedPolicies
     // ========================
 
     @Test
-    void getPurchasedPolicies_shouldReturnPolicies_whenUserExists() {
-        logger.info("Test: getPurchasedPolicies_shouldReturnPolicies_whenUserExists started");
-
-        User user = new User();
-        user.setId(1L);
-
-        UserPolicy policy1 = new UserPolicy();
-        policy1.setId(101L);
-        UserPolicy policy2 = new UserPolicy();
-        policy2.setId(102L);
+    void getPurchasedPolicies_shouldReturnAllSummaries_whenNotPaged() {
+        logger.info("Test: getPurchasedPolicies_shouldReturnAllSummaries_whenNotPaged started");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userPolicyRepository.findByUserId(1L)).thenReturn(List.of(policy1, policy2));
+        UserPolicySummaryDTO policy1 = new UserPolicySummaryDTO(101L, null, null, null, PolicyStatus.ACTIVE, null);
+        UserPolicySummaryDTO policy2 = new UserPolicySummaryDTO(102L, null, null, null, PolicyStatus.ACTIVE, null);
+        when(userPolicyRepository.findSummariesByUserId(1L, null, Pageable.unpaged()))
+                .thenReturn(new SliceImpl<>(List.of(policy1, policy2)));
 
-        List<UserPolicy> result = userPolicyPurchase.getPurchasedPolicies(1L);
+        List<UserPolicySummaryDTO> result = userPolicyPurchase.getPurchasedPolicies(1L, null, null, null);
 
         assertEquals(2, result.size());
+        verifyNoInteractions(userRepository);
 
         logger.info("Test passed: getPurchasedPolicies returns {} policies", result.size());
     }
 
     @Test
-    void getPurchasedPolicies_shouldFail_whenUserNotFound() {
-        logger.info("Test: getPurchasedPolicies_shouldFail_whenUserNotFound started");
+    void getPurchasedPolicies_shouldPassStatusAndPage() {
+        when(userPolicyRepository.findSummariesByUserId(eq(1L), eq(PolicyStatus.EXPIRED), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
 
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        userPolicyPurchase.getPurchasedPolicies(1L, PolicyStatus.EXPIRED, 2, null);
 
-        assertThrows(ResourceNotFoundException.class, () -> userPolicyPurchase.getPurchasedPolicies(1L));
+        verify(userPolicyRepository).findSummariesByUserId(1L, PolicyStatus.EXPIRED, PageRequest.of(2, 100));
+    }
 
-        logger.info("Test passed: getPurchasedPolicies throws ResourceNotFoundException when user not found");
+    @Test
+    void getPurchasedPolicies_shouldReject_whenPageOrSizeInvalid() {
+        assertThrows(IllegalArgumentFoundException.class, () -> userPolicyPurchase.getPurchasedPolicies(1L, null, -1, 10));
+        assertThrows(IllegalArgumentFoundException.class, () -> userPolicyPurchase.getPurchasedPolicies(1L, null, 0, 0));
+        assertThrows(IllegalArgumentFoundException.class, () -> userPolicyPurchase.getPurchasedPolicies(1L, null, 0, 101));
+        verifyNoInteractions(userPolicyRepository);
     }
 
     // ========================
@@ -185,7 +226,9 @@ public class UserPolicyPurchaseServiceTest {
 
         UserPolicy userPolicy = new UserPolicy();
         userPolicy.setPolicy(policy);
+        userPolicy.setId(1L);
         userPolicy.setEndDate(LocalDate.of(2025, 1, 1));
+        userPolicy.setStatus(PolicyStatus.ACTIVE);
 
         when(userPolicyRepository.findByUserIdAndPolicyId(1L, 1L)).thenReturn(Optional.of(userPolicy));
         when(userPolicyRepository.save(any(UserPolicy.class))).thenAnswer(i -> i.getArgument(0));
@@ -194,6 +237,8 @@ public class UserPolicyPurchaseServiceTest {
 
         assertEquals(PolicyStatus.RENEWED, result.getStatus());
         assertEquals(LocalDate.of(2025, 1, 1).plusMonths(6), result.getEndDate());
+        // A RENEWED policy is still in force, so it stays in the expiry index under its new end date
+        verify(expiryIndex).move(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 1));
 
         logger.info("Test passed: updatePolicy renews policy and extends end date correctly");
     }
@@ -1,5 +1,6 @@
 package com.zeta.digital_insurance_management_system.service;
 
+import com.zeta.digital_insurance_management_system.dto.auth.AuthResponseDTO;
 import com.zeta.digital_insurance_management_system.dto.auth.UserDTO;
 import com.zeta.digital_insurance_management_system.enums.Role;
 import com.zeta.digital_insurance_management_system.exception.InvalidCredentialsException;
@@ -7,25 +8,34 @@ import com.zeta.digital_insurance_management_system.exception.UserAlreadyExistEx
 import com.zeta.digital_insurance_management_system.model.User;
 import com.zeta.digital_insurance_management_system.repository.UserRepository;
 import com.zeta.digital_insurance_management_system.security.jwt.JwtService;
+import com.zeta.digital_insurance_management_system.security.service.MyUserDetailsService;
+import com.zeta.digital_insurance_management_system.security.service.PasswordVerificationService;
+import com.zeta.digital_insurance_management_system.security.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import com.zeta.digital_insurance_management_system.service.user.RegisteredEmailFilter;
 import com.zeta.digital_insurance_management_system.service.user.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class UserServiceTest {
@@ -37,7 +47,19 @@ public class UserServiceTest {
     private JwtService jwtService;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private PasswordVerificationService passwordVerificationService;
+
+    @Mock
+    private MyUserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Spy
+    private PasswordEncoder encoder = new BCryptPasswordEncoder(4);
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -47,6 +69,7 @@ public class UserServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(registeredEmailFilter.mightContain(anyString())).thenReturn(true);
 
         testUser = new User();
         testUser.setId(1L);
@@ -79,6 +102,52 @@ public class UserServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    void register_shouldSkipLookup_whenEmailIsCertainlyNew() {
+        User inputUser = new User();
+        inputUser.setEmail("new.user@example.com");
+        inputUser.setPassword("password123");
+
+        when(registeredEmailFilter.mightContain("new.user@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(inputUser);
+
+        userService.register(inputUser);
+
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, times(1)).save(inputUser);
+        verify(registeredEmailFilter, times(1)).put("new.user@example.com");
+    }
+
+    @Test
+    void register_shouldThrowException_whenUniqueConstraintIsViolated() {
+        User inputUser = new User();
+        inputUser.setEmail("john.doe@example.com");
+        inputUser.setPassword("password123");
+
+        when(registeredEmailFilter.mightContain("john.doe@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate email"));
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(new User());
+
+        assertThrows(UserAlreadyExistException.class, () -> userService.register(inputUser));
+        verify(registeredEmailFilter, never()).put(anyString());
+    }
+
+    @Test
+    void register_shouldRethrow_whenAnotherConstraintIsViolated() {
+        User inputUser = new User();
+        inputUser.setEmail("john.doe@example.com");
+        inputUser.setPassword("password123");
+
+        when(registeredEmailFilter.mightContain("john.doe@example.com")).thenReturn(false);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Column 'name' cannot be null");
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> userService.register(inputUser));
+        assertSame(violation, thrown);
+        verify(registeredEmailFilter, never()).put(anyString());
+    }
+
     @Test
     void register_shouldThrowException_whenUserAlreadyExists() {
         User inputUser = new User();
@@ -102,22 +171,89 @@ public class UserServiceTest {
         loginUser.setEmail("john.doe@example.com");
         loginUser.setPassword("password123");
 
-        Authentication mockAuth = mock(Authentication.class);
         String expectedToken = "mock.jwt.token";
 
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(testUser);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mockAuth);
+        when(passwordVerificationService.matches("password123", "encodedPassword")).thenReturn(true);
         when(jwtService.generateToken(testUser)).thenReturn(expectedToken);
 
-        String result = userService.login(loginUser);
+        AuthResponseDTO result = userService.login(loginUser);
 
-        assertEquals(expectedToken, result);
+        assertEquals(expectedToken, result.getToken());
+        assertEquals(testUser.getId(), result.getUser().getId());
+        assertEquals(testUser.getEmail(), result.getUser().getEmail());
         verify(userRepository, times(1)).findByEmail("john.doe@example.com");
-        verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(passwordVerificationService, times(1)).matches("password123", "encodedPassword");
         verify(jwtService, times(1)).generateToken(testUser);
     }
 
+    @Test
+    void login_shouldRehashPassword_whenWorkFactorChanged() {
+        User loginUser = new User();
+        loginUser.setEmail("john.doe@example.com");
+        loginUser.setPassword("password123");
+
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(testUser);
+        when(passwordVerificationService.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordVerificationService.needsRehash("encodedPassword")).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<java.util.function.Consumer<String>>getArgument(1).accept("$2a$04$newhash");
+            return null;
+        }).when(passwordVerificationService).rehashAsync(eq("password123"), any());
+        when(jwtService.generateToken(testUser)).thenReturn("mock.jwt.token");
+
+        userService.login(loginUser);
+
+        verify(userDetailsService, times(1)).updatePassword(any(UserDetails.class), eq("$2a$04$newhash"));
+    }
+
+    @Test
+    void refresh_shouldRotateTokens_whenRefreshTokenIsValid() {
+        Date expiresAt = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        Claims claims = Jwts.claims().id("refresh-jti").subject("john.doe@example.com").expiration(expiresAt)
+                .add(Map.of("userId", 1L, "tokenVersion", 0, "tokenType", "refresh")).build();
+
+        when(jwtService.extractAllClaims("refresh.token")).thenReturn(claims);
+        when(jwtService.isRefreshToken(claims)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(tokenRevocationService.revoke("refresh-jti", 1L, expiresAt)).thenReturn(true);
+        when(jwtService.generateToken(testUser)).thenReturn("new.access.token");
+        when(jwtService.generateRefreshToken(testUser)).thenReturn("new.refresh.token");
+
+        AuthResponseDTO result = userService.refresh("refresh.token");
+
+        assertEquals("new.access.token", result.getToken());
+        assertEquals("new.refresh.token", result.getRefreshToken());
+        verify(tokenRevocationService, times(1)).revoke("refresh-jti", 1L, expiresAt);
+    }
+
+    @Test
+    void refresh_shouldThrowException_whenRefreshTokenWasAlreadyUsed() {
+        Date expiresAt = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        Claims claims = Jwts.claims().id("refresh-jti").subject("john.doe@example.com").expiration(expiresAt)
+                .add(Map.of("userId", 1L, "tokenVersion", 0, "tokenType", "refresh")).build();
+
+        when(jwtService.extractAllClaims("refresh.token")).thenReturn(claims);
+        when(jwtService.isRefreshToken(claims)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(tokenRevocationService.revoke("refresh-jti", 1L, expiresAt)).thenReturn(false);
+
+        assertThrows(InvalidCredentialsException.class, () -> userService.refresh("refresh.token"));
+        verify(jwtService, never()).generateToken(any());
+    }
+
+    @Test
+    void refresh_shouldThrowException_whenTokenIsNotARefreshToken() {
+        Claims claims = Jwts.claims().id("access-jti").subject("john.doe@example.com")
+                .add(Map.of("userId", 1L, "tokenType", "access")).build();
+
+        when(jwtService.extractAllClaims("access.token")).thenReturn(claims);
+        when(jwtService.isRefreshToken(claims)).thenReturn(false);
+
+        assertThrows(InvalidCredentialsException.class, () -> userService.refresh("access.token"));
+        verify(tokenRevocationService, never()).revoke(any(), any(), any());
+    }
+
     @Test
     void login_shouldThrowException_whenUserNotFound() {
         User loginUser = new User();
@@ -133,7 +269,7 @@ public class UserServiceTest {
 
         assertEquals("Invalid credentials", exception.getMessage());
         verify(userRepository, times(1)).findByEmail("nonexistent@example.com");
-        verify(authenticationManager, never()).authenticate(any());
+        verify(passwordVerificationService, never()).matches(anyString(), anyString());
         verify(jwtService, never()).generateToken(any());
     }
 
@@ -144,8 +280,7 @@ public class UserServiceTest {
         loginUser.setPassword("wrongpassword");
 
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(testUser);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new BadCredentialsException("Bad credentials"));
+        when(passwordVerificationService.matches("wrongpassword", "encodedPassword")).thenReturn(false);
 
         InvalidCredentialsException exception = assertThrows(
                 InvalidCredentialsException.class,
@@ -154,7 +289,7 @@ public class UserServiceTest {
 
         assertEquals("Invalid credentials", exception.getMessage());
         verify(userRepository, times(1)).findByEmail("john.doe@example.com");
-        verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(passwordVerificationService, times(1)).matches("wrongpassword", "encodedPassword");
         verify(jwtService, never()).generateToken(any());
     }
 
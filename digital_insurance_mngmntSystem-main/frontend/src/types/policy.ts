@@ -20,7 +20,7 @@ export interface Policy {
   
   export interface PurchasedPolicy {
     id: number;
-    user: User;
+    user?: User;
     policy: Policy;
     startDate: string;
     endDate: string;